@@ -100,6 +100,7 @@ public class Configuration {
     private String uri;
     private String[] uris;
     private int connectionPoolSize;
+    private boolean connectionPoolSizeConfigured;
     private String encryptionLevel;
     private String trustStrategy;
     private String trustCertFile;
@@ -115,6 +116,8 @@ public class Configuration {
     private Integer connectionLivenessCheckTimeout;
     private Boolean verifyConnection;
     private Boolean useNativeTypes;
+    private SaveMode saveMode;
+    private DirtyTracking dirtyTracking;
     private Map<String, Object> customProperties;
     /**
      * This flag instructs OGM to use all static labels when querying domain objects. Until 3.1.16 only the label of the
@@ -140,6 +143,7 @@ public class Configuration {
         this.uri = builder.uri;
         this.uris = builder.uris;
         this.connectionPoolSize = builder.connectionPoolSize != null ? builder.connectionPoolSize : DEFAULT_SESSION_POOL_SIZE;
+        this.connectionPoolSizeConfigured = builder.connectionPoolSize != null;
         this.encryptionLevel = builder.encryptionLevel;
         this.trustStrategy = builder.trustStrategy;
         this.trustCertFile = builder.trustCertFile;
@@ -154,6 +158,8 @@ public class Configuration {
         this.neo4jConfLocation = builder.neo4jConfLocation;
         this.customProperties = builder.customProperties;
         this.useNativeTypes = builder.useNativeTypes;
+        this.saveMode = builder.saveMode != null ? builder.saveMode : SaveMode.CYPHER;
+        this.dirtyTracking = builder.dirtyTracking != null ? builder.dirtyTracking : DirtyTracking.SNAPSHOT;
         this.basePackages = builder.basePackages;
         this.useStrictQuerying = builder.useStrictQuerying;
         this.database = Optional.ofNullable(builder.database).map(String::trim).filter(s -> !s.isEmpty()).orElse(null);
@@ -228,6 +234,13 @@ public class Configuration {
         return connectionPoolSize;
     }
 
+    /**
+     * @return true if the connection pool size was set, false if {@link #getConnectionPoolSize()} is the default
+     */
+    public boolean isConnectionPoolSizeConfigured() {
+        return connectionPoolSizeConfigured;
+    }
+
     public String getEncryptionLevel() {
         return encryptionLevel;
     }
@@ -295,6 +308,14 @@ public class Configuration {
         return useNativeTypes;
     }
 
+    public SaveMode getSaveMode() {
+        return saveMode;
+    }
+
+    public DirtyTracking getDirtyTracking() {
+        return dirtyTracking;
+    }
+
     public Boolean getUseStrictQuerying() {
         return useStrictQuerying;
     }
@@ -323,6 +344,7 @@ public class Configuration {
         }
         Configuration that = (Configuration) o;
         return connectionPoolSize == that.connectionPoolSize &&
+            connectionPoolSizeConfigured == that.connectionPoolSizeConfigured &&
             Objects.equals(uri, that.uri) &&
             Arrays.equals(uris, that.uris) &&
             Objects.equals(encryptionLevel, that.encryptionLevel) &&
@@ -337,15 +359,17 @@ public class Configuration {
             Objects.equals(connectionLivenessCheckTimeout, that.connectionLivenessCheckTimeout) &&
             Objects.equals(verifyConnection, that.verifyConnection) &&
             Objects.equals(useNativeTypes, that.useNativeTypes) &&
+            saveMode == that.saveMode &&
+            dirtyTracking == that.dirtyTracking &&
             Arrays.equals(basePackages, that.basePackages) &&
             Objects.equals(useStrictQuerying, that.useStrictQuerying);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(uri, connectionPoolSize, encryptionLevel, trustStrategy, trustCertFile, autoIndex,
+        int result = Objects.hash(uri, connectionPoolSize, connectionPoolSizeConfigured, encryptionLevel, trustStrategy, trustCertFile, autoIndex,
             generatedIndexesOutputDir, generatedIndexesOutputFilename, neo4jConfLocation, driverName, credentials,
-            connectionLivenessCheckTimeout, verifyConnection, useNativeTypes);
+            connectionLivenessCheckTimeout, verifyConnection, useNativeTypes, saveMode, dirtyTracking);
         result = 31 * result + Arrays.hashCode(uris);
         result = 31 * result + Arrays.hashCode(basePackages);
         return result;
@@ -373,6 +397,8 @@ public class Configuration {
         private static final String GENERATED_INDEXES_OUTPUT_FILENAME = "indexes.auto.dump.filename";
         private static final String NEO4J_CONF_LOCATION = "neo4j.conf.location";
         private static final String USE_NATIVE_TYPES = "use-native-types";
+        private static final String SAVE_MODE = "save-mode";
+        private static final String DIRTY_TRACKING = "dirty-tracking";
         private static final String BASE_PACKAGES = "base-packages";
         private static final String USE_STRICT_QUERYING = "use-strict-querying";
         private static final String DATABASE = "database";
@@ -391,6 +417,8 @@ public class Configuration {
         private String username;
         private String password;
         private boolean useNativeTypes;
+        private SaveMode saveMode;
+        private DirtyTracking dirtyTracking;
         private Map<String, Object> customProperties = new HashMap<>();
         private String[] basePackages;
         private boolean useStrictQuerying = true;
@@ -457,6 +485,12 @@ public class Configuration {
                     case USE_NATIVE_TYPES:
                         this.useNativeTypes = Boolean.valueOf(value);
                         break;
+                    case SAVE_MODE:
+                        this.saveMode = SaveMode.valueOf(value.trim().toUpperCase());
+                        break;
+                    case DIRTY_TRACKING:
+                        this.dirtyTracking = DirtyTracking.valueOf(value.trim().toUpperCase().replace('-', '_'));
+                        break;
                     case BASE_PACKAGES:
                         this.basePackages = splitValue(entry.getValue());
                         break;
@@ -491,6 +525,8 @@ public class Configuration {
                 .neo4jConfLocation(builder.neo4jConfLocation)
                 .credentials(builder.username, builder.password)
                 .database(builder.database)
+                .saveMode(builder.saveMode)
+                .dirtyTracking(builder.dirtyTracking)
                 .customProperties(new HashMap<>(builder.customProperties));
 
             if (builder.useStrictQuerying) {
@@ -546,7 +582,7 @@ public class Configuration {
 
         /**
          * Number of connections to the database.
-         * Valid only for http and bolt drivers
+         * Valid only for http, bolt and rpc drivers, the rpc driver keeps its client's default unless it is set
          *
          * @param connectionPoolSize number of connections to the database
          * @return the changed builder
@@ -657,6 +693,28 @@ public class Configuration {
             return this;
         }
 
+        /**
+         * Configures how new nodes and relationships are written on save.
+         *
+         * @param saveMode The save mode, {@literal null} means {@link SaveMode#CYPHER}
+         * @return the changed builder
+         */
+        public Builder saveMode(SaveMode saveMode) {
+            this.saveMode = saveMode;
+            return this;
+        }
+
+        /**
+         * Configures what sessions remember of their entities to find the changed ones on save.
+         *
+         * @param dirtyTracking The dirty tracking, {@literal null} means {@link DirtyTracking#SNAPSHOT}
+         * @return the changed builder
+         */
+        public Builder dirtyTracking(DirtyTracking dirtyTracking) {
+            this.dirtyTracking = dirtyTracking;
+            return this;
+        }
+
         /**
          * Turns on strict querying. In strict querying mode, Neo4j-OGM uses all reachable static labels in a class inheritance
          * scenario when querying a domain object, either all, one by id oder all by ids. That is, in strict mode, a node
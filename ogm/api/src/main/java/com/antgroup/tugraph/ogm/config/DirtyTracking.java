@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.config;
+
+/**
+ * Denotes what a session remembers of the entities it loads or saves, to find out which ones changed on the next save.
+ */
+public enum DirtyTracking {
+    /**
+     * A hash of the properties and a snapshot of the dynamic labels and composite properties are kept. Only changed
+     * entities are written, and labels or composite properties removed from an entity are removed from the graph.
+     */
+    SNAPSHOT,
+
+    /**
+     * Only a hash of the properties is kept. Only changed entities are written, but labels or composite properties
+     * removed from an entity stay in the graph.
+     */
+    HASH_ONLY,
+
+    /**
+     * Nothing is kept, every reachable entity is written on every save. Without a snapshot, labels or composite
+     * properties removed from an entity stay in the graph, as with {@link #HASH_ONLY}. Suits sessions that only write
+     * new entities.
+     */
+    DISABLED
+}
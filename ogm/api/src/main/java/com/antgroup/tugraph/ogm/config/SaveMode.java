@@ -0,0 +1,32 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.config;
+
+/**
+ * Denotes how new nodes and relationships are written when a session saves.
+ */
+public enum SaveMode {
+    /**
+     * New nodes and relationships are created by Cypher statements, like every other change.
+     */
+    CYPHER,
+
+    /**
+     * New nodes and relationships are handed to the driver as a bulk write. Drivers with a native bulk API
+     * write them without going through Cypher, all others still run the statements.
+     */
+    BULK
+}
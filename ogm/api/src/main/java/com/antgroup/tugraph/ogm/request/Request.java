@@ -18,6 +18,8 @@
  */
 package com.antgroup.tugraph.ogm.request;
 
+import java.time.Duration;
+
 import com.antgroup.tugraph.ogm.response.Response;
 import com.antgroup.tugraph.ogm.model.GraphModel;
 import com.antgroup.tugraph.ogm.model.GraphRowListModel;
@@ -39,4 +41,24 @@ public interface Request {
     Response<GraphRowListModel> execute(GraphRowListModelRequest query);
 
     Response<RestModel> execute(RestModelRequest query);
+
+    /**
+     * Executes statements that only create new nodes or relationships, returning the same rows as {@link #execute(DefaultRequest)}.
+     * Drivers with a native bulk write API may bypass Cypher here, the default runs the statements as usual.
+     *
+     * @param query the statements creating nodes or relationships
+     * @return the response
+     */
+    default Response<RowModel> executeCreate(DefaultRequest query) {
+        return execute(query);
+    }
+
+    /**
+     * Sets the longest time each statement executed by this request may take, the driver's default applies
+     * otherwise. Drivers that can't bound a statement ignore it.
+     *
+     * @param timeout the timeout per statement
+     */
+    default void setQueryTimeout(Duration timeout) {
+    }
 }
@@ -188,7 +188,7 @@ public class EntityGraphMapper implements EntityMapper {
     private void deleteObsoleteRelationships() {
         CompileContext context = compiler.context();
 
-        Map<Long, Object> snapshotOfKnownRelationshipEntities
+        LongObjectMap<Object> snapshotOfKnownRelationshipEntities
             = mappingContext.getSnapshotOfRelationshipEntityRegister();
         Iterator<MappedRelationship> mappedRelationshipIterator = mappingContext.getRelationships().iterator();
         while (mappedRelationshipIterator.hasNext()) {
@@ -207,7 +207,8 @@ public class EntityGraphMapper implements EntityMapper {
                     mappedRelationship.getEndNodeId(),
                     mappedRelationship.getRelationshipId());
 
-                Object entity = snapshotOfKnownRelationshipEntities.get(mappedRelationship.getRelationshipId());
+                Long relationshipId = mappedRelationship.getRelationshipId();
+                Object entity = relationshipId == null ? null : snapshotOfKnownRelationshipEntities.get(relationshipId);
                 if (entity != null) {
                     ClassInfo classInfo = metaData.classInfo(entity);
                     if (classInfo.hasVersionField()) {
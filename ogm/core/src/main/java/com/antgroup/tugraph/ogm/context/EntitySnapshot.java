@@ -94,8 +94,17 @@ class EntitySnapshot {
          * @return
          */
         EntitySnapshot take(Object entity) {
+            return take(entity, metaData.classInfo(entity));
+        }
 
-            ClassInfo classInfo = metaData.classInfo(entity);
+        /**
+         * Takes a snapshot of the given entity whose class info is already known.
+         *
+         * @param entity
+         * @param classInfo
+         * @return
+         */
+        EntitySnapshot take(Object entity, ClassInfo classInfo) {
 
             Set<String> labels = extractLabels(classInfo, entity);
             Set<String> compositeProperties = extractCompositeProperties(classInfo, entity);
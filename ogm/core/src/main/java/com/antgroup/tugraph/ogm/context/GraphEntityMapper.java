@@ -96,11 +96,11 @@ public class GraphEntityMapper {
         BiFunction<GraphModel, Long, Boolean> additionalNodeFilter) {
 
         // Those are the ids of all mapped nodes.
-        Set<Long> mappedNodeIds = new LinkedHashSet<>();
+        LongSet mappedNodeIds = new LongSet();
 
-        Set<Long> returnedNodeIds = new LinkedHashSet<>();
-        Set<Long> mappedRelationshipIds = new LinkedHashSet<>();
-        Set<Long> returnedRelationshipIds = new LinkedHashSet<>();
+        LongSet returnedNodeIds = new LongSet();
+        LongSet mappedRelationshipIds = new LongSet();
+        LongSet returnedRelationshipIds = new LongSet();
 
         // Execute mapping for each individual model
         Consumer<GraphModel> mapContentOfIndividualModel =
@@ -119,20 +119,23 @@ public class GraphEntityMapper {
         // Collect result
         Predicate<Object> entityPresentAndCompatible = entity -> entity != null && type
             .isAssignableFrom(entity.getClass());
-        List<T> results = returnedNodeIds.stream()
-            .map(mappingContext::getNodeEntity)
-            .filter(entityPresentAndCompatible)
-            .map(type::cast)
-            .collect(toList());
+        List<T> results = new ArrayList<>(returnedNodeIds.size());
+        returnedNodeIds.forEach(id -> {
+            Object entity = mappingContext.getNodeEntity(id);
+            if (entityPresentAndCompatible.test(entity)) {
+                results.add(type.cast(entity));
+            }
+        });
 
         // only look for REs if no node entities were found
         if (results.isEmpty()) {
 
-            results = returnedRelationshipIds.stream()
-                .map(mappingContext::getRelationshipEntity)
-                .filter(entityPresentAndCompatible)
-                .map(type::cast)
-                .collect(toList());
+            returnedRelationshipIds.forEach(id -> {
+                Object entity = mappingContext.getRelationshipEntity(id);
+                if (entityPresentAndCompatible.test(entity)) {
+                    results.add(type.cast(entity));
+                }
+            });
         }
 
         return results;
@@ -141,20 +144,27 @@ public class GraphEntityMapper {
     private void mapContentOf(
         GraphModel graphModel,
         BiFunction<GraphModel, Long, Boolean> additionalNodeFilter,
-        Set<Long> returnedNodeIds,
-        Set<Long> mappedRelationshipIds,
-        Set<Long> returnedRelationshipIds,
-        Set<Long> mappedNodeIds
+        LongSet returnedNodeIds,
+        LongSet mappedRelationshipIds,
+        LongSet returnedRelationshipIds,
+        LongSet mappedNodeIds
     ) {
-        Predicate<Long> includeInResult = id -> additionalNodeFilter.apply(graphModel, id);
         try {
-            Set<Long> newNodeIds = mapNodes(graphModel);
-            returnedNodeIds.addAll(newNodeIds.stream().filter(includeInResult).collect(toList()));
+            LongSet newNodeIds = mapNodes(graphModel);
+            newNodeIds.forEach(id -> {
+                if (additionalNodeFilter.apply(graphModel, id)) {
+                    returnedNodeIds.add(id);
+                }
+            });
             mappedNodeIds.addAll(newNodeIds);
 
-            newNodeIds = mapRelationships(graphModel);
-            returnedRelationshipIds.addAll(newNodeIds.stream().filter(includeInResult).collect(toList()));
-            mappedRelationshipIds.addAll(newNodeIds);
+            LongSet newRelationshipIds = mapRelationships(graphModel);
+            newRelationshipIds.forEach(id -> {
+                if (additionalNodeFilter.apply(graphModel, id)) {
+                    returnedRelationshipIds.add(id);
+                }
+            });
+            mappedRelationshipIds.addAll(newRelationshipIds);
         } catch (MappingException e) {
             throw e;
         } catch (Exception e) {
@@ -171,18 +181,18 @@ public class GraphEntityMapper {
      * @param nodeIds nodeIds
      * @param edgeIds edgeIds
      */
-    private void executePostLoad(Set<Long> nodeIds, Set<Long> edgeIds) {
-        for (Long id : nodeIds) {
+    private void executePostLoad(LongSet nodeIds, LongSet edgeIds) {
+        nodeIds.forEach(id -> {
             Object o = mappingContext.getNodeEntity(id);
             executePostLoad(o);
-        }
+        });
 
-        for (Long id : edgeIds) {
+        edgeIds.forEach(id -> {
             Object o = mappingContext.getRelationshipEntity(id);
             if (o != null) {
                 executePostLoad(o);
             }
-        }
+        });
     }
 
     private void executePostLoad(Object instance) {
@@ -204,9 +214,9 @@ public class GraphEntityMapper {
         }
     }
 
-    private Set<Long> mapNodes(GraphModel graphModel) {
+    private LongSet mapNodes(GraphModel graphModel) {
 
-        Set<Long> mappedNodeIds = new LinkedHashSet<>();
+        LongSet mappedNodeIds = new LongSet();
         for (Node node : graphModel.getNodes()) {
             Object entity = mappingContext.getNodeEntity(node.getId());
             if (entity == null) {
@@ -303,9 +313,9 @@ public class GraphEntityMapper {
         }
     }
 
-    private Set<Long> mapRelationships(GraphModel graphModel) {
+    private LongSet mapRelationships(GraphModel graphModel) {
 
-        Set<Long> mappedRelationshipIds = new HashSet<>();
+        LongSet mappedRelationshipIds = new LongSet();
         List<Edge> oneToMany = new ArrayList<>();
 
         for (Edge edge : graphModel.getRelationships()) {
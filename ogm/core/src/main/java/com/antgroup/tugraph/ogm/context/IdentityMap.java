@@ -18,13 +18,13 @@
  */
 package com.antgroup.tugraph.ogm.context;
 
-import java.lang.reflect.Array;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import com.antgroup.tugraph.ogm.config.DirtyTracking;
 import com.antgroup.tugraph.ogm.metadata.ClassInfo;
 import com.antgroup.tugraph.ogm.metadata.FieldInfo;
 import com.antgroup.tugraph.ogm.metadata.MetaData;
@@ -42,22 +42,36 @@ class IdentityMap {
     // objects with no properties will always hash to this value.
     private static final long SEED = 0xDEADBEEF / (11 * 257);
 
-    private final Map<Long, Long> nodeHashes;
+    private final LongLongMap nodeHashes;
 
-    private final Map<Long, Long> relEntityHashes;
+    private final LongLongMap relEntityHashes;
 
-    private final Map<Long, EntitySnapshot> snapshotsOfNodeEntities;
+    private final LongObjectMap<EntitySnapshot> snapshotsOfNodeEntities;
 
-    private final Map<Long, EntitySnapshot> snapshotsOfRelationshipEntities;
+    private final LongObjectMap<EntitySnapshot> snapshotsOfRelationshipEntities;
 
     private final MetaData metaData;
 
+    private final DirtyTracking dirtyTracking;
+
+    private final EntitySnapshot.Builder snapshots;
+
+    // the fields to hash, looked up once per entity class
+    private final Map<Class<?>, HashPlan> hashPlans;
+
     IdentityMap(MetaData metaData) {
-        this.nodeHashes = new HashMap<>();
-        this.relEntityHashes = new HashMap<>();
-        this.snapshotsOfNodeEntities = new HashMap<>();
-        this.snapshotsOfRelationshipEntities = new HashMap<>();
+        this(metaData, DirtyTracking.SNAPSHOT);
+    }
+
+    IdentityMap(MetaData metaData, DirtyTracking dirtyTracking) {
+        this.nodeHashes = new LongLongMap();
+        this.relEntityHashes = new LongLongMap();
+        this.snapshotsOfNodeEntities = new LongObjectMap<>();
+        this.snapshotsOfRelationshipEntities = new LongObjectMap<>();
         this.metaData = metaData;
+        this.dirtyTracking = dirtyTracking;
+        this.snapshots = EntitySnapshot.basedOn(metaData);
+        this.hashPlans = new IdentityHashMap<>();
     }
 
     /**
@@ -68,13 +82,21 @@ class IdentityMap {
      * @param entityId the native id of the entity
      */
     void remember(Object object, Long entityId) {
-        ClassInfo classInfo = metaData.classInfo(object);
-        if (metaData.isRelationshipEntity(classInfo.name())) {
-            this.relEntityHashes.put(entityId, hash(object, classInfo));
-            this.snapshotsOfRelationshipEntities.put(entityId, EntitySnapshot.basedOn(metaData).take(object));
+        if (dirtyTracking == DirtyTracking.DISABLED) {
+            return;
+        }
+        HashPlan plan = hashPlan(object);
+        boolean snapshot = dirtyTracking == DirtyTracking.SNAPSHOT;
+        if (plan.relationshipEntity) {
+            this.relEntityHashes.put(entityId, plan.hash(object));
+            if (snapshot) {
+                this.snapshotsOfRelationshipEntities.put(entityId, snapshots.take(object, plan.classInfo));
+            }
         } else {
-            this.nodeHashes.put(entityId, hash(object, classInfo));
-            this.snapshotsOfNodeEntities.put(entityId, EntitySnapshot.basedOn(metaData).take(object));
+            this.nodeHashes.put(entityId, plan.hash(object));
+            if (snapshot) {
+                this.snapshotsOfNodeEntities.put(entityId, snapshots.take(object, plan.classInfo));
+            }
         }
     }
 
@@ -90,23 +112,16 @@ class IdentityMap {
      */
     boolean remembered(Object object, Long entityId) {
 
-        // Bail out early if the native id is null...
-        if (entityId == null) {
+        // Bail out early if the native id is null or nothing is remembered at all...
+        if (entityId == null || dirtyTracking == DirtyTracking.DISABLED) {
             return false;
         }
 
-        ClassInfo classInfo = metaData.classInfo(object);
-        boolean isRelEntity = metaData.isRelationshipEntity(classInfo.name());
-        Map<Long, Long> hashes = isRelEntity ? relEntityHashes : nodeHashes;
+        HashPlan plan = hashPlan(object);
+        LongLongMap hashes = plan.relationshipEntity ? relEntityHashes : nodeHashes;
 
         // ... or a little later when the hashes in question doesnt contain the entities id
-        if (!hashes.containsKey(entityId)) {
-            return false;
-        }
-
-        long actual = hash(object, classInfo);
-        long expected = hashes.get(entityId);
-        return actual == expected;
+        return hashes.containsKey(entityId) && hashes.getOrDefault(entityId, SEED) == plan.hash(object);
     }
 
     /**
@@ -119,10 +134,13 @@ class IdentityMap {
      */
     Optional<EntitySnapshot> getSnapshotOf(Object entity, Long entityId) {
 
+        if (entityId == null || dirtyTracking != DirtyTracking.SNAPSHOT) {
+            return Optional.empty();
+        }
+
         EntitySnapshot entitySnapshot;
 
-        ClassInfo classInfo = metaData.classInfo(entity);
-        if (metaData.isRelationshipEntity(classInfo.name())) {
+        if (hashPlan(entity).relationshipEntity) {
             entitySnapshot = this.snapshotsOfRelationshipEntities.get(entityId);
         } else {
             entitySnapshot = this.snapshotsOfNodeEntities.get(entityId);
@@ -139,41 +157,89 @@ class IdentityMap {
         this.snapshotsOfRelationshipEntities.clear();
     }
 
-    private static long hash(Object object, ClassInfo classInfo) {
-
-        List<FieldInfo> hashFields = new ArrayList<>(classInfo.propertyFields());
-        if (classInfo.labelFieldOrNull() != null) {
-            hashFields.add(classInfo.labelFieldOrNull());
+    private HashPlan hashPlan(Object object) {
+        HashPlan plan = hashPlans.get(object.getClass());
+        if (plan == null) {
+            ClassInfo classInfo = metaData.classInfo(object);
+            plan = new HashPlan(classInfo, metaData.isRelationshipEntity(classInfo.name()));
+            hashPlans.put(object.getClass(), plan);
         }
+        return plan;
+    }
 
-        long hash = SEED;
-        for (FieldInfo fieldInfo : hashFields) {
+    /**
+     * The property fields and the label field of a class, each with a hash function chosen by the field's type,
+     * so that hashing an entity neither allocates nor inspects the values' classes where the field type is known.
+     */
+    private static final class HashPlan {
+
+        final ClassInfo classInfo;
+        final boolean relationshipEntity;
+        private final FieldInfo[] fields;
+        private final ValueHasher[] hashers;
+
+        HashPlan(ClassInfo classInfo, boolean relationshipEntity) {
+            this.classInfo = classInfo;
+            this.relationshipEntity = relationshipEntity;
+
+            Collection<FieldInfo> propertyFields = classInfo.propertyFields();
+            FieldInfo labelField = classInfo.labelFieldOrNull();
+            this.fields = propertyFields.toArray(new FieldInfo[propertyFields.size() + (labelField == null ? 0 : 1)]);
+            if (labelField != null) {
+                this.fields[propertyFields.size()] = labelField;
+            }
+            this.hashers = new ValueHasher[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                hashers[i] = hasherFor(fields[i].getField().getType());
+            }
+        }
 
-            Object value = fieldInfo.read(object);
-            if (value != null) {
-                if (value.getClass().isArray()) {
-                    hash = hash * 31L + hashArray(value);
-                } else {
-                    hash = hash * 31L + value.hashCode();
+        long hash(Object object) {
+            long hash = SEED;
+            for (int i = 0; i < fields.length; i++) {
+                Object value = fields[i].read(object);
+                if (value != null) {
+                    hash = hash * 31L + hashers[i].hash(value);
                 }
             }
+            return hash;
         }
-        return hash;
     }
 
-    /**
-     * hashes an array of objects or primitives
-     *
-     * @param array array of unknown type
-     * @return the hash of the array
-     */
-    private static long hashArray(Object array) {
-        long result = 1;
-        int len = Array.getLength(array);
-        for (int i = 0; i < len; i++) {
-            Object element = Array.get(array, i);
-            result = 31L * result + (element == null ? 0 : element.hashCode());
+    @FunctionalInterface
+    private interface ValueHasher {
+        long hash(Object value);
+    }
+
+    private static ValueHasher hasherFor(Class<?> type) {
+        if (type.isAssignableFrom(Object[].class)) {
+            // Object, Cloneable or Serializable, the value may or may not be an array
+            return IdentityMap::hashValue;
+        } else if (!type.isArray()) {
+            return Object::hashCode;
+        } else if (type == long[].class) {
+            return value -> Arrays.hashCode((long[]) value);
+        } else if (type == int[].class) {
+            return value -> Arrays.hashCode((int[]) value);
+        } else if (type == short[].class) {
+            return value -> Arrays.hashCode((short[]) value);
+        } else if (type == byte[].class) {
+            return value -> Arrays.hashCode((byte[]) value);
+        } else if (type == char[].class) {
+            return value -> Arrays.hashCode((char[]) value);
+        } else if (type == boolean[].class) {
+            return value -> Arrays.hashCode((boolean[]) value);
+        } else if (type == double[].class) {
+            return value -> Arrays.hashCode((double[]) value);
+        } else if (type == float[].class) {
+            return value -> Arrays.hashCode((float[]) value);
+        } else {
+            return value -> Arrays.hashCode((Object[]) value);
         }
-        return result;
+    }
+
+    private static long hashValue(Object value) {
+        Class<?> type = value.getClass();
+        return type.isArray() ? hasherFor(type).hash(value) : value.hashCode();
     }
 }
@@ -48,11 +48,25 @@ class LabelPrimaryId {
 
         Objects.requireNonNull(classInfo);
         Objects.requireNonNull(id);
-        return new LabelPrimaryId(classInfo, id);
+        return new LabelPrimaryId(classInfo.neo4jName(), id);
     }
 
-    private LabelPrimaryId(ClassInfo classInfo, Object id) {
-        this.label = classInfo.neo4jName();
+    /**
+     * Create LabelPrimaryId keyed by the class itself instead of its label, for lookups that must not match other
+     * classes sharing the label.
+     *
+     * @param classInfo class info containing the primary id
+     * @param id        the value of the id
+     */
+    static LabelPrimaryId ofType(ClassInfo classInfo, Object id) {
+
+        Objects.requireNonNull(classInfo);
+        Objects.requireNonNull(id);
+        return new LabelPrimaryId(classInfo.name(), id);
+    }
+
+    private LabelPrimaryId(String label, Object id) {
+        this.label = label;
         this.id = id;
     }
 
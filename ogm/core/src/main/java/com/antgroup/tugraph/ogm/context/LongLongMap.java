@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import java.util.Arrays;
+
+/**
+ * A map from native ids to primitive longs, laid out like {@link LongObjectMap} with both keys and values unboxed.
+ * Entries are only ever added or all cleared at once, which is all the footprints of an {@link IdentityMap} need.
+ */
+class LongLongMap {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private long[] values;
+    // position + 1 of the entry whose key hashes to the slot, 0 for a free slot
+    private int[] slots;
+    private int size;
+
+    LongLongMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        slots = new int[Integer.highestOneBit(capacity - 1) << 2];
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(long key) {
+        return slots[slotOf(key)] != 0;
+    }
+
+    /**
+     * @return the value of the key, or the default value if the key is absent
+     */
+    long getOrDefault(long key, long defaultValue) {
+        int position = slots[slotOf(key)] - 1;
+        return position < 0 ? defaultValue : values[position];
+    }
+
+    void put(long key, long value) {
+        int slot = slotOf(key);
+        int position = slots[slot] - 1;
+        if (position >= 0) {
+            values[position] = value;
+            return;
+        }
+        if (size == keys.length) {
+            grow();
+            slot = slotOf(key);
+        }
+        keys[size] = key;
+        values[size] = value;
+        slots[slot] = ++size;
+    }
+
+    void clear() {
+        if (keys.length > MIN_CAPACITY * 8) {
+            allocate(MIN_CAPACITY);
+        } else {
+            Arrays.fill(slots, 0);
+            size = 0;
+        }
+    }
+
+    private int slotOf(long key) {
+        int mask = slots.length - 1;
+        int slot = LongObjectMap.hash(key) & mask;
+        int position;
+        while ((position = slots[slot]) != 0 && keys[position - 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        int oldSize = size;
+        allocate(oldKeys.length * 2);
+        System.arraycopy(oldKeys, 0, keys, 0, oldSize);
+        System.arraycopy(oldValues, 0, values, 0, oldSize);
+        for (int position = 0; position < oldSize; position++) {
+            slots[slotOf(keys[position])] = position + 1;
+        }
+        size = oldSize;
+    }
+}
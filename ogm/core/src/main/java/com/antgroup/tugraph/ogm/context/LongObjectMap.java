@@ -0,0 +1,243 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A map from native ids to objects that keeps the ids unboxed and iterates in insertion order.
+ * <p>
+ * The entries are stored densely in insertion order, in one array of keys and one of values. An open addressing table
+ * with linear probing maps the hash of a key to the position of its entry, so an entry costs a key, a value reference
+ * and two to four table slots, instead of a boxed key and a linked entry object. Removed entries leave a gap that is
+ * closed when the arrays are full. Null values are not supported.
+ *
+ * @param <V> type of the values
+ */
+class LongObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    // position + 1 of the entry whose key hashes to the slot, 0 for a free slot
+    private int[] slots;
+    // positions in use, including the gaps of removed entries
+    private int end;
+    private int size;
+
+    LongObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    LongObjectMap(int expectedSize) {
+        allocate(Math.max(MIN_CAPACITY, expectedSize));
+    }
+
+    LongObjectMap(LongObjectMap<? extends V> other) {
+        allocate(Math.max(MIN_CAPACITY, other.size));
+        other.forEach(this::put);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        // keeps the table at most half full
+        slots = new int[Integer.highestOneBit(capacity - 1) << 2];
+        end = 0;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean containsKey(long key) {
+        return slots[slotOf(key)] != 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int position = slots[slotOf(key)] - 1;
+        return position < 0 ? null : (V) values[position];
+    }
+
+    /**
+     * @return the previous value of the key, null if there was none
+     */
+    V put(long key, V value) {
+        return put(key, value, true);
+    }
+
+    /**
+     * @return the value the key already had, null if the given value was added
+     */
+    V putIfAbsent(long key, V value) {
+        return put(key, value, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(long key, V value, boolean replace) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not supported");
+        }
+        int slot = slotOf(key);
+        int position = slots[slot] - 1;
+        if (position >= 0) {
+            V previous = (V) values[position];
+            if (replace) {
+                values[position] = value;
+            }
+            return previous;
+        }
+        if (end == keys.length) {
+            makeRoom();
+            slot = slotOf(key);
+        }
+        keys[end] = key;
+        values[end] = value;
+        slots[slot] = ++end;
+        ++size;
+        return null;
+    }
+
+    /**
+     * @return the removed value, null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int slot = slotOf(key);
+        int position = slots[slot] - 1;
+        if (position < 0) {
+            return null;
+        }
+        V value = (V) values[position];
+        values[position] = null;
+        --size;
+        freeSlot(slot);
+        return value;
+    }
+
+    /**
+     * Removes every entry whose value matches the filter, without allocating an iterator.
+     */
+    void removeValuesIf(Predicate<? super V> filter) {
+        for (int position = 0; position < end; position++) {
+            @SuppressWarnings("unchecked")
+            V value = (V) values[position];
+            if (value != null && filter.test(value)) {
+                remove(keys[position]);
+            }
+        }
+    }
+
+    void forEach(Entries<? super V> action) {
+        for (int position = 0; position < end; position++) {
+            @SuppressWarnings("unchecked")
+            V value = (V) values[position];
+            if (value != null) {
+                action.accept(keys[position], value);
+            }
+        }
+    }
+
+    void forEachValue(Consumer<? super V> action) {
+        for (int position = 0; position < end; position++) {
+            @SuppressWarnings("unchecked")
+            V value = (V) values[position];
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+    }
+
+    void clear() {
+        if (keys.length > MIN_CAPACITY * 8) {
+            allocate(MIN_CAPACITY);
+        } else {
+            Arrays.fill(values, 0, end, null);
+            Arrays.fill(slots, 0);
+            end = 0;
+            size = 0;
+        }
+    }
+
+    @FunctionalInterface
+    interface Entries<V> {
+        void accept(long key, V value);
+    }
+
+    // the slot holding the key, or the free slot where it belongs
+    private int slotOf(long key) {
+        int mask = slots.length - 1;
+        int slot = hash(key) & mask;
+        int position;
+        while ((position = slots[slot]) != 0 && keys[position - 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    static int hash(long key) {
+        int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Frees a slot and moves the following entries of its cluster back, so no lookup stops short of its key.
+    private void freeSlot(int slot) {
+        int mask = slots.length - 1;
+        int free = slot;
+        int next = slot;
+        slots[free] = 0;
+        while (true) {
+            next = (next + 1) & mask;
+            int position = slots[next];
+            if (position == 0) {
+                return;
+            }
+            int home = hash(keys[position - 1]) & mask;
+            // the entry may move if its home isn't cyclically between the free slot and its own slot
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                slots[free] = position;
+                slots[next] = 0;
+                free = next;
+            }
+        }
+    }
+
+    // Closes the gaps of removed entries, or grows the arrays if there are few of them.
+    private void makeRoom() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldEnd = end;
+        allocate(size > oldEnd * 3 / 4 ? oldKeys.length * 2 : oldKeys.length);
+        for (int position = 0; position < oldEnd; position++) {
+            if (oldValues[position] != null) {
+                long key = oldKeys[position];
+                keys[end] = key;
+                values[end] = oldValues[position];
+                slots[slotOf(key)] = ++end;
+            }
+        }
+        size = end;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A set of native ids that keeps them unboxed and iterates in insertion order, backed by a {@link LongObjectMap}.
+ */
+class LongSet {
+
+    private static final Object PRESENT = Boolean.TRUE;
+
+    private final LongObjectMap<Object> map = new LongObjectMap<>();
+
+    /**
+     * @return true if the id wasn't in the set yet
+     */
+    boolean add(long id) {
+        return map.putIfAbsent(id, PRESENT) == null;
+    }
+
+    void addAll(LongSet other) {
+        other.forEach(this::add);
+    }
+
+    boolean contains(long id) {
+        return map.containsKey(id);
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    void forEach(LongConsumer action) {
+        map.forEach((id, present) -> action.accept(id));
+    }
+}
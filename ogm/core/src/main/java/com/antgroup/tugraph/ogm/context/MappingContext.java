@@ -18,10 +18,9 @@
  */
 package com.antgroup.tugraph.ogm.context;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -29,11 +28,10 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.antgroup.tugraph.ogm.annotation.NodeEntity;
+import com.antgroup.tugraph.ogm.config.DirtyTracking;
 import com.antgroup.tugraph.ogm.exception.core.MappingException;
 import com.antgroup.tugraph.ogm.id.IdStrategy;
 import com.antgroup.tugraph.ogm.id.InternalIdStrategy;
@@ -56,15 +54,15 @@ import com.antgroup.tugraph.ogm.utils.EntityUtils;
 public class MappingContext {
 
     // map Neo4j id -> entity
-    private final Map<Long, Object> nodeEntityRegister;
+    private final LongObjectMap<Object> nodeEntityRegister;
 
-    // map primary index value -> entity
+    // map primary index value of the entity's class and of each of its superclasses -> entity
     private final Map<LabelPrimaryId, Object> primaryIndexNodeRegister;
 
     // LabelPrimaryId - > native id (contains both nodes and relationship entities)
     private final Map<LabelPrimaryId, Long> primaryIdToNativeId;
 
-    private final Map<Long, Object> relationshipEntityRegister;
+    private final LongObjectMap<Object> relationshipEntityRegister;
 
     private final Map<LabelPrimaryId, Object> primaryIdToRelationship;
 
@@ -75,12 +73,20 @@ public class MappingContext {
     private final MetaData metaData;
 
     public MappingContext(MetaData metaData) {
+        this(metaData, DirtyTracking.SNAPSHOT);
+    }
+
+    /**
+     * @param metaData      the metadata of the mapped classes
+     * @param dirtyTracking what is remembered of the registered entities to find the changed ones
+     */
+    public MappingContext(MetaData metaData, DirtyTracking dirtyTracking) {
         this.metaData = metaData;
-        this.identityMap = new IdentityMap(metaData);
-        this.nodeEntityRegister = new LinkedHashMap<>();
+        this.identityMap = new IdentityMap(metaData, dirtyTracking);
+        this.nodeEntityRegister = new LongObjectMap<>();
         this.primaryIndexNodeRegister = new LinkedHashMap<>();
         this.primaryIdToNativeId = new LinkedHashMap<>();
-        this.relationshipEntityRegister = new LinkedHashMap<>();
+        this.relationshipEntityRegister = new LongObjectMap<>();
         this.primaryIdToRelationship = new LinkedHashMap<>();
         this.relationshipRegister = new LinkedHashSet<>();
     }
@@ -94,7 +100,7 @@ public class MappingContext {
      * @return The entity or null if not found.
      */
     public Object getNodeEntity(Long graphId) {
-        return nodeEntityRegister.get(graphId);
+        return graphId == null ? null : nodeEntityRegister.get(graphId);
     }
 
     /**
@@ -112,29 +118,9 @@ public class MappingContext {
             return null;
         }
 
-        // direct match
-        final LabelPrimaryId key = LabelPrimaryId.of(classInfo, id);
-        Object node = primaryIndexNodeRegister.get(key);
-        if (node != null) {
-            return node;
-        }
-
-        // the retrieved node is an implementation/extension of the abstract type / interface queried for.
-        Queue<ClassInfo> queue = new ArrayDeque<>(classInfo.directSubclasses());
-        while (!queue.isEmpty()) {
-
-            ClassInfo subClassInfo = queue.poll();
-
-            node = primaryIndexNodeRegister.get(LabelPrimaryId.of(subClassInfo, id));
-            if (node != null) {
-                return node;
-            }
-
-            List<ClassInfo> deepSubClassInfos = subClassInfo.directSubclasses();
-            queue.addAll(deepSubClassInfos);
-        }
-
-        return null;
+        // entities are registered under all their superclasses, so this matches
+        // implementations/extensions of the abstract type queried for as well
+        return primaryIndexNodeRegister.get(LabelPrimaryId.ofType(classInfo, id));
     }
 
     /**
@@ -162,9 +148,8 @@ public class MappingContext {
             nodeEntityRegister.put(id, entity);
             final Object primaryIndexValue = classInfo.readPrimaryIndexValueOf(entity);
             if (primaryIndexValue != null) {
-                LabelPrimaryId key = LabelPrimaryId.of(classInfo, primaryIndexValue);
-                primaryIndexNodeRegister.putIfAbsent(key, entity);
-                primaryIdToNativeId.put(key, id);
+                registerPrimaryIndex(classInfo, primaryIndexValue, entity);
+                primaryIdToNativeId.put(LabelPrimaryId.of(classInfo, primaryIndexValue), id);
             }
             remember(entity, id);
         }
@@ -188,7 +173,7 @@ public class MappingContext {
             final ClassInfo classInfo = metaData.classInfo(entity);
             final Object primaryIndexValue = classInfo.readPrimaryIndexValueOf(entity);
             if (primaryIndexValue != null) {
-                primaryIndexNodeRegister.remove(LabelPrimaryId.of(classInfo, primaryIndexValue));
+                deregisterPrimaryIndex(classInfo, primaryIndexValue, entity);
             }
 
             if (deregisterDependentRelationshipEntity) {
@@ -197,6 +182,32 @@ public class MappingContext {
         });
     }
 
+    private void registerPrimaryIndex(ClassInfo classInfo, Object primaryIndexValue, Object entity) {
+        for (ClassInfo type = classInfo; isMapped(type); type = type.directSuperclass()) {
+            primaryIndexNodeRegister.putIfAbsent(LabelPrimaryId.ofType(type, primaryIndexValue), entity);
+        }
+    }
+
+    private void deregisterPrimaryIndex(ClassInfo classInfo, Object primaryIndexValue, Object entity) {
+        for (ClassInfo type = classInfo; isMapped(type); type = type.directSuperclass()) {
+            if (!primaryIndexNodeRegister.remove(LabelPrimaryId.ofType(type, primaryIndexValue), entity)) {
+                continue;
+            }
+            // another entity of a subclass with the same primary id may have been hidden by the removed one
+            for (ClassInfo subclass : type.concreteSubclasses()) {
+                Object hidden = primaryIndexNodeRegister.get(LabelPrimaryId.ofType(subclass, primaryIndexValue));
+                if (hidden != null) {
+                    primaryIndexNodeRegister.put(LabelPrimaryId.ofType(type, primaryIndexValue), hidden);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static boolean isMapped(ClassInfo type) {
+        return type != null && !"java.lang.Object".equals(type.name());
+    }
+
     public void replaceNodeEntity(Object entity, Long identity) {
         removeNodeEntity(entity, false);
 
@@ -231,16 +242,14 @@ public class MappingContext {
      * but also all entities that are assignable to it (sub types)
      */
     Collection<Object> getEntities(Class<?> type) {
-        Collection<Object> result;
-        if (metaData.isRelationshipEntity(type.getName())) {
-            result = relationshipEntityRegister.values().stream()
-                .filter((c) -> c.getClass().isAssignableFrom(type))
-                .collect(Collectors.toList());
-        } else {
-            result = nodeEntityRegister.values().stream()
-                .filter((c) -> c.getClass().isAssignableFrom(type))
-                .collect(Collectors.toList());
-        }
+        Collection<Object> result = new ArrayList<>();
+        LongObjectMap<Object> register = metaData.isRelationshipEntity(type.getName()) ?
+            relationshipEntityRegister : nodeEntityRegister;
+        register.forEachValue(c -> {
+            if (c.getClass().isAssignableFrom(type)) {
+                result.add(c);
+            }
+        });
         return result;
     }
 
@@ -286,12 +295,12 @@ public class MappingContext {
         relationshipEntityRegister.clear();
     }
 
-    public Map<Long, Object> getSnapshotOfRelationshipEntityRegister() {
-        return new HashMap<>(this.relationshipEntityRegister);
+    LongObjectMap<Object> getSnapshotOfRelationshipEntityRegister() {
+        return new LongObjectMap<>(this.relationshipEntityRegister);
     }
 
     public Object getRelationshipEntity(Long relationshipId) {
-        return relationshipEntityRegister.get(relationshipId);
+        return relationshipId == null ? null : relationshipEntityRegister.get(relationshipId);
     }
 
     /**
@@ -442,18 +451,13 @@ public class MappingContext {
      * @param startOrEndEntity the entity that might be the start or end node of a relationship entity
      */
     private void deregisterDependentRelationshipEntity(Object startOrEndEntity) {
-        Iterator<Long> relationshipEntityIdIterator = relationshipEntityRegister.keySet().iterator();
-        while (relationshipEntityIdIterator.hasNext()) {
-            Long relationshipEntityId = relationshipEntityIdIterator.next();
-            Object relationshipEntity = relationshipEntityRegister.get(relationshipEntityId);
+        relationshipEntityRegister.removeValuesIf(relationshipEntity -> {
             final ClassInfo classInfo = metaData.classInfo(relationshipEntity);
             FieldInfo startNodeReader = classInfo.getStartNodeReader();
             FieldInfo endNodeReader = classInfo.getEndNodeReader();
-            if (startOrEndEntity == startNodeReader.read(relationshipEntity) || startOrEndEntity == endNodeReader
-                .read(relationshipEntity)) {
-                relationshipEntityIdIterator.remove();
-            }
-        }
+            return startOrEndEntity == startNodeReader.read(relationshipEntity) || startOrEndEntity == endNodeReader
+                .read(relationshipEntity);
+        });
     }
 
     private void purge(Object entity, Class type) {
@@ -73,6 +73,7 @@ public class ClassInfo {
 
     private final List<ClassInfo> directSubclasses = new ArrayList<>();
     private volatile Set<ClassInfo> allSubclasses;
+    private volatile List<ClassInfo> concreteSubclasses;
     private final List<ClassInfo> directInterfaces = new ArrayList<>();
     private final List<ClassInfo> directImplementingClasses = new ArrayList<>();
     /**
@@ -325,6 +326,39 @@ public class ClassInfo {
         return Collections.unmodifiableSet(computedSubclasses);
     }
 
+    /**
+     * @return All concrete classes extending this class directly or indirectly, nearest first. Computed once when the
+     * metadata is built.
+     */
+    public List<ClassInfo> concreteSubclasses() {
+
+        List<ClassInfo> computedSubclasses = this.concreteSubclasses;
+        if (computedSubclasses == null) {
+            synchronized (this) {
+                computedSubclasses = this.concreteSubclasses;
+                if (computedSubclasses == null) {
+                    this.concreteSubclasses = computeConcreteSubclasses();
+                    computedSubclasses = this.concreteSubclasses;
+                }
+            }
+        }
+        return computedSubclasses;
+    }
+
+    private List<ClassInfo> computeConcreteSubclasses() {
+
+        List<ClassInfo> computedSubclasses = new ArrayList<>();
+        Queue<ClassInfo> queue = new ArrayDeque<>(this.directSubclasses());
+        while (!queue.isEmpty()) {
+            ClassInfo subclass = queue.poll();
+            if (!(subclass.isInterface() || subclass.isAbstract())) {
+                computedSubclasses.add(subclass);
+            }
+            queue.addAll(subclass.directSubclasses());
+        }
+        return Collections.unmodifiableList(Arrays.asList(computedSubclasses.toArray(new ClassInfo[0])));
+    }
+
     List<ClassInfo> directImplementingClasses() {
         return directImplementingClasses;
     }
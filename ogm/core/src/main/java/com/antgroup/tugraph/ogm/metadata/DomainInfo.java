@@ -297,6 +297,7 @@ public class DomainInfo {
         for (ClassInfo classInfo : classNameToClassInfo.values()) {
             classInfo.primaryIndexField();
             classInfo.getVersionField();
+            classInfo.concreteSubclasses();
         }
         LOGGER.info("Post-processing complete");
     }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.metadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+/**
+ * Reads and writes a field through method handles that are created once per field, so the access check and
+ * the privileged block are paid when the metadata is built and not on every access. Field access can't be spun
+ * into a lambda by the {@link java.lang.invoke.LambdaMetafactory}, a direct field handle is the closest thing.
+ * <p>
+ * Failing writes are repeated reflectively, so callers see the same exceptions as with {@link Field#set(Object, Object)}.
+ */
+final class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    private FieldAccessor(Field field, MethodHandle getter, MethodHandle setter) {
+        this.field = field;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    static FieldAccessor of(Field field) {
+        return AccessController.doPrivileged((PrivilegedAction<FieldAccessor>) () -> {
+            try {
+                field.setAccessible(true);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                return new FieldAccessor(field,
+                    lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                    lookup.unreflectSetter(field).asType(SETTER_TYPE));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    Object get(Object instance) {
+        try {
+            return getter.invokeExact(instance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    void set(Object instance, Object value) {
+        try {
+            setter.invokeExact(instance, value);
+        } catch (ClassCastException | NullPointerException e) {
+            if (instance == null) {
+                // Field#set fails the same way, only wrong or missing values are reported differently
+                throw e;
+            }
+            setReflectively(instance, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void setReflectively(Object instance, Object value) {
+        try {
+            field.set(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -70,7 +70,9 @@ public class FieldInfo {
      * Optional field holding a delegate, from which this method was derived.
      */
     private final Field delegateHolder;
+    private final FieldAccessor delegateAccessor;
     private final Field field;
+    private final FieldAccessor accessor;
     private final Class<?> fieldType;
     /**
      * The associated attribute converter for this field, if applicable, otherwise null.
@@ -106,7 +108,9 @@ public class FieldInfo {
         Predicate<Class<?>> isSupportedNativeType) {
         this.containingClassInfo = classInfo;
         this.delegateHolder = delegateHolder;
+        this.delegateAccessor = delegateHolder == null ? null : FieldAccessor.of(delegateHolder);
         this.field = field;
+        this.accessor = FieldAccessor.of(field);
         this.fieldType = GenericUtils.isGenericField(field) ? GenericUtils.findFieldType(field, classInfo.getUnderlyingClass()) : field.getType();
         this.isArray = fieldType.isArray();
         this.name = field.getName();
@@ -454,17 +458,24 @@ public class FieldInfo {
     }
 
     public void write(Object instance, Object value) {
+        accessor.set(instanceOrDelegate(instance), toEntityAttribute(value));
+    }
 
+    /**
+     * Converts a value read from the graph to the value this field holds, as {@link #write(Object, Object)} does.
+     *
+     * @param value value read from the graph
+     * @return the value of the field
+     */
+    public Object toEntityAttribute(Object value) {
         if (hasPropertyConverter()) {
-            value = getPropertyConverter().toEntityAttribute(value);
-        } else {
-            if (isScalar()) {
-                String actualTypeDescriptor = getTypeDescriptor();
-                value = Utils.coerceTypes(DescriptorMappings.getType(actualTypeDescriptor), value);
-            }
+            return getPropertyConverter().toEntityAttribute(value);
         }
-
-        write(field, getInstanceOrDelegate(instance, delegateHolder), value);
+        if (isScalar()) {
+            String actualTypeDescriptor = getTypeDescriptor();
+            return Utils.coerceTypes(DescriptorMappings.getType(actualTypeDescriptor), value);
+        }
+        return value;
     }
 
     /**
@@ -474,7 +485,7 @@ public class FieldInfo {
      * @param value    field value to be written
      */
     public void writeDirect(Object instance, Object value) {
-        write(field, instance, value);
+        accessor.set(instance, value);
     }
 
     /**
@@ -493,7 +504,11 @@ public class FieldInfo {
     }
 
     public Object read(Object instance) {
-        return read(containingClassInfo.getField(this), getInstanceOrDelegate(instance, delegateHolder));
+        return accessor.get(instanceOrDelegate(instance));
+    }
+
+    private Object instanceOrDelegate(Object instance) {
+        return delegateAccessor == null ? instance : delegateAccessor.get(instance);
     }
 
     public Object readProperty(Object instance) {
@@ -501,7 +516,7 @@ public class FieldInfo {
             throw new IllegalStateException(
                 "The readComposite method should be used for fields with a CompositeAttributeConverter");
         }
-        Object value = read(containingClassInfo.getField(this), getInstanceOrDelegate(instance, delegateHolder));
+        Object value = accessor.get(instanceOrDelegate(instance));
         if (hasPropertyConverter()) {
             value = getPropertyConverter().toGraphProperty(value);
         }
@@ -513,7 +528,7 @@ public class FieldInfo {
             throw new IllegalStateException(
                 "readComposite should only be used when a field is annotated with a CompositeAttributeConverter");
         }
-        Object value = read(containingClassInfo.getField(this), getInstanceOrDelegate(instance, delegateHolder));
+        Object value = accessor.get(instanceOrDelegate(instance));
         return getCompositeConverter().toGraphProperties(value);
     }
 
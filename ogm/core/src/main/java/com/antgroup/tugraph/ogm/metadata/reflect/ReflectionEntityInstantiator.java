@@ -18,32 +18,214 @@
  */
 package com.antgroup.tugraph.ogm.metadata.reflect;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.HashMap;
 import java.util.Map;
 
+import com.antgroup.tugraph.ogm.annotation.PersistenceCreator;
 import com.antgroup.tugraph.ogm.exception.core.MappingException;
+import com.antgroup.tugraph.ogm.metadata.ClassInfo;
+import com.antgroup.tugraph.ogm.metadata.FieldInfo;
 import com.antgroup.tugraph.ogm.session.EntityInstantiator;
 import com.antgroup.tugraph.ogm.metadata.MetaData;
+import com.antgroup.tugraph.ogm.session.Utils;
 
 /**
- * Simple instantiator that uses the no-arg constructor, without using property values.
+ * Instantiator that uses the constructor annotated with {@link PersistenceCreator}, the no-arg constructor,
+ * or the only constructor of a class without a no-arg one. Constructor arguments are taken from the property
+ * values by the names of their parameters, a primitive parameter without a value gets its default value.
+ * <p>
+ * The constructor of each class is looked up once and kept as a method handle.
  */
 public class ReflectionEntityInstantiator implements EntityInstantiator {
 
+    private static final MethodType NO_ARGS = MethodType.methodType(Object.class);
+    private static final MethodType ARGS_ARRAY = MethodType.methodType(Object.class, Object[].class);
+
+    private final MetaData metadata;
+
+    private final ClassValue<Creator> creators = new ClassValue<Creator>() {
+        @Override
+        protected Creator computeValue(Class<?> type) {
+            return creatorOf(type);
+        }
+    };
+
     public ReflectionEntityInstantiator(MetaData metadata) {
+        this.metadata = metadata;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T createInstance(Class<T> clazz, Map<String, Object> propertyValues) {
+        return (T) creators.get(clazz).create(propertyValues);
+    }
+
+    private Creator creatorOf(Class<?> type) {
+        Constructor<?> constructor = null;
+        for (Constructor<?> candidate : type.getDeclaredConstructors()) {
+            if (candidate.isAnnotationPresent(PersistenceCreator.class)) {
+                constructor = candidate;
+                break;
+            }
+        }
+        if (constructor == null) {
+            try {
+                constructor = type.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                Constructor<?>[] constructors = type.getDeclaredConstructors();
+                if (constructors.length != 1) {
+                    return new Creator(type, "Unable to find default constructor to instantiate " + type, e);
+                }
+                constructor = constructors[0];
+            }
+        }
+        Constructor<?> chosen = constructor;
         try {
-            Constructor<T> defaultConstructor = clazz.getDeclaredConstructor();
-            defaultConstructor.setAccessible(true);
-            return defaultConstructor.newInstance();
-        } catch (SecurityException | IllegalArgumentException | ReflectiveOperationException e) {
-            throw new MappingException("Unable to find default constructor to instantiate " + clazz, e);
+            MethodHandle handle = AccessController.doPrivileged((PrivilegedAction<MethodHandle>) () -> {
+                chosen.setAccessible(true);
+                try {
+                    return MethodHandles.lookup().unreflectConstructor(chosen);
+                } catch (IllegalAccessException e) {
+                    throw new MappingException("Unable to access constructor to instantiate " + type, e);
+                }
+            });
+            if (chosen.getParameterCount() == 0) {
+                return new Creator(type, handle.asType(NO_ARGS), null);
+            }
+            return new Creator(type, handle.asSpreader(Object[].class, chosen.getParameterCount()).asType(ARGS_ARRAY),
+                parametersOf(type, chosen));
+        } catch (SecurityException | MappingException e) {
+            return new Creator(type, "Unable to access constructor to instantiate " + type, e);
+        }
+    }
+
+    private Argument[] parametersOf(Class<?> type, Constructor<?> constructor) {
+        ClassInfo classInfo = metadata.classInfo(type.getName());
+        Map<String, FieldInfo> fieldsByName = new HashMap<>();
+        if (classInfo != null) {
+            for (FieldInfo fieldInfo : classInfo.fieldsInfo().fields()) {
+                fieldsByName.put(fieldInfo.getName(), fieldInfo);
+            }
+        }
+        Parameter[] parameters = constructor.getParameters();
+        Argument[] arguments = new Argument[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            if (!parameter.isNamePresent()) {
+                throw new MappingException("Parameter names of the constructor of " + type
+                    + " are not available, compile it with -parameters");
+            }
+            arguments[i] = new Argument(parameter.getName(), parameter.getType(), fieldsByName.get(parameter.getName()));
+        }
+        return arguments;
+    }
+
+    private static final class Argument {
+        final String name;
+        final Class<?> type;
+        final FieldInfo field;
+        final Class<?> boxedType;
+        // the value of a missing or null primitive argument, null for reference types
+        final Object defaultValue;
+
+        Argument(String name, Class<?> type, FieldInfo field) {
+            this.name = name;
+            this.type = type;
+            this.field = field;
+            this.boxedType = MethodType.methodType(type).wrap().returnType();
+            this.defaultValue = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+        }
+
+        Object valueFrom(Map<String, Object> propertyValues) {
+            Object value = convertedValueFrom(propertyValues);
+            return value == null ? defaultValue : value;
+        }
+
+        private Object convertedValueFrom(Map<String, Object> propertyValues) {
+            if (field == null) {
+                return Utils.coerceTypes(type, propertyValues.get(name));
+            }
+            // properties are keyed by their name in the graph, composites and start or end nodes by the field name
+            String property = field.property();
+            if (property != null && propertyValues.containsKey(property)) {
+                return field.toEntityAttribute(propertyValues.get(property));
+            }
+            Object value = propertyValues.get(name);
+            return field.isComposite() ? value : field.toEntityAttribute(value);
+        }
+
+        boolean accepts(Object value) {
+            return value == null || boxedType.isInstance(value);
+        }
+    }
+
+    private static final class Creator {
+        private final Class<?> type;
+        private final MethodHandle handle;
+        private final Argument[] arguments;
+        // why the class can't be instantiated, if it can't
+        private final String failure;
+        private final Exception cause;
+
+        Creator(Class<?> type, MethodHandle handle, Argument[] arguments) {
+            this.type = type;
+            this.handle = handle;
+            this.arguments = arguments;
+            this.failure = null;
+            this.cause = null;
+        }
+
+        Creator(Class<?> type, String failure, Exception cause) {
+            this.type = type;
+            this.handle = null;
+            this.arguments = null;
+            this.failure = cause instanceof MappingException ? cause.getMessage() : failure;
+            this.cause = cause;
+        }
+
+        Object create(Map<String, Object> propertyValues) {
+            if (failure != null) {
+                throw new MappingException(failure, cause);
+            }
+            Object[] values = arguments == null ? null : valuesFrom(propertyValues);
+            try {
+                return values == null ? handle.invokeExact() : handle.invokeExact(values);
+            } catch (Error e) {
+                throw e;
+            } catch (Exception e) {
+                throw new MappingException("Unable to instantiate " + type, e);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Object[] valuesFrom(Map<String, Object> propertyValues) {
+            Object[] values = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                Argument argument = arguments[i];
+                try {
+                    values[i] = argument.valueFrom(propertyValues);
+                } catch (RuntimeException e) {
+                    throw new MappingException("Unable to instantiate " + type + ", invalid value of parameter "
+                        + argument.name, e);
+                }
+                if (!argument.accepts(values[i])) {
+                    throw new MappingException("Unable to instantiate " + type + ", parameter " + argument.name
+                        + " of type " + argument.type.getName() + " can't take a " + values[i].getClass().getName());
+                }
+            }
+            return values;
         }
     }
 }
@@ -21,6 +21,7 @@ package com.antgroup.tugraph.ogm.session;
 import static java.util.Collections.*;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -32,6 +33,9 @@ import com.antgroup.tugraph.ogm.request.Request;
 import com.antgroup.tugraph.ogm.session.event.Event;
 import com.antgroup.tugraph.ogm.session.event.EventListener;
 import com.antgroup.tugraph.ogm.session.request.OptimisticLockingChecker;
+import com.antgroup.tugraph.ogm.config.Configuration;
+import com.antgroup.tugraph.ogm.config.DirtyTracking;
+import com.antgroup.tugraph.ogm.config.SaveMode;
 import com.antgroup.tugraph.ogm.context.MappingContext;
 import com.antgroup.tugraph.ogm.context.WriteProtectionTarget;
 import com.antgroup.tugraph.ogm.cypher.Filter;
@@ -95,6 +99,7 @@ public class Neo4jSession implements Session {
 
     private LoadStrategy loadStrategy;
     private EntityInstantiator entityInstantiator;
+    private Duration queryTimeout;
 
     private Driver driver;
     /**
@@ -114,7 +119,8 @@ public class Neo4jSession implements Session {
         this.useStrictQuerying = useStrictQuerying;
         this.driver = driver;
 
-        this.mappingContext = new MappingContext(metaData);
+        this.mappingContext = new MappingContext(metaData, Optional.ofNullable(driver.getConfiguration())
+            .map(Configuration::getDirtyTracking).orElse(DirtyTracking.SNAPSHOT));
         this.txManager = new DefaultTransactionManager(this, driver.getTransactionFactorySupplier());
         this.loadStrategy = LoadStrategy.PATH_LOAD_STRATEGY;
         this.entityInstantiator = new ReflectionEntityInstantiator(metaData);
@@ -690,7 +696,15 @@ public class Neo4jSession implements Session {
     }
 
     public Request requestHandler() {
-        return driver.request(this.txManager.getCurrentTransaction());
+        Request request = driver.request(this.txManager.getCurrentTransaction());
+        if (queryTimeout != null) {
+            request.setQueryTimeout(queryTimeout);
+        }
+        return request;
+    }
+
+    public SaveMode saveMode() {
+        return Optional.ofNullable(driver.getConfiguration()).map(Configuration::getSaveMode).orElse(SaveMode.CYPHER);
     }
 
     public void warn(String msg) {
@@ -722,6 +736,16 @@ public class Neo4jSession implements Session {
         this.loadStrategy = loadStrategy;
     }
 
+    @Override
+    public Duration getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    @Override
+    public void setQueryTimeout(Duration queryTimeout) {
+        this.queryTimeout = queryTimeout;
+    }
+
     private LoadClauseBuilder loadNodeClauseBuilder(int depth) {
         if (depth < 0) {
             return new PathNodeLoadClauseBuilder();
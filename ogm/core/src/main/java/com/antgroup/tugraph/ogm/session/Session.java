@@ -19,6 +19,7 @@
 package com.antgroup.tugraph.ogm.session;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 
@@ -750,4 +751,20 @@ public interface Session {
      * Will be used for all subsequent queries.
      */
     void setLoadStrategy(LoadStrategy loadStrategy);
+
+    /**
+     * Returns the timeout of every query this session runs, null if the driver's default applies
+     *
+     * @return query timeout
+     */
+    default Duration getQueryTimeout() {
+        return null;
+    }
+
+    /**
+     * Sets the timeout of every query this session runs, null for the driver's default.
+     * Will be used for all subsequent queries. Sessions that can't bound a query ignore it.
+     */
+    default void setQueryTimeout(Duration queryTimeout) {
+    }
 }
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.antgroup.tugraph.ogm.annotation.RelationshipEntity;
+import com.antgroup.tugraph.ogm.config.SaveMode;
 import com.antgroup.tugraph.ogm.context.MappedRelationship;
 import com.antgroup.tugraph.ogm.context.MappingContext;
 import com.antgroup.tugraph.ogm.context.TransientRelationship;
@@ -31,6 +32,7 @@ import com.antgroup.tugraph.ogm.cypher.compiler.CompileContext;
 import com.antgroup.tugraph.ogm.cypher.compiler.Compiler;
 import com.antgroup.tugraph.ogm.metadata.ClassInfo;
 import com.antgroup.tugraph.ogm.model.RowModel;
+import com.antgroup.tugraph.ogm.request.Request;
 import com.antgroup.tugraph.ogm.request.Statement;
 import com.antgroup.tugraph.ogm.response.Response;
 import com.antgroup.tugraph.ogm.session.Neo4jSession;
@@ -79,13 +81,28 @@ public class RequestExecutor {
 
         session.doInTransaction(() -> {
 
-            //If there are statements that depend on new nodes i.e. relationships created between new nodes,
-            //we must create the new nodes first, and then use their node IDs when creating relationships between them
-            if (compiler.hasStatementsDependentOnNewNodes()) {
+            if (session.saveMode() == SaveMode.BULK) {
+                // New nodes and relationships are handed to the driver as bulk writes, nodes first as
+                // relationships between new nodes need their ids.
+                executeStatements(context, entityReferenceMappings, relReferenceMappings,
+                    compiler.createNodesStatements(), true);
+                executeStatements(context, entityReferenceMappings, relReferenceMappings,
+                    compiler.createRelationshipsStatements(), true);
+
+                List<Statement> statements = new ArrayList<>();
+                statements.addAll(compiler.updateNodesStatements());
+                statements.addAll(compiler.updateRelationshipStatements());
+                statements.addAll(compiler.deleteRelationshipStatements());
+                statements.addAll(compiler.deleteRelationshipEntityStatements());
+
+                executeStatements(context, entityReferenceMappings, relReferenceMappings, statements, false);
+            } else if (compiler.hasStatementsDependentOnNewNodes()) {
+                //If there are statements that depend on new nodes i.e. relationships created between new nodes,
+                //we must create the new nodes first, and then use their node IDs when creating relationships between them
                 // execute the statements to create new nodes. The ids will be returned
                 // and will be used in subsequent statements that refer to these new nodes.
                 executeStatements(context, entityReferenceMappings, relReferenceMappings,
-                    compiler.createNodesStatements());
+                    compiler.createNodesStatements(), false);
 
                 List<Statement> statements = new ArrayList<>();
                 statements.addAll(compiler.createRelationshipsStatements());
@@ -94,10 +111,10 @@ public class RequestExecutor {
                 statements.addAll(compiler.deleteRelationshipStatements());
                 statements.addAll(compiler.deleteRelationshipEntityStatements());
 
-                executeStatements(context, entityReferenceMappings, relReferenceMappings, statements);
+                executeStatements(context, entityReferenceMappings, relReferenceMappings, statements, false);
             } else { // only update / delete statements
                 List<Statement> statements = compiler.getAllStatements();
-                executeStatements(context, entityReferenceMappings, relReferenceMappings, statements);
+                executeStatements(context, entityReferenceMappings, relReferenceMappings, statements, false);
             }
 
         }, forceTx, Transaction.Type.READ_WRITE);
@@ -109,7 +126,7 @@ public class RequestExecutor {
     }
 
     private void executeStatements(CompileContext context, List<ReferenceMapping> entityReferenceMappings,
-        List<ReferenceMapping> relReferenceMappings, List<Statement> statements) {
+        List<ReferenceMapping> relReferenceMappings, List<Statement> statements, boolean bulkCreate) {
         if (statements.size() > 0) {
 
             List<Statement> noCheckStatements = new ArrayList<>();
@@ -128,7 +145,9 @@ public class RequestExecutor {
 
             DefaultRequest defaultRequest = new DefaultRequest();
             defaultRequest.setStatements(noCheckStatements);
-            try (Response<RowModel> response = session.requestHandler().execute(defaultRequest)) {
+            Request requestHandler = session.requestHandler();
+            try (Response<RowModel> response = bulkCreate ?
+                requestHandler.executeCreate(defaultRequest) : requestHandler.execute(defaultRequest)) {
                 registerEntityIds(context, response.toList(), entityReferenceMappings, relReferenceMappings);
             }
         }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import com.antgroup.tugraph.ogm.config.DirtyTracking;
+import com.antgroup.tugraph.ogm.domain.dirtytracking.Sensor;
+import com.antgroup.tugraph.ogm.metadata.MetaData;
+
+public class IdentityMapTest {
+
+    private static final MetaData META_DATA = new MetaData("com.antgroup.tugraph.ogm.domain.dirtytracking");
+
+    @Test
+    public void snapshotShouldKeepHashesAndSnapshots() {
+
+        IdentityMap identityMap = new IdentityMap(META_DATA, DirtyTracking.SNAPSHOT);
+        Sensor sensor = sensor();
+        identityMap.remember(sensor, 1L);
+
+        assertThat(identityMap.remembered(sensor, 1L)).isTrue();
+        assertThat(identityMap.remembered(sensor, 2L)).isFalse();
+        assertThat(identityMap.remembered(sensor, null)).isFalse();
+
+        EntitySnapshot snapshot = identityMap.getSnapshotOf(sensor, 1L).orElse(null);
+        assertThat(snapshot).isNotNull();
+        assertThat(snapshot.getDynamicLabels()).containsExactly("Outdoor");
+        assertThat(snapshot.getDynamicCompositeProperties()).containsExactly("attributes.unit");
+        assertThat(identityMap.getSnapshotOf(sensor, 2L)).isEmpty();
+    }
+
+    @Test
+    public void hashOnlyShouldKeepHashesWithoutSnapshots() {
+
+        IdentityMap identityMap = new IdentityMap(META_DATA, DirtyTracking.HASH_ONLY);
+        Sensor sensor = sensor();
+        identityMap.remember(sensor, 1L);
+
+        assertThat(identityMap.remembered(sensor, 1L)).isTrue();
+        assertThat(identityMap.getSnapshotOf(sensor, 1L)).isEmpty();
+
+        sensor.setName("other");
+        assertThat(identityMap.remembered(sensor, 1L)).isFalse();
+    }
+
+    @Test
+    public void disabledShouldRememberNothing() {
+
+        IdentityMap identityMap = new IdentityMap(META_DATA, DirtyTracking.DISABLED);
+        Sensor sensor = sensor();
+        identityMap.remember(sensor, 1L);
+
+        assertThat(identityMap.remembered(sensor, 1L)).isFalse();
+        assertThat(identityMap.getSnapshotOf(sensor, 1L)).isEmpty();
+    }
+
+    @Test
+    public void primitiveArraysShouldBeHashedByContent() {
+
+        IdentityMap identityMap = new IdentityMap(META_DATA, DirtyTracking.HASH_ONLY);
+        Sensor sensor = sensor();
+        identityMap.remember(sensor, 1L);
+
+        // equal copies of the arrays hash like the remembered ones
+        sensor.setReadings(sensor.getReadings().clone());
+        sensor.setPayload(((int[]) sensor.getPayload()).clone());
+        assertThat(identityMap.remembered(sensor, 1L)).isTrue();
+
+        sensor.getReadings()[0] = 42L;
+        assertThat(identityMap.remembered(sensor, 1L)).isFalse();
+        sensor.getReadings()[0] = 1L;
+        assertThat(identityMap.remembered(sensor, 1L)).isTrue();
+
+        ((int[]) sensor.getPayload())[1] = 42;
+        assertThat(identityMap.remembered(sensor, 1L)).isFalse();
+    }
+
+    private static Sensor sensor() {
+        Sensor sensor = new Sensor();
+        sensor.setName("s1");
+        sensor.setReadings(new long[] { 1L, 2L, 3L });
+        sensor.setPayload(new int[] { 4, 5 });
+        sensor.getLabels().add("Outdoor");
+        sensor.getAttributes().put("unit", "celsius");
+        return sensor;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the heap taken by the registers of a {@link MappingContext} and an {@link IdentityMap} with the boxed
+ * collections they replaced. Run it with a fixed heap, e.g. {@code -Xms2g -Xmx2g}, and optionally the number of
+ * entries as argument. Native ids are spread like ids of a large graph, so that few of them are cached boxes.
+ */
+public class LongMapsMemoryBenchmark {
+
+    private static final Object ENTITY = new Object();
+
+    // keeps the measured collection reachable while the heap is measured
+    private static volatile Object retained;
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.printf("%,d entries, bytes per entry%n", entries);
+        report("entity register", entries,
+            n -> {
+                Map<Long, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < n; i++) {
+                    map.put(id(i), ENTITY);
+                }
+                return map;
+            },
+            n -> {
+                LongObjectMap<Object> map = new LongObjectMap<>();
+                for (int i = 0; i < n; i++) {
+                    map.put(id(i), ENTITY);
+                }
+                return map;
+            });
+        report("entity hashes", entries,
+            n -> {
+                Map<Long, Long> map = new HashMap<>();
+                for (int i = 0; i < n; i++) {
+                    map.put(id(i), id(i) * 31);
+                }
+                return map;
+            },
+            n -> {
+                LongLongMap map = new LongLongMap();
+                for (int i = 0; i < n; i++) {
+                    map.put(id(i), id(i) * 31);
+                }
+                return map;
+            });
+        report("mapped ids", entries,
+            n -> {
+                Set<Long> set = new LinkedHashSet<>();
+                for (int i = 0; i < n; i++) {
+                    set.add(id(i));
+                }
+                return set;
+            },
+            n -> {
+                LongSet set = new LongSet();
+                for (int i = 0; i < n; i++) {
+                    set.add(id(i));
+                }
+                return set;
+            });
+    }
+
+    private static long id(int i) {
+        return 1_000L + i * 7L;
+    }
+
+    private static void report(String name, int entries, IntFunction<Object> boxed, IntFunction<Object> primitive) {
+        double boxedBytes = bytesPerEntry(entries, boxed);
+        double primitiveBytes = bytesPerEntry(entries, primitive);
+        System.out.printf("%-16s boxed %6.1f  primitive %6.1f  saved %3.0f%%%n", name, boxedBytes, primitiveBytes,
+            100 * (1 - primitiveBytes / boxedBytes));
+    }
+
+    private static double bytesPerEntry(int entries, IntFunction<Object> fill) {
+        // warm up, so that the measured run doesn't include loaded classes and compiled code
+        fill.apply(1_000);
+        long before = usedHeap();
+        retained = fill.apply(entries);
+        long after = usedHeap();
+        retained = null;
+        return (after - before) / (double) entries;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LongObjectMapTest {
+
+    @Test
+    public void shouldBehaveLikeALinkedHashMap() {
+
+        Random random = new Random(42);
+        LongObjectMap<String> map = new LongObjectMap<>();
+        Map<Long, String> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            // few distinct keys, so that removals and re-insertions collide a lot
+            long key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                String value = Integer.toString(i);
+                assertThat(map.put(key, value)).isEqualTo(expected.put(key, value));
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+
+        for (long key = -1_000; key < 1_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+            assertThat(map.containsKey(key)).isEqualTo(expected.containsKey(key));
+        }
+        List<String> expectedEntries = new ArrayList<>();
+        expected.forEach((key, value) -> expectedEntries.add(key + "=" + value));
+        assertThat(entries(map)).containsExactlyElementsOf(expectedEntries);
+    }
+
+    @Test
+    public void shouldKeepInsertionOrderAcrossRemovalsAndGrowth() {
+
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long key = 0; key < 100; key++) {
+            map.put(key * 31, "v" + key);
+        }
+        map.removeValuesIf(value -> Integer.parseInt(value.substring(1)) % 2 == 0);
+        assertThat(map.putIfAbsent(31, "other")).isEqualTo("v1");
+        map.put(0, "v0");
+
+        List<String> entries = entries(map);
+        assertThat(entries).hasSize(51);
+        assertThat(entries.get(0)).isEqualTo("31=v1");
+        assertThat(entries.get(49)).isEqualTo("3069=v99");
+        assertThat(entries.get(50)).isEqualTo("0=v0");
+
+        map.clear();
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(31)).isNull();
+    }
+
+    @Test
+    public void longLongMapShouldKeepPrimitiveValues() {
+
+        LongLongMap map = new LongLongMap();
+        for (long key = -5_000; key < 5_000; key++) {
+            map.put(key << 20, key * 7);
+        }
+        map.put(0, 1);
+
+        assertThat(map.size()).isEqualTo(10_000);
+        assertThat(map.getOrDefault(3L << 20, -1)).isEqualTo(21);
+        assertThat(map.getOrDefault(0, -1)).isEqualTo(1);
+        assertThat(map.containsKey(1)).isFalse();
+        assertThat(map.getOrDefault(1, -1)).isEqualTo(-1);
+    }
+
+    private static List<String> entries(LongObjectMap<String> map) {
+        List<String> entries = new ArrayList<>();
+        map.forEach((key, value) -> entries.add(key + "=" + value));
+        return entries;
+    }
+}
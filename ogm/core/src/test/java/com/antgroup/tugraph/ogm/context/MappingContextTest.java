@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import com.antgroup.tugraph.ogm.domain.hierarchy.Car;
+import com.antgroup.tugraph.ogm.domain.hierarchy.ToyCar;
+import com.antgroup.tugraph.ogm.domain.hierarchy.Truck;
+import com.antgroup.tugraph.ogm.domain.hierarchy.Vehicle;
+import com.antgroup.tugraph.ogm.metadata.ClassInfo;
+import com.antgroup.tugraph.ogm.metadata.MetaData;
+
+public class MappingContextTest {
+
+    private final MetaData metaData = new MetaData("com.antgroup.tugraph.ogm.domain.hierarchy");
+    private final MappingContext mappingContext = new MappingContext(metaData);
+
+    @Test
+    public void shouldFindEntitiesByPrimaryIdThroughTheirSuperclass() {
+
+        Car car = new Car(1L, "k");
+        Truck truck = new Truck(2L, "k");
+        mappingContext.addNodeEntity(car);
+        mappingContext.addNodeEntity(truck);
+
+        assertThat(byId(Car.class, "k")).isSameAs(car);
+        assertThat(byId(Truck.class, "k")).isSameAs(truck);
+        // the first registered entity of a subclass answers for the superclass
+        assertThat(byId(Vehicle.class, "k")).isSameAs(car);
+        assertThat(byId(Vehicle.class, "other")).isNull();
+    }
+
+    @Test
+    public void shouldHandTheSuperclassEntryToAnotherSubclassOnRemoval() {
+
+        Car car = new Car(1L, "k");
+        Truck truck = new Truck(2L, "k");
+        mappingContext.addNodeEntity(car);
+        mappingContext.addNodeEntity(truck);
+
+        mappingContext.removeNodeEntity(car, false);
+        assertThat(byId(Car.class, "k")).isNull();
+        assertThat(byId(Truck.class, "k")).isSameAs(truck);
+        assertThat(byId(Vehicle.class, "k")).isSameAs(truck);
+
+        mappingContext.removeNodeEntity(truck, false);
+        assertThat(byId(Truck.class, "k")).isNull();
+        assertThat(byId(Vehicle.class, "k")).isNull();
+
+        Car another = new Car(3L, "k");
+        mappingContext.addNodeEntity(another);
+        assertThat(byId(Vehicle.class, "k")).isSameAs(another);
+    }
+
+    @Test
+    public void shouldNotMatchOtherClassesSharingTheLabel() {
+
+        Car car = new Car(1L, "k");
+        ToyCar toyCar = new ToyCar(2L, "k");
+        mappingContext.addNodeEntity(car);
+        mappingContext.addNodeEntity(toyCar);
+
+        assertThat(byId(Car.class, "k")).isSameAs(car);
+        assertThat(byId(ToyCar.class, "k")).isSameAs(toyCar);
+    }
+
+    private Object byId(Class<?> type, Object id) {
+        ClassInfo classInfo = metaData.classInfo(type.getName());
+        return mappingContext.getNodeEntityById(classInfo, id);
+    }
+}
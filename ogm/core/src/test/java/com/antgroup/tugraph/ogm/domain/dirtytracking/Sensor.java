@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.domain.dirtytracking;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.antgroup.tugraph.ogm.annotation.GeneratedValue;
+import com.antgroup.tugraph.ogm.annotation.Id;
+import com.antgroup.tugraph.ogm.annotation.Labels;
+import com.antgroup.tugraph.ogm.annotation.NodeEntity;
+import com.antgroup.tugraph.ogm.annotation.Properties;
+import com.antgroup.tugraph.ogm.annotation.Property;
+
+@NodeEntity
+public class Sensor {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    private String name;
+
+    private long[] readings;
+
+    @Property
+    private Object payload;
+
+    @Labels
+    private Set<String> labels = new HashSet<>();
+
+    @Properties
+    private Map<String, String> attributes = new HashMap<>();
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long[] getReadings() {
+        return readings;
+    }
+
+    public void setReadings(long[] readings) {
+        this.readings = readings;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Object payload) {
+        this.payload = payload;
+    }
+
+    public Set<String> getLabels() {
+        return labels;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+}
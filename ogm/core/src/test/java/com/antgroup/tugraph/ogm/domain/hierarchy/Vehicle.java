@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.domain.hierarchy;
+
+import com.antgroup.tugraph.ogm.annotation.Id;
+import com.antgroup.tugraph.ogm.annotation.NodeEntity;
+
+@NodeEntity
+public abstract class Vehicle {
+
+    private Long id;
+
+    @Id
+    private String plate;
+
+    Vehicle(Long id, String plate) {
+        this.id = id;
+        this.plate = plate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getPlate() {
+        return plate;
+    }
+}
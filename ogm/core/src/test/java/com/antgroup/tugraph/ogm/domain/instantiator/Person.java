@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.domain.instantiator;
+
+import com.antgroup.tugraph.ogm.annotation.GeneratedValue;
+import com.antgroup.tugraph.ogm.annotation.Id;
+import com.antgroup.tugraph.ogm.annotation.NodeEntity;
+import com.antgroup.tugraph.ogm.annotation.PersistenceCreator;
+
+@NodeEntity
+public class Person {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    private final String name;
+
+    private final int age;
+
+    public Person() {
+        this("unknown", -1);
+    }
+
+    @PersistenceCreator
+    public Person(String name, int age) {
+        this.name = name;
+        this.age = age;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.domain.instantiator;
+
+import com.antgroup.tugraph.ogm.annotation.GeneratedValue;
+import com.antgroup.tugraph.ogm.annotation.Id;
+import com.antgroup.tugraph.ogm.annotation.NodeEntity;
+
+@NodeEntity
+public class Point {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    private final int x;
+
+    private final boolean visible;
+
+    private final double weight;
+
+    public Point(int x, boolean visible, double weight) {
+        this.x = x;
+        this.visible = visible;
+        this.weight = weight;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+}
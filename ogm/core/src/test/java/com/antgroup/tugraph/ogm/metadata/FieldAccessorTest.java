@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.metadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+public class FieldAccessorTest {
+
+    private static class Holder {
+        private int count;
+        private String name;
+        private final long version = 1L;
+    }
+
+    @Test
+    public void shouldReadAndWriteFields() throws NoSuchFieldException {
+
+        Holder holder = new Holder();
+        FieldAccessor count = FieldAccessor.of(Holder.class.getDeclaredField("count"));
+        FieldAccessor name = FieldAccessor.of(Holder.class.getDeclaredField("name"));
+
+        count.set(holder, 3);
+        name.set(holder, "n");
+        assertThat(count.get(holder)).isEqualTo(3);
+        assertThat(name.get(holder)).isEqualTo("n");
+
+        name.set(holder, null);
+        assertThat(name.get(holder)).isNull();
+    }
+
+    @Test
+    public void shouldWriteFinalFields() throws NoSuchFieldException {
+
+        Holder holder = new Holder();
+        FieldAccessor version = FieldAccessor.of(Holder.class.getDeclaredField("version"));
+
+        version.set(holder, 2L);
+        assertThat(version.get(holder)).isEqualTo(2L);
+    }
+
+    @Test
+    public void shouldRejectWrongValuesLikeReflection() throws NoSuchFieldException {
+
+        Holder holder = new Holder();
+        FieldAccessor count = FieldAccessor.of(Holder.class.getDeclaredField("count"));
+        FieldAccessor name = FieldAccessor.of(Holder.class.getDeclaredField("name"));
+
+        assertThatThrownBy(() -> count.set(holder, "three")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> count.set(holder, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> name.set(holder, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> name.set(new Object(), "n")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(count.get(holder)).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldFailOnANullInstance() throws NoSuchFieldException {
+
+        FieldAccessor name = FieldAccessor.of(Holder.class.getDeclaredField("name"));
+
+        assertThatThrownBy(() -> name.set(null, "n")).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> name.get(null)).isInstanceOf(NullPointerException.class);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.metadata.reflect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.EventObject;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import com.antgroup.tugraph.ogm.domain.instantiator.Person;
+import com.antgroup.tugraph.ogm.domain.instantiator.Point;
+import com.antgroup.tugraph.ogm.exception.core.MappingException;
+import com.antgroup.tugraph.ogm.metadata.MetaData;
+
+public class ReflectionEntityInstantiatorTest {
+
+    private final ReflectionEntityInstantiator instantiator =
+        new ReflectionEntityInstantiator(new MetaData("com.antgroup.tugraph.ogm.domain.instantiator"));
+
+    @Test
+    public void shouldUseTheAnnotatedConstructor() {
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "ann");
+        values.put("age", 7L);
+
+        Person person = instantiator.createInstance(Person.class, values);
+        assertThat(person.getName()).isEqualTo("ann");
+        assertThat(person.getAge()).isEqualTo(7);
+    }
+
+    @Test
+    public void shouldPassDefaultsForMissingPrimitives() {
+
+        Person person = instantiator.createInstance(Person.class, new HashMap<>());
+        assertThat(person.getName()).isNull();
+        assertThat(person.getAge()).isZero();
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("x", 3L);
+        values.put("visible", null);
+
+        Point point = instantiator.createInstance(Point.class, values);
+        assertThat(point.getX()).isEqualTo(3);
+        assertThat(point.isVisible()).isFalse();
+        assertThat(point.getWeight()).isZero();
+    }
+
+    @Test
+    public void shouldNameTheParameterOfAnInvalidValue() {
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("x", "three");
+
+        assertThatThrownBy(() -> instantiator.createInstance(Point.class, values))
+            .isInstanceOf(MappingException.class)
+            .hasMessageContaining(Point.class.getName())
+            .hasMessageContaining("parameter x");
+    }
+
+    @Test
+    public void shouldRequireParameterNames() {
+
+        // the JDK isn't compiled with -parameters
+        assertThatThrownBy(() -> instantiator.createInstance(EventObject.class, new HashMap<>()))
+            .isInstanceOf(MappingException.class)
+            .hasMessageContaining("-parameters");
+    }
+}
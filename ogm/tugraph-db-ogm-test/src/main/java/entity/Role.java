@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package entity;
+
+import com.antgroup.tugraph.ogm.annotation.EndNode;
+import com.antgroup.tugraph.ogm.annotation.Id;
+import com.antgroup.tugraph.ogm.annotation.RelationshipEntity;
+import com.antgroup.tugraph.ogm.annotation.StartNode;
+
+@RelationshipEntity(type = "PLAYED")
+public class Role {
+
+    @Id
+    private Long id;
+    private String name;
+
+    @StartNode
+    private Actor actor;
+
+    @EndNode
+    private Movie movie;
+
+    public Role() {
+    }
+
+    public Role(Actor actor, Movie movie, String name) {
+        this.actor = actor;
+        this.movie = movie;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Actor getActor() {
+        return actor;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+}
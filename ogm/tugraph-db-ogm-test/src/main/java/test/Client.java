@@ -16,6 +16,7 @@
 package test;
 
 import com.antgroup.tugraph.ogm.config.Configuration;
+import com.antgroup.tugraph.ogm.config.SaveMode;
 import com.antgroup.tugraph.ogm.driver.Driver;
 import com.antgroup.tugraph.ogm.drivers.rpc.driver.RpcDriver;
 
@@ -25,11 +26,16 @@ public class Client {
     private static Configuration.Builder baseConfigurationBuilder;
 
     protected static Driver getDriver(String[] args) {
+        return getDriver(args, SaveMode.CYPHER);
+    }
+
+    protected static Driver getDriver(String[] args, SaveMode saveMode) {
         Driver driver = new RpcDriver();
         baseConfigurationBuilder = new Configuration.Builder()
             .database("default")
             .uri(args[0])
             .verifyConnection(true)
+            .saveMode(saveMode)
             .credentials(args[1], args[2]);
         driver.configure(baseConfigurationBuilder.build());
         return driver;
@@ -20,6 +20,8 @@ import com.antgroup.tugraph.TuGraphDbRpcException;
 import com.antgroup.tugraph.ogm.driver.Driver;
 import entity.Actor;
 import entity.Movie;
+import entity.Role;
+import com.antgroup.tugraph.ogm.config.SaveMode;
 import com.antgroup.tugraph.ogm.cypher.ComparisonOperator;
 import com.antgroup.tugraph.ogm.model.QueryStatistics;
 import com.antgroup.tugraph.ogm.model.Result;
@@ -61,6 +63,7 @@ public class TestBase extends Client {
             testQuery();
             testUpdate();
             testDelete();
+            testBulkCreate(args);
         }
     }
 
@@ -112,6 +115,43 @@ public class TestBase extends Client {
         assertThat(movies).hasSize(0);
     }
 
+    private static void testBulkCreate(String[] args) {
+        log.info("----------------testBulkCreate--------------------");
+        Driver driver = getDriver(args, SaveMode.BULK);
+        try {
+            Session bulkSession = new SessionFactory(driver, "entity").openSession();
+            bulkSession.query("CALL db.createEdgeLabel('PLAYED', '[]', 'name', STRING, true)", emptyMap());
+
+            // Test1  CREATE -> ids of nodes and relationships
+            Movie movie = new Movie("Heat", 1995);
+            Actor al = new Actor("Al Pacino");
+            al.actsIn(movie);
+            Role role = new Role(al, movie, "Vincent Hanna");
+            bulkSession.save(role);
+            assertThat(movie.getId()).isNotNull();
+            assertThat(al.getId()).isNotNull();
+            assertThat(role.getId()).isNotNull();
+            Movie heat = bulkSession.load(Movie.class, movie.getId());
+            assertThat(heat.getTitle()).isEqualTo("Heat");
+
+            // Test2  CREATE -> CREATE again, nothing is duplicated
+            bulkSession.save(role);
+            bulkSession.save(al);
+            assertThat(bulkSession.queryForObject(Integer.class,
+                "MATCH (n:Movie) RETURN COUNT(n) AS counts", emptyMap())).isEqualTo(1);
+            assertThat(bulkSession.queryForObject(Integer.class,
+                "MATCH (n:Actor) RETURN COUNT(n) AS counts", emptyMap())).isEqualTo(1);
+            assertThat(bulkSession.queryForObject(Integer.class,
+                "MATCH (n)-[r:PLAYED]->(m) RETURN COUNT(r) AS counts", emptyMap())).isEqualTo(1);
+            assertThat(bulkSession.queryForObject(Integer.class,
+                "MATCH (n)-[r:ACTS_IN]->(m) RETURN COUNT(r) AS counts", emptyMap())).isEqualTo(1);
+
+            bulkSession.purgeDatabase();
+        } finally {
+            driver.close();
+        }
+    }
+
     private static void testQuery() {
         log.info("----------------testQuery--------------------");
         // Test1  LOADALL
@@ -20,14 +20,18 @@
 package com.antgroup.tugraph.ogm.drivers.rpc.driver;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import com.antgroup.tugraph.ogm.drivers.rpc.request.RpcRequest;
+import com.antgroup.tugraph.ogm.drivers.rpc.request.StatementTemplateCache;
 import com.antgroup.tugraph.ogm.drivers.rpc.transaction.RpcTransaction;
+import com.antgroup.tugraph.TuGraphClientOptions;
 import com.antgroup.tugraph.TuGraphDbRpcClient;
 
 import com.antgroup.tugraph.ogm.drivers.rpc.exception.ServiceUnavailableException;
@@ -53,16 +57,38 @@ public class RpcDriver extends AbstractConfigurableDriver {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RpcDriver.class);
     public static final String CONFIG_PARAMETER_RPC_LOGGING = "Rpc_Logging";
+    /**
+     * Custom property holding the maximum number of parsed statement templates kept by the driver.
+     */
+    public static final String CONFIG_PARAMETER_STATEMENT_CACHE_SIZE = "Rpc_Statement_Cache_Size";
+    /**
+     * Custom properties holding the number of IO and work threads of the rpc client.
+     */
+    public static final String CONFIG_PARAMETER_IO_THREADS = "Rpc_Io_Threads";
+    public static final String CONFIG_PARAMETER_WORK_THREADS = "Rpc_Work_Threads";
+    /**
+     * Custom property, when true the rpc client shares its thread pools with the other clients that share them.
+     */
+    public static final String CONFIG_PARAMETER_SHARE_THREAD_POOLS = "Rpc_Share_Thread_Pools";
+    /**
+     * Custom property holding the default timeout of a statement in seconds, a session can override it.
+     */
+    public static final String CONFIG_PARAMETER_QUERY_TIMEOUT = "Rpc_Query_Timeout";
 
     private final ExceptionTranslator exceptionTranslator = new RpcDriverExceptionTranslator();
 
     private TuGraphDbRpcClient rpcClient;
+    private TuGraphClientOptions clientOptions;
     private Credentials credentials;
     /**
      * The database to use (Use Tugraph default).
      */
     private String database = "default";
 
+    private StatementTemplateCache statementTemplateCache = new StatementTemplateCache();
+
+    private Duration queryTimeout;
+
     // required for service loader mechanism
     public RpcDriver() {
     }
@@ -71,6 +97,14 @@ public class RpcDriver extends AbstractConfigurableDriver {
         this.rpcClient = rpcClient;
     }
 
+    /**
+     * @param clientOptions connection settings of the client the driver creates, instead of the ones derived
+     *                      from the configuration
+     */
+    public RpcDriver(TuGraphClientOptions clientOptions) {
+        this.clientOptions = clientOptions;
+    }
+
     @Override
     public void configure(Configuration newConfiguration) {
 
@@ -81,6 +115,16 @@ public class RpcDriver extends AbstractConfigurableDriver {
         this.credentials = this.configuration.getCredentials();
         this.database = this.configuration.getDatabase();
 
+        Object statementCacheSize = this.configuration.getCustomProperties().get(CONFIG_PARAMETER_STATEMENT_CACHE_SIZE);
+        if (statementCacheSize != null) {
+            this.statementTemplateCache = new StatementTemplateCache(Integer.parseInt(statementCacheSize.toString()));
+        }
+
+        Object queryTimeoutSeconds = this.configuration.getCustomProperties().get(CONFIG_PARAMETER_QUERY_TIMEOUT);
+        if (queryTimeoutSeconds != null) {
+            this.queryTimeout = Duration.ofMillis((long) (Double.parseDouble(queryTimeoutSeconds.toString()) * 1000));
+        }
+
         if (this.configuration.getVerifyConnection()) {
             checkClientInitialized();
         }
@@ -138,12 +182,13 @@ public class RpcDriver extends AbstractConfigurableDriver {
                 String uri = configuration.getURI();
                 boolean useURIs = uris != null && Arrays.stream(uris).anyMatch(u -> u != null && !u.isEmpty());
                 TuGraphDbRpcClient client;
+                TuGraphClientOptions options = clientOptions != null ? clientOptions : buildClientOptions();
                 if (useURIs) {
                     List<String> urisList = Arrays.asList(uris);
-                    client = new TuGraphDbRpcClient(urisList, usernameAndPassword.getUsername(), usernameAndPassword.getPassword());
+                    client = new TuGraphDbRpcClient(urisList, usernameAndPassword.getUsername(), usernameAndPassword.getPassword(), options);
                     rpcClient = client;
                 } else if (uri != null && !uri.isEmpty()) {
-                    client = new TuGraphDbRpcClient(uri, usernameAndPassword.getUsername(), usernameAndPassword.getPassword());
+                    client = new TuGraphDbRpcClient(uri, usernameAndPassword.getUsername(), usernameAndPassword.getPassword(), options);
                     rpcClient = client;
                 } else {
                     LOGGER.debug("Failed to get correct url");
@@ -158,6 +203,30 @@ public class RpcDriver extends AbstractConfigurableDriver {
         }
     }
 
+    // A configured connection pool size bounds the connections to every node of the cluster, without one the
+    // client keeps its own defaults rather than the pool size of the other drivers.
+    private TuGraphClientOptions buildClientOptions() {
+        TuGraphClientOptions defaults = TuGraphClientOptions.defaults();
+        TuGraphClientOptions.Builder builder = TuGraphClientOptions.builder();
+        if (configuration.isConnectionPoolSizeConfigured()) {
+            int poolSize = configuration.getConnectionPoolSize();
+            builder.connectionsPerNode(Math.min(defaults.getMinIdleConnectionsPerNode(), poolSize), poolSize);
+        }
+        Map<String, Object> properties = configuration.getCustomProperties();
+        Object ioThreads = properties.get(CONFIG_PARAMETER_IO_THREADS);
+        Object workThreads = properties.get(CONFIG_PARAMETER_WORK_THREADS);
+        if (ioThreads != null || workThreads != null) {
+            builder.threads(
+                ioThreads != null ? Integer.parseInt(ioThreads.toString()) : defaults.getIoThreads(),
+                workThreads != null ? Integer.parseInt(workThreads.toString()) : defaults.getWorkThreads());
+        }
+        Object shareThreadPools = properties.get(CONFIG_PARAMETER_SHARE_THREAD_POOLS);
+        if (shareThreadPools != null) {
+            builder.shareThreadPools(Boolean.parseBoolean(shareThreadPools.toString()));
+        }
+        return builder.build();
+    }
+
     private URI getSingleURI(String singleUri) {
         return URI.create(singleUri);
     }
@@ -169,7 +238,20 @@ public class RpcDriver extends AbstractConfigurableDriver {
 
     @Override
     public Request request(Transaction transaction) {
-        return new RpcRequest(rpcClient, this.parameterConversion, getCypherModification(), database);
+        RpcRequest request = new RpcRequest(rpcClient, this.parameterConversion, getCypherModification(), database,
+            statementTemplateCache);
+        if (queryTimeout != null) {
+            request.setQueryTimeout(queryTimeout);
+        }
+        return request;
+    }
+
+    /**
+     * @return The cache of parsed statement templates, its hit and miss counts help sizing it
+     * via {@link #CONFIG_PARAMETER_STATEMENT_CACHE_SIZE}.
+     */
+    public StatementTemplateCache getStatementTemplateCache() {
+        return statementTemplateCache;
     }
 
 }
@@ -19,19 +19,22 @@
  */
 package com.antgroup.tugraph.ogm.drivers.rpc.request;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.antgroup.tugraph.ogm.drivers.rpc.response.GraphModelResponse;
 import com.antgroup.tugraph.ogm.drivers.rpc.response.GraphRowModelResponse;
 import com.antgroup.tugraph.ogm.drivers.rpc.response.RestModelResponse;
 import com.antgroup.tugraph.ogm.drivers.rpc.response.RowModelResponse;
+import com.antgroup.tugraph.Deadline;
+import com.antgroup.tugraph.ProtoFieldDataConverter;
+import com.antgroup.tugraph.ResultCursor;
 import com.antgroup.tugraph.TuGraphDbRpcClient;
 
 import com.antgroup.tugraph.ogm.drivers.rpc.exception.ClientException;
@@ -52,6 +55,7 @@ import com.antgroup.tugraph.ogm.request.RowModelRequest;
 import com.antgroup.tugraph.ogm.request.Statement;
 import com.antgroup.tugraph.ogm.response.EmptyResponse;
 import com.antgroup.tugraph.ogm.response.Response;
+import com.antgroup.tugraph.ogm.response.model.DefaultRowModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,6 +68,8 @@ public class RpcRequest implements Request {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RpcRequest.class);
 
+    public static final double DEFAULT_QUERY_TIMEOUT = 10;
+
     private final TuGraphDbRpcClient rpcClient;
 
     private final ParameterConversion parameterConversion;
@@ -72,12 +78,31 @@ public class RpcRequest implements Request {
 
     private final String database;
 
+    private final StatementTemplateCache statementTemplateCache;
+
+    /**
+     * Timeout of every statement in seconds, on the server and while waiting for its response.
+     */
+    private double queryTimeout = DEFAULT_QUERY_TIMEOUT;
+
     public RpcRequest(TuGraphDbRpcClient rpcClient, ParameterConversion parameterConversion,
                       Function<String, String> cypherModification, String database) {
+        this(rpcClient, parameterConversion, cypherModification, database, new StatementTemplateCache());
+    }
+
+    public RpcRequest(TuGraphDbRpcClient rpcClient, ParameterConversion parameterConversion,
+                      Function<String, String> cypherModification, String database,
+                      StatementTemplateCache statementTemplateCache) {
         this.rpcClient = rpcClient;
         this.parameterConversion = parameterConversion;
         this.cypherModification = cypherModification;
         this.database = database;
+        this.statementTemplateCache = statementTemplateCache;
+    }
+
+    @Override
+    public void setQueryTimeout(Duration timeout) {
+        this.queryTimeout = timeout.toNanos() / 1e9;
     }
 
     @Override
@@ -100,13 +125,11 @@ public class RpcRequest implements Request {
     public Response<RowModel> execute(DefaultRequest query) {
         final List<RowModel> rowModels = new ArrayList<>();
         String[] columns = null;
-        int i = 0;
         for (Statement statement : query.getStatements()) {
-            columns = new String[query.getStatements().size()];
-            String result = executeRequest(statement);
+            ResultCursor result = executeRequest(statement);
             try (RowModelResponse rowModelResponse = new RowModelResponse(result)) {
-                if (columns[i] == null) {
-                    columns[i++] = result;
+                if (columns == null) {
+                    columns = result.getColumnNames().toArray(new String[0]);
                 }
                 RowModel model;
                 while ((model = rowModelResponse.next()) != null) {
@@ -119,6 +142,105 @@ public class RpcRequest implements Request {
         return new MultiStatementBasedResponse(columns, rowModels);
     }
 
+    /**
+     * Writes new nodes through the Graph API of the server, one AddVertexesRequest per statement. Relationships
+     * and statements this can't express are executed as Cypher.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Response<RowModel> executeCreate(DefaultRequest query) {
+        final List<RowModel> rowModels = new ArrayList<>();
+        for (Statement statement : query.getStatements()) {
+            Map<String, Object> parameterMap = this.parameterConversion.convertParameters(statement.getParameters());
+            StatementTemplate template = statementTemplateCache.get(cypherModification.apply(statement.getStatement()));
+            if (!isBulkCreate(template, parameterMap)) {
+                try (RowModelResponse rowModelResponse = new RowModelResponse(executeRequest(statement))) {
+                    RowModel model;
+                    while ((model = rowModelResponse.next()) != null) {
+                        rowModels.add(model);
+                    }
+                }
+                continue;
+            }
+            Deadline.Scope scope = rpcClient.withDeadline(
+                Deadline.after((long) Math.ceil(queryTimeout * 1e9), TimeUnit.NANOSECONDS));
+            try {
+                rowModels.addAll(addVertexes(template.getLabel(), (List<Map<String, Object>>) parameterMap.get("rows"),
+                    parameterMap.get("type")));
+            } catch (ClientException | DatabaseException | TransientException ce) {
+                throw new CypherException(ce.code(), ce.getMessage(), ce);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            } finally {
+                scope.close();
+            }
+        }
+        return new MultiStatementBasedResponse(new String[] { "id", "ref", "type" }, rowModels);
+    }
+
+    // Only plain CREATE of nodes, a MERGE must not create what exists. The eids of AddEdgesRequest only tell
+    // apart the edges between the same nodes, relationships are created by Cypher which returns their ids.
+    @SuppressWarnings("unchecked")
+    private static boolean isBulkCreate(StatementTemplate template, Map<String, Object> parameterMap) {
+        if (template.getKind() != StatementTemplate.Kind.CREATE || template.isRelationship()
+            || !(parameterMap.get("rows") instanceof List)) {
+            return false;
+        }
+        for (Object row : (List<?>) parameterMap.get("rows")) {
+            Object props = ((Map<?, ?>) row).get("props");
+            if (props != null && !ProtoFieldDataConverter.isSupported((Map<String, ?>) props)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<RowModel> addVertexes(String label, List<Map<String, Object>> rows, Object type) throws Exception {
+        // Null properties are left out like in the Cypher statements, so rows are sent grouped by their fields.
+        Map<List<String>, List<Map<String, Object>>> rowsByFields = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            rowsByFields.computeIfAbsent(fieldsOf(row), k -> new ArrayList<>()).add(row);
+        }
+        List<RowModel> rowModels = new ArrayList<>(rows.size());
+        for (Map.Entry<List<String>, List<Map<String, Object>>> entry : rowsByFields.entrySet()) {
+            List<String> fields = entry.getKey();
+            List<List<Object>> vertexes = new ArrayList<>(entry.getValue().size());
+            for (Map<String, Object> row : entry.getValue()) {
+                vertexes.add(valuesOf(row, fields));
+            }
+            List<Long> vids = rpcClient.addVertexes(label, fields, vertexes, database);
+            for (int i = 0; i < vids.size(); i++) {
+                Object[] values = { vids.get(i), entry.getValue().get(i).get("nodeRef"), type };
+                rowModels.add(new DefaultRowModel(values, new String[] { "id", "ref", "type" }));
+            }
+        }
+        return rowModels;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> fieldsOf(Map<String, Object> row) {
+        List<String> fields = new ArrayList<>();
+        Map<String, Object> props = (Map<String, Object>) row.get("props");
+        if (props != null) {
+            for (Map.Entry<String, Object> prop : props.entrySet()) {
+                if (prop.getValue() != null) {
+                    fields.add(prop.getKey());
+                }
+            }
+        }
+        return fields;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> valuesOf(Map<String, Object> row, List<String> fields) {
+        Map<String, Object> props = (Map<String, Object>) row.get("props");
+        List<Object> values = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            values.add(props.get(field));
+        }
+        return values;
+    }
+
     private static class MultiStatementBasedResponse implements Response<RowModel> {
         // This implementation is not good, but it preserved the current behaviour while fixing another bug.
         // While the statements executed in org.neo4j.ogm.drivers.bolt.request.BoltRequest.execute(org.neo4j.ogm.request.DefaultRequest)
@@ -168,16 +290,8 @@ public class RpcRequest implements Request {
     }
 
     public String getLabel(String cypher) {
-        Pattern labelPattern1 = Pattern.compile(":`(\\w+)`(\\s*)((\\)|\\])|\\{)");
-        Pattern labelPattern2 = Pattern.compile(":(\\w+)(\\s*)((\\)|\\])|\\{)");
-        Matcher labelMatch1 = labelPattern1.matcher(cypher);
-        Matcher labelMatch2 = labelPattern2.matcher(cypher);
-        String label = "";
-        if (labelMatch1.find()) {
-            label = labelMatch1.group(1);
-        } else if (labelMatch2.find()) {
-            label = labelMatch2.group(1);
-        } else {
+        String label = StatementTemplate.findLabel(cypher);
+        if (label == null) {
             throw new IllegalArgumentException("CREATE without label");
         }
         return label;
@@ -204,15 +318,16 @@ public class RpcRequest implements Request {
         return props;
     }
 
-    private String mergeRequest(String cypher, Map<String, Object> parameterMap) {
+    private String mergeRequest(StatementTemplate template, Map<String, Object> parameterMap) {
         // merge paramters into cypher
-        if (cypher.contains("CREATE") || cypher.contains("MERGE")) {
+        StatementTemplate.Kind kind = template.getKind();
+        if (kind == StatementTemplate.Kind.CREATE || kind == StatementTemplate.Kind.MERGE) {
             if (parameterMap.size() == 0) {
-                return cypher;
+                return template.getCypher();
             }
-            String label = getLabel(cypher);
+            String label = template.getLabel();
             String createCypher = "";
-            if (!cypher.contains("-[")) {
+            if (!template.isRelationship()) {
                 // CREATE NODE
                 String type = (String) parameterMap.get("type");
                 ArrayList<Object> rowsValue = (ArrayList<Object>) parameterMap.get("rows");
@@ -231,9 +346,12 @@ public class RpcRequest implements Request {
             } else {
                 // CREATE RELATIONSHIP
                 ArrayList<Object> rowsValue = (ArrayList<Object>) parameterMap.get("rows");
+                String type = (String) parameterMap.get("type");
                 String matchStr = "MATCH ";
                 String whereStr = " WHERE ";
                 String mergeStr = "";
+                String relIdStr = "";
+                String refStr = "";
                 for (int i = 0; i < rowsValue.size(); i++) {
                     LinkedHashMap map = (LinkedHashMap) rowsValue.get(i);
                     Long startId = (Long) map.get("startNodeId");
@@ -247,6 +365,8 @@ public class RpcRequest implements Request {
                     whereStr += "id(startNode" + i + ") = " + Long.toString(startId) +
                         " AND id(endNode" + i + ") = " + Long.toString(endId) + " AND ";
                     mergeStr += " MERGE (startNode" + i + ")-[rel" + i + ":" + label + props + "]->(endNode" + i + ") \n ";
+                    relIdStr += "id(rel" + i + ") AS id" + i + ",";
+                    refStr += relRef + " AS ref" + i + ",";
                 }
                 if (matchStr.charAt(matchStr.length() - 1) == ',') {
                     matchStr = matchStr.substring(0, matchStr.length() - 1);
@@ -254,13 +374,12 @@ public class RpcRequest implements Request {
                 if (whereStr.substring(whereStr.length() - 4, whereStr.length() - 1).equals("AND")) {
                     whereStr = whereStr.substring(0, whereStr.length() - 4);
                 }
-                createCypher = matchStr + whereStr + mergeStr;
+                // the ids are registered like those of new nodes, so a later save doesn't create them again
+                createCypher = matchStr + whereStr + mergeStr + "RETURN " + refStr + relIdStr + "\"" + type + "\" AS type";
             }
             return createCypher;
-        } else if (cypher.contains("DELETE")) {
-            // Modify the statement that specifies label
-            String deleteCypher = cypher.replace('`', ' ')
-                .replace("OPTIONAL MATCH", "WITH n OPTIONAL MATCH");
+        } else if (kind == StatementTemplate.Kind.DELETE) {
+            String deleteCypher = template.getRewritten();
             if (parameterMap.size() == 0) {
                 return deleteCypher;
             }
@@ -271,9 +390,9 @@ public class RpcRequest implements Request {
             // Modifies the statement with the specified ID
             deleteCypher = deleteCypher.replace("ID(n) = $id", "id(n) = " + String.valueOf(id));
             return deleteCypher;
-        } else if (cypher.contains("SET")) {
+        } else if (kind == StatementTemplate.Kind.SET) {
             if (parameterMap.size() == 0) {
-                return cypher;
+                return template.getCypher();
             }
             String type = (String) parameterMap.get("type");
             String updateStr = "";
@@ -293,7 +412,7 @@ public class RpcRequest implements Request {
                         props += " SET n." + key + " = " + mapProps.get(key);
                     }
                 }
-                if (!cypher.contains("[r]")) {
+                if (!template.isRelationship()) {
                     // UPDATE NODE
                     Long nodeId = (Long) map.get("nodeId");
                     updateStr += "MATCH (n) WHERE id(n) = " + nodeId + props + " RETURN " + nodeId + " AS ref,"
@@ -308,37 +427,41 @@ public class RpcRequest implements Request {
             return updateStr;
         } else {
             // MATCH
-            String matchStr = cypher;
-            matchStr = matchStr.replace("`", "");
-            matchStr = matchStr.replace("ID(", "id(");
-            for (Map.Entry<String, Object> entry : parameterMap.entrySet()) {
-                if (entry.getValue() instanceof String) {
-                    matchStr = matchStr.replaceAll("\\$" + entry.getKey() + "|\\{\\s*" + entry.getKey() + "\\s*\\}",
-                        "\"" + entry.getValue().toString() + "\"");
-                } else {
-                    matchStr = matchStr.replace("$" + entry.getKey(), entry.getValue().toString());
-                }
-            }
-            // when query returns "n,[ [ (n)-[r_h1: HAS_ALBUM ]->(a1: Album ) | ..."
-            if (matchStr.contains("RETURN n,[")) {
-                if (matchStr.substring(matchStr.length() - 7, matchStr.length()).equals(", id(n)")) {
-                    matchStr = matchStr.substring(0, matchStr.indexOf("RETURN n,[") + 8) + ", id(n)";
-                } else {
-                    matchStr = matchStr.substring(0, matchStr.indexOf("RETURN n,[") + 8);
-                }
+            return rewriteMatchRequest(template, parameterMap, true);
+        }
+    }
+
+    /**
+     * Binds the parameters of a MATCH statement. They are either inlined into the text or
+     * left as $name references to be sent alongside the query.
+     */
+    private String rewriteMatchRequest(StatementTemplate template, Map<String, Object> parameterMap, boolean inlineParameters) {
+        String matchStr = template.getRewritten();
+        for (Map.Entry<String, Object> entry : parameterMap.entrySet()) {
+            if (inlineParameters) {
+                matchStr = template.inline(matchStr, entry.getKey(), entry.getValue());
+            } else {
+                matchStr = template.reference(matchStr, entry.getKey());
             }
-            return matchStr;
         }
+        return matchStr;
     }
 
-    private String executeRequest(Statement request) {
+    private ResultCursor executeRequest(Statement request) {
         try {
             Map<String, Object> parameterMap = this.parameterConversion.convertParameters(request.getParameters());
             String cypher = cypherModification.apply(request.getStatement());
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Request: {} with params {}", cypher, parameterMap);
             }
-            return rpcClient.callCypher(mergeRequest(cypher, parameterMap), database, 10);
+            StatementTemplate template = statementTemplateCache.get(cypher);
+            // Scalar parameters of read statements are sent as typed query parameters, so the query text
+            // stays stable and the server can reuse its plan. Writes carry nested rows which can't be
+            // expressed as ProtoFieldData and are still merged into the text.
+            if (!parameterMap.isEmpty() && !template.isWrite() && ProtoFieldDataConverter.isSupported(parameterMap)) {
+                return rpcClient.callCypherForCursor(rewriteMatchRequest(template, parameterMap, false), parameterMap, database, queryTimeout);
+            }
+            return rpcClient.callCypherForCursor(mergeRequest(template, parameterMap), database, queryTimeout);
         } catch (ClientException | DatabaseException | TransientException ce) {
             throw new CypherException(ce.code(), ce.getMessage(), ce);
         } catch (Exception e) {
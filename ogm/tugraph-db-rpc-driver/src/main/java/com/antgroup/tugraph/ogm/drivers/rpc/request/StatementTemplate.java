@@ -0,0 +1,161 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.request;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The parsed form of an OGM generated Cypher template. Everything that only depends on the statement text
+ * (its kind, label and the TuGraph specific rewrites) is computed once, so that executing a statement only
+ * has to bind the parameter values.
+ */
+public final class StatementTemplate {
+
+    /**
+     * Kind of statement, decides which rewrite is applied to the template.
+     */
+    public enum Kind {
+        CREATE, MERGE, DELETE, SET, MATCH
+    }
+
+    private static final Pattern QUOTED_LABEL_PATTERN = Pattern.compile(":`(\\w+)`(\\s*)((\\)|\\])|\\{)");
+    private static final Pattern LABEL_PATTERN = Pattern.compile(":(\\w+)(\\s*)((\\)|\\])|\\{)");
+
+    private final String cypher;
+    private final Kind kind;
+    private final String label;
+    private final boolean relationship;
+    private final String rewritten;
+
+    private final Map<String, Pattern> inlinePatterns = new ConcurrentHashMap<>();
+    private final Map<String, Pattern> referencePatterns = new ConcurrentHashMap<>();
+
+    StatementTemplate(String cypher) {
+        this.cypher = cypher;
+        this.kind = kindOf(cypher);
+        this.label = (kind == Kind.CREATE || kind == Kind.MERGE) ? findLabel(cypher) : null;
+        this.relationship = kind == Kind.SET ? cypher.contains("[r]") : cypher.contains("-[");
+        this.rewritten = rewrite(kind, cypher);
+    }
+
+    private static Kind kindOf(String cypher) {
+        if (cypher.contains("CREATE")) {
+            return Kind.CREATE;
+        } else if (cypher.contains("MERGE")) {
+            return Kind.MERGE;
+        } else if (cypher.contains("DELETE")) {
+            return Kind.DELETE;
+        } else if (cypher.contains("SET")) {
+            return Kind.SET;
+        }
+        return Kind.MATCH;
+    }
+
+    static String findLabel(String cypher) {
+        Matcher quotedLabelMatch = QUOTED_LABEL_PATTERN.matcher(cypher);
+        if (quotedLabelMatch.find()) {
+            return quotedLabelMatch.group(1);
+        }
+        Matcher labelMatch = LABEL_PATTERN.matcher(cypher);
+        if (labelMatch.find()) {
+            return labelMatch.group(1);
+        }
+        return null;
+    }
+
+    private static String rewrite(Kind kind, String cypher) {
+        switch (kind) {
+            case DELETE:
+                // Modify the statement that specifies label
+                return cypher.replace('`', ' ')
+                    .replace("OPTIONAL MATCH", "WITH n OPTIONAL MATCH");
+            case MATCH:
+                String matchStr = cypher.replace("`", "").replace("ID(", "id(");
+                // when query returns "n,[ [ (n)-[r_h1: HAS_ALBUM ]->(a1: Album ) | ..."
+                if (matchStr.contains("RETURN n,[")) {
+                    if (matchStr.endsWith(", id(n)")) {
+                        matchStr = matchStr.substring(0, matchStr.indexOf("RETURN n,[") + 8) + ", id(n)";
+                    } else {
+                        matchStr = matchStr.substring(0, matchStr.indexOf("RETURN n,[") + 8);
+                    }
+                }
+                return matchStr;
+            default:
+                return cypher;
+        }
+    }
+
+    public String getCypher() {
+        return cypher;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isWrite() {
+        return kind != Kind.MATCH;
+    }
+
+    /**
+     * @return The label of a CREATE or MERGE statement
+     * @throws IllegalArgumentException if the statement doesn't specify one
+     */
+    public String getLabel() {
+        if (label == null) {
+            throw new IllegalArgumentException("CREATE without label");
+        }
+        return label;
+    }
+
+    /**
+     * @return True for statements creating or updating relationships rather than nodes.
+     */
+    public boolean isRelationship() {
+        return relationship;
+    }
+
+    /**
+     * @return The statement text after the TuGraph specific rewrites of DELETE and MATCH statements.
+     */
+    public String getRewritten() {
+        return rewritten;
+    }
+
+    /**
+     * Inlines a parameter into a rewritten MATCH statement.
+     */
+    String inline(String matchStr, String key, Object value) {
+        if (value instanceof String) {
+            Pattern pattern = inlinePatterns.computeIfAbsent(key,
+                k -> Pattern.compile("\\$" + Pattern.quote(k) + "|\\{\\s*" + Pattern.quote(k) + "\\s*\\}"));
+            return pattern.matcher(matchStr).replaceAll(Matcher.quoteReplacement("\"" + value + "\""));
+        }
+        return matchStr.replace("$" + key, String.valueOf(value));
+    }
+
+    /**
+     * Turns the legacy {@code { key }} parameter syntax into a {@code $key} reference.
+     */
+    String reference(String matchStr, String key) {
+        Pattern pattern = referencePatterns.computeIfAbsent(key,
+            k -> Pattern.compile("\\{\\s*" + Pattern.quote(k) + "\\s*\\}"));
+        return pattern.matcher(matchStr).replaceAll(Matcher.quoteReplacement("$" + key));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.request;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, least recently used cache of {@link StatementTemplate}s keyed by the Cypher template OGM generated.
+ * OGM only generates a small set of distinct templates per domain, so a few hundred entries usually hold all of them.
+ */
+public class StatementTemplateCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private final int maximumSize;
+    private final Map<String, StatementTemplate> templates;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StatementTemplateCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public StatementTemplateCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.templates = new LinkedHashMap<String, StatementTemplate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StatementTemplate> eldest) {
+                return size() > StatementTemplateCache.this.maximumSize;
+            }
+        };
+    }
+
+    public StatementTemplate get(String cypher) {
+        StatementTemplate template;
+        synchronized (templates) {
+            template = templates.get(cypher);
+        }
+        if (template != null) {
+            hits.increment();
+            return template;
+        }
+        misses.increment();
+        // Parsing happens outside the lock, two threads missing the same template at once just both parse it.
+        template = new StatementTemplate(cypher);
+        synchronized (templates) {
+            templates.put(cypher, template);
+        }
+        return template;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public int size() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+    }
+}
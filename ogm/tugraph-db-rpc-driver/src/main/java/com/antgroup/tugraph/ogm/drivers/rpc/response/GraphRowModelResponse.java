@@ -22,11 +22,11 @@ package com.antgroup.tugraph.ogm.drivers.rpc.response;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
-import com.alibaba.fastjson.parser.Feature;
+
+import com.antgroup.tugraph.ResultCursor;
 
 import com.antgroup.tugraph.ogm.response.model.DefaultGraphModel;
 import com.antgroup.tugraph.ogm.response.model.NodeModel;
@@ -41,103 +41,83 @@ import com.antgroup.tugraph.ogm.response.model.RelationshipModel;
  */
 public class GraphRowModelResponse extends RpcResponse<GraphRowListModel> {
 
-    public GraphRowModelResponse(String result) {
+    public GraphRowModelResponse(ResultCursor result) {
         super(result);
     }
 
     @Override
-    protected ArrayList<GraphRowListModel> mappingResultToModel(String mappingResult) {
-        JSON.DEFAULT_PARSER_FEATURE &= ~Feature.UseBigDecimal.getMask();
-        // construct a list<GraphRowListModel>
-        ArrayList<GraphRowListModel> models = new ArrayList<>();
-        if (mappingResult.equals("null")) {
-            return models;
-        }
-
-        // mapping from string to json
-        JSONArray arrayResults = null;
-        if (mappingResult.charAt(0) == '[') {
-            arrayResults = JSONArray.parseArray(mappingResult);
-        } else {
-            mappingResult = "[" + mappingResult + "]";
-            arrayResults = JSON.parseArray(mappingResult);
-        }
-
-        // mapping jsonObject to model
-        // create list<GraphRowModel>
+    protected void mappingRecordToModels(ResultCursor cursor, Queue<GraphRowListModel> models) {
+        // Every row is handed out as a list model of its own, so that rows are mapped as they are read.
         DefaultGraphRowListModel model = new DefaultGraphRowListModel();
-        for (int i = 0; i < arrayResults.size(); i++) {
-            JSONObject objectResult = arrayResults.getJSONObject(i);
-            // Create GraphRowModel
-            DefaultGraphRowModel rowGraph;
-            DefaultGraphModel graph = new DefaultGraphModel();
-            ArrayList<Object> rows = new ArrayList<Object>();
-            for (String keys : objectResult.keySet()) {
-                Object values = objectResult.get(keys);
-                if (values instanceof JSONObject) {
-                    // making Graph Model
-                    JSONObject value = (JSONObject) values;
-                    if (value.containsKey("start")) {
-                        RelationshipModel relationship = new RelationshipModel();
-                        for (String key : value.keySet()) {
-                            switch (key) {
-                                case "identity":
-                                    relationship.setId((long) value.getInteger(key));
-                                    break;
-                                case "start":
-                                    relationship.setStartNode((long) value.getInteger(key));
-                                    break;
-                                case "end":
-                                    relationship.setEndNode((long) value.getInteger(key));
-                                    break;
-                                case "label":
-                                    relationship.setType(value.getString(key));
-                                    break;
-                                case "properties":
-                                    JSONObject properties = value.getJSONObject(key);
-                                    Map<String, Object> mapProperties = new HashMap<>();
-                                    for (String propertyKey : properties.keySet()) {
-                                        mapProperties.put(propertyKey, properties.get(propertyKey));
-                                    }
-                                    relationship.setProperties(mapProperties);
-                                    break;
-                                default:
-                                    break;
-                            }
-                        }
-                        graph.addRelationship(relationship);
-                    } else {
-                        NodeModel node = new NodeModel((long) value.getInteger("identity"));
-                        for (String key : value.keySet()) {
-                            switch (key) {
-                                case "label":
-                                    String label = value.getString(key);
-                                    String[] labels = { label };
-                                    node.setLabels(labels);
-                                    break;
-                                case "properties":
-                                    JSONObject properties = value.getJSONObject(key);
-                                    Map<String, Object> mapProperties = new HashMap<>();
-                                    for (String propertyKey : properties.keySet()) {
-                                        mapProperties.put(propertyKey, properties.get(propertyKey));
-                                    }
-                                    node.setProperties(mapProperties);
-                                    break;
-                                default:
-                                    break;
-                            }
+        JSONObject objectResult = currentRecord(cursor);
+        // Create GraphRowModel
+        DefaultGraphRowModel rowGraph;
+        DefaultGraphModel graph = new DefaultGraphModel();
+        ArrayList<Object> rows = new ArrayList<Object>();
+        for (String keys : objectResult.keySet()) {
+            Object values = objectResult.get(keys);
+            if (values instanceof JSONObject) {
+                // making Graph Model
+                JSONObject value = (JSONObject) values;
+                if (value.containsKey("start")) {
+                    RelationshipModel relationship = new RelationshipModel();
+                    for (String key : value.keySet()) {
+                        switch (key) {
+                            case "identity":
+                                relationship.setId((long) value.getInteger(key));
+                                break;
+                            case "start":
+                                relationship.setStartNode((long) value.getInteger(key));
+                                break;
+                            case "end":
+                                relationship.setEndNode((long) value.getInteger(key));
+                                break;
+                            case "label":
+                                relationship.setType(value.getString(key));
+                                break;
+                            case "properties":
+                                JSONObject properties = value.getJSONObject(key);
+                                Map<String, Object> mapProperties = new HashMap<>();
+                                for (String propertyKey : properties.keySet()) {
+                                    mapProperties.put(propertyKey, properties.get(propertyKey));
+                                }
+                                relationship.setProperties(mapProperties);
+                                break;
+                            default:
+                                break;
                         }
-                        graph.addNode(node);
                     }
+                    graph.addRelationship(relationship);
                 } else {
-                    // making row model
-                    rows.add(values);
+                    NodeModel node = new NodeModel((long) value.getInteger("identity"));
+                    for (String key : value.keySet()) {
+                        switch (key) {
+                            case "label":
+                                String label = value.getString(key);
+                                String[] labels = { label };
+                                node.setLabels(labels);
+                                break;
+                            case "properties":
+                                JSONObject properties = value.getJSONObject(key);
+                                Map<String, Object> mapProperties = new HashMap<>();
+                                for (String propertyKey : properties.keySet()) {
+                                    mapProperties.put(propertyKey, properties.get(propertyKey));
+                                }
+                                node.setProperties(mapProperties);
+                                break;
+                            default:
+                                break;
+                        }
+                    }
+                    graph.addNode(node);
                 }
+            } else {
+                // making row model
+                rows.add(values);
             }
-            rowGraph = new DefaultGraphRowModel(graph, rows.toArray());
-            model.add(rowGraph);
         }
+        rowGraph = new DefaultGraphRowModel(graph, rows.toArray());
+        model.add(rowGraph);
         models.add(model);
-        return models;
     }
 }
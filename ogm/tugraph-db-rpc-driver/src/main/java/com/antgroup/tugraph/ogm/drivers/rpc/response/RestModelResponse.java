@@ -19,15 +19,14 @@
  */
 package com.antgroup.tugraph.ogm.drivers.rpc.response;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
-import com.alibaba.fastjson.parser.Feature;
+
+import com.antgroup.tugraph.ResultCursor;
 
 import com.antgroup.tugraph.ogm.response.model.DefaultRestModel;
 import com.antgroup.tugraph.ogm.response.model.QueryStatisticsModel;
@@ -40,46 +39,34 @@ import com.antgroup.tugraph.ogm.model.RestModel;
  */
 public class RestModelResponse extends RpcResponse<RestModel> {
 
-    private final QueryStatisticsModel statisticsModel;
+    // the summary of write statements ("created 1 vertices, ...") comes back as text values
+    private final StringBuilder summary = new StringBuilder();
 
-    public RestModelResponse(String result) {
+    public RestModelResponse(ResultCursor result) {
         super(result);
-        this.statisticsModel = new StatisticsModelAdapter().adapt(result);
     }
 
     @Override
-    protected ArrayList<RestModel> mappingResultToModel(String mappingResult) {
-        JSON.DEFAULT_PARSER_FEATURE &= ~Feature.UseBigDecimal.getMask();
-        ArrayList<RestModel> models = new ArrayList<>();
-        if (mappingResult.equals("null")) {
-            return models;
-        }
-        if (mappingResult.contains("[")) {
-            JSONArray arrayResult = JSONArray.parseArray(mappingResult);
-            for (int i = 0; i < arrayResult.size(); i++) {
-                JSONObject obj = arrayResult.getJSONObject(i);
+    protected void mappingRecordToModels(ResultCursor cursor, Queue<RestModel> models) {
+        JSONObject obj = currentRecord(cursor);
 
-                Map<String, Object> row = new HashMap<>();
-                for (String key : obj.keySet()) {
-                    row.put(key, obj.get(key));
-                }
-                DefaultRestModel model = DefaultRestModel.basedOn(row).orElse(null);
-                models.add(model);
-            }
-        } else {
-            JSONObject objectResult = JSONObject.parseObject(mappingResult);
-            Map<String, Object> row = new HashMap<>();
-            for (String key : objectResult.keySet()) {
-                row.put(key, objectResult.get(key));
+        Map<String, Object> row = new HashMap<>();
+        for (String key : obj.keySet()) {
+            Object value = obj.get(key);
+            if (value instanceof String) {
+                summary.append(value).append('\n');
             }
-            DefaultRestModel model = DefaultRestModel.basedOn(row).orElse(null);
-            models.add(model);
+            row.put(key, value);
         }
-        return models;
+        // an empty row has no model, the queue doesn't take nulls
+        DefaultRestModel.basedOn(row).ifPresent(models::add);
     }
 
     @Override
     public Optional<QueryStatistics> getStatistics() {
+        // statistics need the whole result, rows not handed out yet are kept for next()
+        readRemaining();
+        QueryStatisticsModel statisticsModel = new StatisticsModelAdapter().adapt(summary.toString());
         return Optional.of(statisticsModel);
     }
 }
@@ -19,14 +19,11 @@
  */
 package com.antgroup.tugraph.ogm.drivers.rpc.response;
 
-import java.util.ArrayList;
+import java.util.Queue;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 
-import com.alibaba.fastjson.parser.Feature;
-
+import com.antgroup.tugraph.ResultCursor;
 import com.antgroup.tugraph.ogm.model.RowModel;
 import com.antgroup.tugraph.ogm.response.model.DefaultRowModel;
 
@@ -36,61 +33,41 @@ import com.antgroup.tugraph.ogm.response.model.DefaultRowModel;
  */
 public class RowModelResponse extends RpcResponse<RowModel> {
 
-    public RowModelResponse(String result) {
+    public RowModelResponse(ResultCursor result) {
         super(result);
     }
 
     @Override
-    protected ArrayList<RowModel> mappingResultToModel(String mappingResult) {
-        JSON.DEFAULT_PARSER_FEATURE &= ~Feature.UseBigDecimal.getMask();
-        ArrayList<RowModel> models = new ArrayList<>();
+    protected void mappingRecordToModels(ResultCursor cursor, Queue<RowModel> models) {
+        JSONObject objectResult = currentRecord(cursor);
         // Judge result format
-        JSONArray arrayResult = JSONArray.parseArray(mappingResult);
-        if (arrayResult.size() > 1) {
-            for (int i = 0; i < arrayResult.size(); i++) {
-                JSONObject obj = arrayResult.getJSONObject(i);
-                String[] variables = new String[obj.size()];
-                Object[] values = new Object[obj.size()];
-                int j = 0;
-                for (String key : obj.keySet()) {
-                    variables[j] = key;
-                    values[j++] = obj.get(key);
-                }
+        if (cursor.size() == 1 && objectResult.containsKey("ref0") && objectResult.containsKey("type")) {
+            // Get CREATE result
+            Object type = objectResult.get("type");
+            int i = 0;
+            while (objectResult.containsKey("ref" + i)) {
+                String[] variables = new String[3];
+                Object[] values = new Object[3];
+                variables[0] = "id";
+                values[0] = objectResult.get("id" + i);
+                variables[1] = "ref";
+                values[1] = objectResult.get("ref" + i);
+                variables[2] = "type";
+                values[2] = type;
                 DefaultRowModel model = new DefaultRowModel(values, variables);
                 models.add(model);
+                i++;
             }
-        } else if (arrayResult.size() == 1) {
-            JSONObject objectResult = arrayResult.getJSONObject(0);
-            if (objectResult.containsKey("ref0") &&
-                objectResult.containsKey("type")) {
-                // Get CREATE result
-                Object type = objectResult.get("type");
-                int i = 0;
-                while (objectResult.containsKey("ref" + i)) {
-                    String[] variables = new String[3];
-                    Object[] values = new Object[3];
-                    variables[0] = "id";
-                    values[0] = objectResult.get("id" + i);
-                    variables[1] = "ref";
-                    values[1] = objectResult.get("ref" + i);
-                    variables[2] = "type";
-                    values[2] = type;
-                    DefaultRowModel model = new DefaultRowModel(values, variables);
-                    models.add(model);
-                    i++;
-                }
-            } else {
-                String[] variables = new String[objectResult.size()];
-                Object[] values = new Object[objectResult.size()];
-                int i = 0;
-                for (String key : objectResult.keySet()) {
-                    variables[i] = key;
-                    values[i++] = objectResult.get(key);
-                }
-                DefaultRowModel model = new DefaultRowModel(values, variables);
-                models.add(model);
+        } else {
+            String[] variables = new String[objectResult.size()];
+            Object[] values = new Object[objectResult.size()];
+            int i = 0;
+            for (String key : objectResult.keySet()) {
+                variables[i] = key;
+                values[i++] = objectResult.get(key);
             }
+            DefaultRowModel model = new DefaultRowModel(values, variables);
+            models.add(model);
         }
-        return models;
     }
 }
@@ -19,8 +19,13 @@
  */
 package com.antgroup.tugraph.ogm.drivers.rpc.response;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Queue;
 
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+import com.antgroup.tugraph.ResultCursor;
 import com.antgroup.tugraph.ogm.drivers.rpc.exception.ClientException;
 
 import com.antgroup.tugraph.ogm.exception.CypherException;
@@ -29,6 +34,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Maps the rows of a result to models as they are requested through {@link #next()}. Each response keeps its
+ * own position in the result, so responses of concurrent sessions don't interfere.
+ *
  * @author Luanne Misquitta
  * @author Michael J. Simons
  */
@@ -36,23 +44,28 @@ public abstract class RpcResponse<T> implements Response {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RpcResponse.class);
 
-    protected final String result;
-    protected final ArrayList<T> models;
-    protected static int it = 0;
+    static {
+        JSON.DEFAULT_PARSER_FEATURE &= ~Feature.UseBigDecimal.getMask();
+    }
+
+    protected final ResultCursor result;
+    // models mapped from the current row that haven't been handed out yet, a row may map to more than one model
+    private final Queue<T> pending = new ArrayDeque<>();
 
-    RpcResponse(String result) {
-        it = 0;
+    RpcResponse(ResultCursor result) {
         this.result = result;
-        this.models = mappingResultToModel(result);
     }
 
     @Override
     public T next() {
         try {
-            if (it < models.size()) {
-                return models.get(it++);
+            while (pending.isEmpty()) {
+                if (!result.next()) {
+                    return null;
+                }
+                mappingRecordToModels(result, pending);
             }
-            return null;
+            return pending.poll();
         } catch (ClientException ce) {
             LOGGER.debug("Error executing Cypher: {}, {}", ce.code(), ce.getMessage());
             throw new CypherException(ce.code(), ce.getMessage(), ce);
@@ -62,6 +75,10 @@ public abstract class RpcResponse<T> implements Response {
     @Override
     public void close() {
         // Consume the rest of the result and thus closing underlying resources.
+        pending.clear();
+        while (result.next()) {
+            // skip
+        }
     }
 
     @Override
@@ -69,5 +86,37 @@ public abstract class RpcResponse<T> implements Response {
         return new String[0];
     }
 
-    protected abstract ArrayList<T> mappingResultToModel(String mappingResult);
+    /**
+     * Maps the row the cursor is positioned on and adds the resulting models to {@code models}.
+     */
+    protected abstract void mappingRecordToModels(ResultCursor cursor, Queue<T> models);
+
+    /**
+     * Maps all rows not read yet, so that their models are still returned by {@link #next()} afterwards.
+     */
+    protected void readRemaining() {
+        while (result.next()) {
+            mappingRecordToModels(result, pending);
+        }
+    }
+
+    /**
+     * Reads the row the cursor is positioned on as a record keyed by column name. Only nodes, relationships
+     * and collections arrive as JSON text and are parsed value by value, everything else is taken as is.
+     */
+    protected static JSONObject currentRecord(ResultCursor cursor) {
+        JSONObject record = new JSONObject(true);
+        for (int i = 0; i < cursor.getColumnCount(); i++) {
+            Object value;
+            if (cursor.isNull(i)) {
+                value = null;
+            } else if (cursor.isStructured(i)) {
+                value = JSON.parse(cursor.getString(i));
+            } else {
+                value = cursor.getObject(i);
+            }
+            record.put(cursor.getColumnName(i), value);
+        }
+        return record;
+    }
 }
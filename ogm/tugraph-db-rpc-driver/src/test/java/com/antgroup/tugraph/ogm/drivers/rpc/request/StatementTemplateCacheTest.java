@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.request;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+public class StatementTemplateCacheTest {
+
+    @Test
+    public void templatesAreParsedOnce() {
+        StatementTemplateCache cache = new StatementTemplateCache();
+        StatementTemplate template = cache.get("MATCH (n) RETURN n");
+        assertThat(cache.get("MATCH (n) RETURN n")).isSameAs(template);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void leastRecentlyUsedTemplatesAreEvicted() {
+        StatementTemplateCache cache = new StatementTemplateCache(2);
+        StatementTemplate first = cache.get("MATCH (a) RETURN a");
+        cache.get("MATCH (b) RETURN b");
+        // used again, so the second one is evicted instead
+        cache.get("MATCH (a) RETURN a");
+        cache.get("MATCH (c) RETURN c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("MATCH (a) RETURN a")).isSameAs(first);
+        long misses = cache.getMissCount();
+        cache.get("MATCH (b) RETURN b");
+        assertThat(cache.getMissCount()).isEqualTo(misses + 1);
+    }
+
+    @Test
+    public void aCacheOfSizeZeroKeepsNothing() {
+        StatementTemplateCache cache = new StatementTemplateCache(0);
+        assertThat(cache.get("MATCH (n) RETURN n")).isNotSameAs(cache.get("MATCH (n) RETURN n"));
+        assertThat(cache.size()).isEqualTo(0);
+        assertThatThrownBy(() -> new StatementTemplateCache(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
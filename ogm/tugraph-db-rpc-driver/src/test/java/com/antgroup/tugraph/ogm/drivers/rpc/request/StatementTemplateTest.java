@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.request;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+public class StatementTemplateTest {
+
+    private static final String CREATE_NODES = "UNWIND $rows as row CREATE (n:`Movie`) SET n=row.props "
+        + "RETURN row.nodeRef as ref, ID(n) as id, $type as type";
+    private static final String CREATE_RELATIONSHIPS = "UNWIND $rows as row MATCH (startNode) WHERE ID(startNode) = "
+        + "row.startNodeId WITH row,startNode MATCH (endNode) WHERE ID(endNode) = row.endNodeId "
+        + "CREATE (startNode)-[rel:`ACTS_IN`]->(endNode) SET rel += row.props "
+        + "RETURN row.relRef as ref, ID(rel) as id, $type as type";
+    private static final String MERGE_RELATIONSHIPS = "UNWIND $rows as row MATCH (startNode) WHERE ID(startNode) = "
+        + "row.startNodeId WITH row,startNode MATCH (endNode) WHERE ID(endNode) = row.endNodeId "
+        + "MERGE (startNode)-[rel:`PLAYED` {`name`: row.props.`name`}]->(endNode) "
+        + "RETURN row.relRef as ref, ID(rel) as id, $type as type";
+
+    @Test
+    public void createOfNodes() {
+        StatementTemplate template = new StatementTemplate(CREATE_NODES);
+        assertThat(template.getKind()).isEqualTo(StatementTemplate.Kind.CREATE);
+        assertThat(template.isWrite()).isTrue();
+        assertThat(template.isRelationship()).isFalse();
+        assertThat(template.getLabel()).isEqualTo("Movie");
+        assertThat(template.getRewritten()).isEqualTo(CREATE_NODES);
+    }
+
+    @Test
+    public void createAndMergeOfRelationships() {
+        StatementTemplate create = new StatementTemplate(CREATE_RELATIONSHIPS);
+        assertThat(create.getKind()).isEqualTo(StatementTemplate.Kind.CREATE);
+        assertThat(create.isRelationship()).isTrue();
+        assertThat(create.getLabel()).isEqualTo("ACTS_IN");
+
+        StatementTemplate merge = new StatementTemplate(MERGE_RELATIONSHIPS);
+        assertThat(merge.getKind()).isEqualTo(StatementTemplate.Kind.MERGE);
+        assertThat(merge.isRelationship()).isTrue();
+        assertThat(merge.getLabel()).isEqualTo("PLAYED");
+    }
+
+    @Test
+    public void labelsWithoutBackticks() {
+        assertThat(StatementTemplate.findLabel("CREATE (n:Movie{title:\"Heat\"})")).isEqualTo("Movie");
+        assertThat(StatementTemplate.findLabel("CREATE (n:Movie )")).isEqualTo("Movie");
+        assertThat(StatementTemplate.findLabel("CREATE (n)")).isNull();
+        assertThatThrownBy(() -> new StatementTemplate("CREATE (n) RETURN n").getLabel())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void setOfNodesAndRelationships() {
+        StatementTemplate nodes = new StatementTemplate(
+            "UNWIND $rows as row MATCH (n) WHERE ID(n)=row.nodeId SET n:`Movie` SET n += row.props "
+                + "RETURN row.nodeId as ref, ID(n) as id, $type as type");
+        assertThat(nodes.getKind()).isEqualTo(StatementTemplate.Kind.SET);
+        assertThat(nodes.isRelationship()).isFalse();
+
+        StatementTemplate relationships = new StatementTemplate(
+            "UNWIND $rows AS row MATCH ()-[r]->() WHERE ID(r) = row.relId SET r += row.props "
+                + "RETURN ID(r) as ref, ID(r) as id, $type as type");
+        assertThat(relationships.getKind()).isEqualTo(StatementTemplate.Kind.SET);
+        assertThat(relationships.isRelationship()).isTrue();
+    }
+
+    @Test
+    public void deleteDropsBackticks() {
+        StatementTemplate template = new StatementTemplate(
+            "MATCH (n:`Movie`) WHERE ID(n) = $id OPTIONAL MATCH (n)-[r0]-() DELETE r0, n");
+        assertThat(template.getKind()).isEqualTo(StatementTemplate.Kind.DELETE);
+        assertThat(template.getRewritten())
+            .isEqualTo("MATCH (n: Movie ) WHERE ID(n) = $id WITH n OPTIONAL MATCH (n)-[r0]-() DELETE r0, n");
+    }
+
+    @Test
+    public void matchIsRewrittenForTuGraph() {
+        StatementTemplate template = new StatementTemplate("MATCH (n:`Movie`) WHERE ID(n) = $id "
+            + "RETURN n,[ [ (n)<-[r_a1:`ACTS_IN`]-(a1:`Actor`) | [ r_a1, a1 ] ] ], ID(n)");
+        assertThat(template.getKind()).isEqualTo(StatementTemplate.Kind.MATCH);
+        assertThat(template.isWrite()).isFalse();
+        assertThat(template.getRewritten()).isEqualTo("MATCH (n:Movie) WHERE id(n) = $id RETURN n, id(n)");
+    }
+
+    @Test
+    public void parametersAreInlinedOrReferenced() {
+        StatementTemplate template = new StatementTemplate("MATCH (n:`Movie`) WHERE n.title = { title } "
+            + "AND n.released > $released RETURN n");
+        String rewritten = template.getRewritten();
+
+        String inlined = template.inline(template.inline(rewritten, "title", "$1 \\ Heat"), "released", 1990);
+        assertThat(inlined).isEqualTo("MATCH (n:Movie) WHERE n.title = \"$1 \\ Heat\" AND n.released > 1990 RETURN n");
+
+        assertThat(template.reference(rewritten, "title"))
+            .isEqualTo("MATCH (n:Movie) WHERE n.title = $title AND n.released > $released RETURN n");
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.response;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Map;
+
+import com.antgroup.tugraph.ResultCursor;
+import com.antgroup.tugraph.ogm.model.RowModel;
+import lgraph.Lgraph;
+import org.junit.Test;
+
+public class RowModelResponseTest {
+
+    private static Lgraph.ProtoFieldData int64(long value) {
+        return Lgraph.ProtoFieldData.newBuilder().setInt64(value).build();
+    }
+
+    private static Lgraph.ProtoFieldData str(String value) {
+        return Lgraph.ProtoFieldData.newBuilder().setStr(value).build();
+    }
+
+    private static Lgraph.GraphQueryResult.Builder result(String... columns) {
+        Lgraph.GraphQueryResult.Builder builder = Lgraph.GraphQueryResult.newBuilder().setElapsed(0);
+        for (String column : columns) {
+            int type = column.equals("n") ? ResultCursor.TYPE_MAP : ResultCursor.TYPE_INTEGER;
+            builder.addHeader(Lgraph.Header.newBuilder().setName(column).setType(type));
+        }
+        return builder;
+    }
+
+    private static Lgraph.ListOfProtoFieldData row(Lgraph.ProtoFieldData... values) {
+        Lgraph.ListOfProtoFieldData.Builder builder = Lgraph.ListOfProtoFieldData.newBuilder();
+        for (Lgraph.ProtoFieldData value : values) {
+            builder.addValues(value);
+        }
+        return builder.build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void rowsAreMappedAsTheyAreRead() {
+        ResultCursor cursor = new ResultCursor(result("id", "n")
+            .addResult(row(int64(1), str("{\"name\":\"a\"}")))
+            .addResult(row(int64(2), Lgraph.ProtoFieldData.getDefaultInstance()))
+            .build());
+        RowModelResponse response = new RowModelResponse(cursor);
+
+        RowModel first = response.next();
+        assertThat(first.variables()).containsExactly("id", "n");
+        assertThat(first.getValues()[0]).isEqualTo(1L);
+        assertThat((Map<String, Object>) first.getValues()[1]).containsEntry("name", "a");
+        // the second row is still unread
+        assertThat(cursor.next()).isTrue();
+    }
+
+    @Test
+    public void nullColumnsMapToNull() {
+        RowModelResponse response = new RowModelResponse(new ResultCursor(result("id", "n")
+            .addResult(row(int64(2), Lgraph.ProtoFieldData.getDefaultInstance()))
+            .build()));
+
+        assertThat(response.next().getValues()).containsExactly(2L, null);
+        assertThat(response.next()).isNull();
+        assertThat(response.next()).isNull();
+    }
+
+    @Test
+    public void createResultMapsToOneModelPerEntity() {
+        RowModelResponse response = new RowModelResponse(new ResultCursor(result("ref0", "id0", "ref1", "id1", "type")
+            .addResult(row(int64(-1), int64(10), int64(-2), int64(11), str("node")))
+            .build()));
+
+        RowModel first = response.next();
+        RowModel second = response.next();
+        assertThat(first.variables()).containsExactly("id", "ref", "type");
+        assertThat(first.getValues()).containsExactly(10L, -1L, "node");
+        assertThat(second.getValues()).containsExactly(11L, -2L, "node");
+        assertThat(response.next()).isNull();
+    }
+
+    @Test
+    public void closeConsumesTheRest() {
+        ResultCursor cursor = new ResultCursor(result("ref0", "id0", "ref1", "id1", "type")
+            .addResult(row(int64(-1), int64(10), int64(-2), int64(11), str("node")))
+            .build());
+        RowModelResponse response = new RowModelResponse(cursor);
+
+        response.next();
+        response.close();
+        assertThat(response.next()).isNull();
+        assertThat(cursor.next()).isFalse();
+    }
+
+    @Test
+    public void responsesOfTheSameResultKeepTheirOwnPosition() {
+        Lgraph.GraphQueryResult result = result("id")
+            .addResult(row(int64(1)))
+            .addResult(row(int64(2)))
+            .build();
+        RowModelResponse a = new RowModelResponse(new ResultCursor(result));
+        RowModelResponse b = new RowModelResponse(new ResultCursor(result));
+
+        assertThat(a.next().getValues()).containsExactly(1L);
+        assertThat(a.next().getValues()).containsExactly(2L);
+        assertThat(b.next().getValues()).containsExactly(1L);
+    }
+}
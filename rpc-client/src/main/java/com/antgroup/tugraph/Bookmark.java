@@ -0,0 +1,44 @@
+package com.antgroup.tugraph;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The server version a session of requests has seen. Reads made with the bookmark in use only go to, or wait
+ * for, nodes that have caught up with it, so a session reads its own writes without waiting for everybody
+ * else's. A bookmark can be handed to another client, or another process by its version.
+ *
+ * <pre>
+ * Bookmark bookmark = new Bookmark();
+ * try (Bookmark.Scope ignored = client.useBookmark(bookmark)) {
+ *     client.callCypher("CREATE (n:Person {name: 'a'})", "default", 10);
+ *     client.callCypher("MATCH (n:Person {name: 'a'}) RETURN n", "default", 10);
+ * }
+ * </pre>
+ */
+public class Bookmark {
+    private final AtomicLong version;
+
+    public Bookmark() {
+        this(0);
+    }
+
+    public Bookmark(long version) {
+        this.version = new AtomicLong(version);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    void advance(long seen) {
+        version.accumulateAndGet(seen, Math::max);
+    }
+
+    /**
+     * Ends the use of a bookmark, closing it can't fail.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
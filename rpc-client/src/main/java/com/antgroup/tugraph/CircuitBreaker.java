@@ -0,0 +1,159 @@
+package com.antgroup.tugraph;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps reads away from a node of a HA group that fails or is much slower than the others.
+ *
+ * A closed breaker lets every request through. It opens after FAILURE_THRESHOLD failures in a row, when half of
+ * the last WINDOW requests failed, or when the node is ejected as a latency outlier. While open the node gets no
+ * reads. Once the open time is over a background probe checks the node, if it answers the breaker is half open
+ * and reads go to the node again, closing the breaker after HALF_OPEN_SUCCESSES successes. A failed probe or a
+ * failure while half open opens it again for twice as long, up to MAX_OPEN_NANOS.
+ *
+ * Only requests without an answer count as failures, an error reported by the server means the node works.
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    static final int FAILURE_THRESHOLD = 5;
+    static final int WINDOW = 20;
+    static final int HALF_OPEN_SUCCESSES = 3;
+    static final long MIN_OPEN_NANOS = TimeUnit.SECONDS.toNanos(1);
+    static final long MAX_OPEN_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private volatile State state = State.CLOSED;
+    private volatile Runnable listener;
+    // guarded by this
+    private int consecutiveFailures;
+    private int windowRequests;
+    private int windowFailures;
+    private int halfOpenSuccesses;
+    private long openNanos = MIN_OPEN_NANOS;
+    private long openUntil;
+
+    State getState() {
+        return state;
+    }
+
+    boolean allowsRequests() {
+        return state != State.OPEN;
+    }
+
+    /**
+     * @param listener run after every change of state, may be null
+     */
+    void setListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    void record(boolean success) {
+        boolean changed;
+        synchronized (this) {
+            changed = success ? onSuccess() : onFailure();
+        }
+        if (changed) {
+            notifyListener();
+        }
+    }
+
+    private boolean onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN && ++halfOpenSuccesses >= HALF_OPEN_SUCCESSES) {
+            state = State.CLOSED;
+            openNanos = MIN_OPEN_NANOS;
+            resetWindow();
+            return true;
+        }
+        countInWindow(false);
+        return false;
+    }
+
+    private boolean onFailure() {
+        if (state == State.OPEN) {
+            return false;
+        }
+        if (state == State.HALF_OPEN) {
+            open(openNanos * 2);
+            return true;
+        }
+        ++consecutiveFailures;
+        countInWindow(true);
+        if (consecutiveFailures >= FAILURE_THRESHOLD || windowFailures * 2 >= WINDOW) {
+            open(openNanos);
+            return true;
+        }
+        return false;
+    }
+
+    private void countInWindow(boolean failure) {
+        if (windowRequests >= WINDOW) {
+            resetWindow();
+        }
+        ++windowRequests;
+        if (failure) {
+            ++windowFailures;
+        }
+    }
+
+    private void resetWindow() {
+        windowRequests = 0;
+        windowFailures = 0;
+    }
+
+    /**
+     * Opens the breaker of a node that answers, but much slower than the others.
+     */
+    void eject() {
+        synchronized (this) {
+            if (state != State.CLOSED) {
+                return;
+            }
+            open(openNanos);
+        }
+        notifyListener();
+    }
+
+    boolean isProbeDue() {
+        synchronized (this) {
+            return state == State.OPEN && System.nanoTime() - openUntil >= 0;
+        }
+    }
+
+    void probeSucceeded() {
+        synchronized (this) {
+            if (state != State.OPEN) {
+                return;
+            }
+            state = State.HALF_OPEN;
+            halfOpenSuccesses = 0;
+            consecutiveFailures = 0;
+        }
+        notifyListener();
+    }
+
+    void probeFailed() {
+        synchronized (this) {
+            open(openNanos * 2);
+        }
+    }
+
+    private void open(long nanos) {
+        state = State.OPEN;
+        openNanos = Math.min(MAX_OPEN_NANOS, Math.max(MIN_OPEN_NANOS, nanos));
+        openUntil = System.nanoTime() + openNanos;
+        resetWindow();
+    }
+
+    private void notifyListener() {
+        Runnable l = listener;
+        if (l != null) {
+            l.run();
+        }
+    }
+}
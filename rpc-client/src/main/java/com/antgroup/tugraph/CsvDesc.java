@@ -55,6 +55,10 @@ public class CsvDesc implements Comparable<CsvDesc> {
         this.nHeaderLine = nHeaderLine;
     }
 
+    public boolean isVertexFile() {
+        return isVertexFile;
+    }
+
     public void setFileType(boolean isVertexFile) {
         this.isVertexFile = isVertexFile;
     }
@@ -91,11 +95,16 @@ public class CsvDesc implements Comparable<CsvDesc> {
     }
 
     public byte[] dump(boolean hasPath) throws UnsupportedEncodingException {
+        return dump(hasPath, nHeaderLine);
+    }
+
+    // Chunks after the first one of a file have no header lines, this leaves the description itself untouched.
+    public byte[] dump(boolean hasPath, int headerLine) throws UnsupportedEncodingException {
         JSONObject jsonObject = new JSONObject();
         if (hasPath) {
             jsonObject.put("path", path);
         }
-        jsonObject.put("header", nHeaderLine);
+        jsonObject.put("header", headerLine);
         jsonObject.put("format", dataFormat);
         jsonObject.put("label", label);
         JSONArray tmp = new JSONArray();
@@ -0,0 +1,95 @@
+package com.antgroup.tugraph;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a call has to be answered, retries included.
+ *
+ * Every call with a timeout runs under a deadline that far in the future, and a deadline bound to the calling
+ * thread with {@link TuGraphDbRpcClient#withDeadline(Deadline)} bounds all calls made until it is unbound. Each
+ * attempt gets the time that is left both as the timeout of the query on the server and as the time the client
+ * waits for the response, and no retry starts that couldn't finish in time.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(long duration, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(duration));
+    }
+
+    /**
+     * @return the deadline of a call with the given timeout, null if the timeout isn't positive
+     */
+    static Deadline afterSeconds(double seconds) {
+        return seconds > 0 ? new Deadline(System.nanoTime() + (long) (seconds * 1e9)) : null;
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * @return whichever of the two expires first, other may be null
+     */
+    Deadline earliest(Deadline other) {
+        return other == null || expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+
+    /**
+     * @param timeoutSeconds timeout of the query, 0 for none
+     * @return the timeout of the query limited to the time left
+     * @throws DeadlineExceededException if there is no time left
+     */
+    double limit(double timeoutSeconds) {
+        long remaining = remainingNanos();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("deadline exceeded before the request was sent");
+        }
+        double left = remaining / 1e9;
+        return timeoutSeconds > 0 ? Math.min(timeoutSeconds, left) : left;
+    }
+
+    static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the deadline to the calling thread, unless one that expires earlier is bound already.
+     *
+     * @return restores the previous binding when closed
+     */
+    static Scope bind(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline == null ? previous : deadline.earliest(previous));
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Ends the binding of a deadline, closing it can't fail.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
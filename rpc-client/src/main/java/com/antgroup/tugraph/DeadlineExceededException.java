@@ -0,0 +1,12 @@
+package com.antgroup.tugraph;
+
+/**
+ * Thrown when the deadline of a call passes before the call could be sent, or sent again.
+ */
+public class DeadlineExceededException extends RuntimeException {
+    private static final long serialVersionUID = -6049862930785233611L;
+
+    public DeadlineExceededException(String msg) {
+        super(msg);
+    }
+}
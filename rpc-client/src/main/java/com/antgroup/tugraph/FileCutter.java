@@ -1,12 +1,20 @@
 package com.antgroup.tugraph;
 
-import java.io.FileInputStream;
+import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.Arrays;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
 
-public class FileCutter {
-    private FileInputStream stream;
+/**
+ * Cuts a file into chunks of about ONLINE_IMPORT_LIMIT_SOFT bytes ending at a line break. Chunks are read only
+ * slices of a memory mapping of the file, nothing is copied onto the heap.
+ */
+public class FileCutter implements Closeable {
+    private final FileChannel channel;
     private long readBytes;
 
     static final int ONLINE_IMPORT_LIMIT_SOFT = 16 << 20;
@@ -14,47 +22,79 @@ public class FileCutter {
 
     public FileCutter(String filename) throws FileNotFoundException {
         readBytes = 0;
-        try {
-            stream = new FileInputStream(filename);
-        } catch (FileNotFoundException e) {
-            throw e;
-        }
+        channel = new RandomAccessFile(filename, "r").getChannel();
     }
 
-    public byte[] cut() throws IOException {
-        byte[] buf = new byte[ONLINE_IMPORT_LIMIT_HARD];
-        int bytes = 0;
-        try {
-            bytes = stream.read(buf, 0, ONLINE_IMPORT_LIMIT_SOFT);
-        } catch (IOException e) {
-            throw e;
-        }
-        if (bytes == -1) {
+    /**
+     * @return the next chunk, or null at the end of the file
+     */
+    public ByteBuffer cut() throws IOException {
+        long remaining = channel.size() - readBytes;
+        if (remaining <= 0) {
             return null;
         }
+        int length = (int) Math.min(remaining, ONLINE_IMPORT_LIMIT_HARD);
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, readBytes, length);
+        int bytes;
+        if (remaining <= ONLINE_IMPORT_LIMIT_SOFT) {
+            // the rest of the file, the last line may miss its line break
+            bytes = length;
+        } else {
+            bytes = lastLineEnd(region, length);
+        }
+        region.limit(bytes);
         readBytes += bytes;
-        while (buf[bytes - 1] != '\n') {
-            try {
-                stream.read(buf, bytes, 1);
-            } catch (IOException e) {
-                throw e;
+        return region.slice().asReadOnlyBuffer();
+    }
+
+    // End of the last complete line within the soft limit, or of the first one beyond it up to the hard limit.
+    private static int lastLineEnd(ByteBuffer region, int length) {
+        for (int idx = ONLINE_IMPORT_LIMIT_SOFT - 1; idx >= 0; --idx) {
+            if (region.get(idx) == '\n') {
+                return idx + 1;
             }
-            ++bytes;
-            ++readBytes;
         }
-        if (bytes >= ONLINE_IMPORT_LIMIT_HARD) {
-            throw new InputException("too long input line");
+        for (int idx = ONLINE_IMPORT_LIMIT_SOFT; idx < length; ++idx) {
+            if (region.get(idx) == '\n') {
+                return idx + 1;
+            }
         }
-        return Arrays.copyOf(buf, bytes);
+        throw new InputException("too long input line");
+    }
+
+    /**
+     * @return offset in the file of the next chunk
+     */
+    public long position() {
+        return readBytes;
+    }
+
+    /**
+     * Continues cutting at offset, which has to be the start of a line.
+     */
+    public void seek(long offset) {
+        readBytes = offset;
     }
 
-    int lineCount(byte[] buf) {
+    long crc(long offset, int length) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+        return crc.getValue();
+    }
+
+    int lineCount(ByteBuffer buf) {
         int count = 0;
-        for (int idx = 0; idx < readBytes; ++idx) {
-            if (buf[idx] == '\n') {
+        for (int idx = buf.position(); idx < buf.limit(); ++idx) {
+            if (buf.get(idx) == '\n') {
                 ++count;
             }
         }
         return count;
     }
+
+    @Override
+    public void close() throws IOException {
+        // chunks already handed out stay readable, a mapping outlives its channel
+        channel.close();
+    }
 }
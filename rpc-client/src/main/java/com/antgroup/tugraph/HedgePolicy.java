@@ -0,0 +1,104 @@
+package com.antgroup.tugraph;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when a read query of a HA client that hasn't been answered yet is sent to a second node as well.
+ * The first answer is returned, the other one dropped.
+ *
+ * The delay is the given percentile of the recent round trip times of the node the read went to, or a fixed
+ * delay while the node has no history. Every read earns a fraction of a hedge and every hedge spends a whole
+ * one, so hedging adds at most that fraction of extra reads.
+ */
+public class HedgePolicy {
+
+    private final long delayNanos;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final TokenBudget budget;
+
+    private HedgePolicy(Builder builder) {
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(builder.delayMillis);
+        this.percentile = builder.percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(builder.minDelayMillis);
+        this.budget = new TokenBudget(builder.maxBurst, builder.maxHedgeRatio);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the time to wait for an answer from the node before asking another one
+     */
+    long delayNanos(NodeStats node) {
+        long nanos = percentile > 0 ? node.getLatencyPercentile(percentile) : 0;
+        return Math.max(minDelayNanos, nanos > 0 ? nanos : delayNanos);
+    }
+
+    void onRead() {
+        budget.earn();
+    }
+
+    boolean tryHedge() {
+        return budget.trySpend();
+    }
+
+    public static class Builder {
+        private long delayMillis = 50;
+        private double percentile = 0.95;
+        private long minDelayMillis = 1;
+        private double maxHedgeRatio = 0.1;
+        private int maxBurst = 10;
+
+        private Builder() {
+        }
+
+        /**
+         * Delay used while the node has no history, or always if the percentile is 0.
+         */
+        public Builder delayMillis(long delayMillis) {
+            if (delayMillis < 0) {
+                throw new InputException("delayMillis must not be negative: " + delayMillis);
+            }
+            this.delayMillis = delayMillis;
+            return this;
+        }
+
+        /**
+         * Percentile of the node's recent round trip times to wait for, between 0 and 1, 0 for the fixed delay.
+         */
+        public Builder percentile(double percentile) {
+            if (percentile < 0 || percentile > 1) {
+                throw new InputException("percentile must be between 0 and 1: " + percentile);
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        public Builder minDelayMillis(long minDelayMillis) {
+            if (minDelayMillis < 0) {
+                throw new InputException("minDelayMillis must not be negative: " + minDelayMillis);
+            }
+            this.minDelayMillis = minDelayMillis;
+            return this;
+        }
+
+        /**
+         * @param maxHedgeRatio extra reads allowed per read in the long run, e.g. 0.1 for 10%
+         * @param maxBurst      hedges that may be sent in a row when the budget is full
+         */
+        public Builder budget(double maxHedgeRatio, int maxBurst) {
+            if (maxHedgeRatio < 0 || maxBurst < 0) {
+                throw new InputException("Illegal hedge budget: " + maxHedgeRatio + ", " + maxBurst);
+            }
+            this.maxHedgeRatio = maxHedgeRatio;
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        public HedgePolicy build() {
+            return new HedgePolicy(this);
+        }
+    }
+}
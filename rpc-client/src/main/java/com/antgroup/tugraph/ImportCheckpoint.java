@@ -0,0 +1,157 @@
+package com.antgroup.tugraph;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Journal of the chunks of an import the server has acknowledged. Every acknowledged chunk is recorded as
+ * one line "offset length crc path", so after a failure the import can continue right after the chunks that
+ * made it, file by file. Files are recorded by their canonical path, so a resumed import finds them however
+ * it names them.
+ *
+ * Acknowledging only records the chunk in memory, the threads calling sync() write and force the lines of
+ * many chunks at once, so the threads receiving the answers never wait for the disk. A chunk acknowledged
+ * right before the process died may not have made it to the journal and is sent again, as it could always be
+ * when the process died between the answer and the write.
+ *
+ * Chunk boundaries only depend on where cutting started, so resuming at a recorded offset cuts the same chunks
+ * again and every recorded chunk can be skipped without reading it.
+ */
+@Slf4j
+class ImportCheckpoint implements Closeable {
+
+    static class Entry {
+        final long offset;
+        final int length;
+        final long crc;
+
+        Entry(long offset, int length, long crc) {
+            this.offset = offset;
+            this.length = length;
+            this.crc = crc;
+        }
+    }
+
+    private final File journal;
+    // path -> offset -> acknowledged chunk
+    private final Map<String, Map<Long, Entry>> acknowledged = new HashMap<>();
+    private final FileOutputStream out;
+    // lines of chunks acknowledged since the last sync, guarded by this
+    private final StringBuilder pending = new StringBuilder();
+    // serializes writing to out, held while forcing the journal to disk
+    private final Object syncLock = new Object();
+
+    ImportCheckpoint(String journalFile) throws IOException {
+        this.journal = new File(journalFile);
+        if (journal.exists()) {
+            load();
+        }
+        this.out = new FileOutputStream(journal, true);
+    }
+
+    private void load() throws IOException {
+        byte[] content = Files.readAllBytes(journal.toPath());
+        int end = content.length;
+        while (end > 0 && content[end - 1] != '\n') {
+            --end;
+        }
+        if (end < content.length) {
+            // the process died while writing the last line, cut it off so the next line doesn't continue it
+            log.warn("dropping incomplete checkpoint line: {}",
+                    new String(content, end, content.length - end, StandardCharsets.UTF_8));
+            try (FileChannel channel = FileChannel.open(journal.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(end);
+            }
+        }
+        for (String line : new String(content, 0, end, StandardCharsets.UTF_8).split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] parts = line.split(" ", 4);
+            Entry entry = new Entry(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2], 16));
+            acknowledged.computeIfAbsent(parts[3], k -> new HashMap<>()).put(entry.offset, entry);
+        }
+    }
+
+    /**
+     * @return the offset of the first chunk at or after offset that hasn't been acknowledged
+     */
+    synchronized long nextUnacknowledged(String path, long offset) {
+        Map<Long, Entry> entries = acknowledged.get(path);
+        if (entries == null) {
+            return offset;
+        }
+        Entry entry;
+        while ((entry = entries.get(offset)) != null) {
+            offset += entry.length;
+        }
+        return offset;
+    }
+
+    /**
+     * @return the acknowledged chunk ending at offset, if any
+     */
+    synchronized Entry acknowledgedBefore(String path, long offset) {
+        Map<Long, Entry> entries = acknowledged.get(path);
+        if (entries == null) {
+            return null;
+        }
+        for (Entry entry : entries.values()) {
+            if (entry.offset + entry.length == offset) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    synchronized void acknowledge(String path, long offset, int length, long crc) {
+        pending.append(offset).append(' ').append(length).append(' ').append(Long.toHexString(crc)).append(' ')
+                .append(path).append('\n');
+        acknowledged.computeIfAbsent(path, k -> new HashMap<>()).put(offset, new Entry(offset, length, crc));
+    }
+
+    /**
+     * Writes the chunks acknowledged since the last call to the journal and forces it to disk.
+     */
+    void sync() throws IOException {
+        synchronized (syncLock) {
+            String lines;
+            synchronized (this) {
+                if (pending.length() == 0) {
+                    return;
+                }
+                lines = pending.toString();
+                pending.setLength(0);
+            }
+            out.write(lines.getBytes(StandardCharsets.UTF_8));
+            out.getChannel().force(false);
+        }
+    }
+
+    /**
+     * Removes the journal once the whole import went through.
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(journal.toPath());
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            out.close();
+        }
+    }
+}
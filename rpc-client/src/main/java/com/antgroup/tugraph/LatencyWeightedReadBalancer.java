@@ -0,0 +1,71 @@
+package com.antgroup.tugraph;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scores each node by its average latency times its requests in flight plus one, and picks the lowest score.
+ * Nodes without a latency, because they haven't answered yet or were just probed back, are scored with the median
+ * latency of the others, so they get their share of reads instead of all of them.
+ */
+class LatencyWeightedReadBalancer implements ReadBalancer {
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public <N extends Node> N select(List<N> nodes) {
+        int size = nodes.size();
+        if (size == 0) {
+            return null;
+        }
+        double fallback = medianLatency(nodes);
+        if (fallback == 0) {
+            // no node answered yet, the requests in flight alone decide
+            fallback = 1;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        N best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            N node = nodes.get((start + i) % size);
+            double latency = node.getLatencyEwma();
+            double score = (latency > 0 ? latency : fallback) * (node.getInFlight() + 1);
+            if (score < bestScore) {
+                best = node;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    // Lower median of the latencies known, 0 if there is none. Quadratic but without allocating, groups are small.
+    private static double medianLatency(List<? extends Node> nodes) {
+        int size = nodes.size();
+        int known = 0;
+        for (int i = 0; i < size; i++) {
+            if (nodes.get(i).getLatencyEwma() > 0) {
+                known++;
+            }
+        }
+        int rank = (known - 1) / 2;
+        for (int i = 0; i < size; i++) {
+            double latency = nodes.get(i).getLatencyEwma();
+            if (latency <= 0) {
+                continue;
+            }
+            int below = 0;
+            int equal = 0;
+            for (int j = 0; j < size; j++) {
+                double other = nodes.get(j).getLatencyEwma();
+                if (other > 0 && other < latency) {
+                    below++;
+                } else if (other == latency) {
+                    equal++;
+                }
+            }
+            if (below <= rank && rank < below + equal) {
+                return latency;
+            }
+        }
+        return 0;
+    }
+}
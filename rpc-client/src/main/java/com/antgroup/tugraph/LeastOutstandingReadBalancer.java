@@ -0,0 +1,29 @@
+package com.antgroup.tugraph;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LeastOutstandingReadBalancer implements ReadBalancer {
+    // the scan starts at a different node each time, so ties are spread evenly
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public <N extends Node> N select(List<N> nodes) {
+        int size = nodes.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        N best = null;
+        int bestInFlight = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            N node = nodes.get((start + i) % size);
+            int inFlight = node.getInFlight();
+            if (inFlight < bestInFlight) {
+                best = node;
+                bestInFlight = inFlight;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,112 @@
+package com.antgroup.tugraph;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Requests in flight, recent round trip times and circuit breaker of one node.
+ */
+class NodeStats implements ReadBalancer.Node {
+    // weight of the newest sample
+    private static final double ALPHA = 0.2;
+    // the percentile is computed over the latest samples, at most once per interval
+    private static final int SAMPLES = 128;
+    private static final long PERCENTILE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // updated without a lock, a lost sample only delays the average a little
+    private volatile double latencyEwma;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+    // write cursor, wraps around after 2^31 requests, which floorMod keeps continuous
+    private final AtomicInteger sampleCount = new AtomicInteger();
+    // set once every slot holds a sample, the cursor can't tell after it wrapped
+    private volatile boolean samplesFilled;
+    private volatile Percentile percentile = new Percentile(0, 0, 0);
+    private final CircuitBreaker breaker = new CircuitBreaker();
+
+    private static class Percentile {
+        final double quantile;
+        final long nanos;
+        final long computedAt;
+
+        Percentile(double quantile, long nanos, long computedAt) {
+            this.quantile = quantile;
+            this.nanos = nanos;
+            this.computedAt = computedAt;
+        }
+    }
+
+    /**
+     * @return start time to pass to finish
+     */
+    long start() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * @param answered false if the request failed without an answer from the node, its round trip time is
+     *                 ignored then, a node failing fast must not look like a fast node
+     */
+    void finish(long startNanos, boolean answered) {
+        breaker.record(answered);
+        inFlight.decrementAndGet();
+        if (!answered) {
+            return;
+        }
+        long sample = System.nanoTime() - startNanos;
+        double current = latencyEwma;
+        latencyEwma = current == 0 ? sample : current + ALPHA * (sample - current);
+        int index = sampleCount.getAndIncrement();
+        samples.set(Math.floorMod(index, SAMPLES), sample);
+        if (!samplesFilled && (index >= SAMPLES - 1 || index < 0)) {
+            samplesFilled = true;
+        }
+    }
+
+    // Starts the average over, after the node came back from an outage.
+    void resetLatency() {
+        latencyEwma = 0;
+    }
+
+    CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public double getLatencyEwma() {
+        return latencyEwma;
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.95
+     * @return the round trip time below which the given share of recent requests finished, 0 without samples
+     */
+    long getLatencyPercentile(double quantile) {
+        Percentile cached = percentile;
+        long now = System.nanoTime();
+        if (cached.quantile == quantile && now - cached.computedAt < PERCENTILE_INTERVAL_NANOS) {
+            return cached.nanos;
+        }
+        int count = samplesFilled ? SAMPLES : Math.min(sampleCount.get(), SAMPLES);
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        long nanos = sorted[Math.max(0, Math.min(count - 1, (int) Math.ceil(quantile * count) - 1))];
+        percentile = new Percentile(quantile, nanos, now);
+        return nanos;
+    }
+}
@@ -0,0 +1,285 @@
+package com.antgroup.tugraph;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Imports the files of an import configuration in three overlapping stages: a reader thread cutting the files
+ * into chunks, encoder workers turning chunks into requests, and at most maxInFlight requests waiting for the
+ * server. Reader and encoders are connected by a bounded queue, so at most
+ * (queue capacity + encoders + maxInFlight) chunks are held in memory.
+ *
+ * Chunks of one file don't depend on each other, only the first one carries the header lines. Edges however
+ * need their vertexes, so all chunks of vertex files are acknowledged before the first edge chunk is sent.
+ */
+@Slf4j
+class PipelinedImporter<R> {
+
+    interface Encoder<R> {
+        R encode(Chunk chunk) throws Exception;
+    }
+
+    interface Uploader<R> {
+        CompletableFuture<?> upload(R request);
+    }
+
+    static class Chunk {
+        final CsvDesc file;
+        // the file's entry in the checkpoint journal
+        final String journalKey;
+        final int sequence;
+        final long offset;
+        final ByteBuffer data;
+
+        Chunk(CsvDesc file, String journalKey, int sequence, long offset, ByteBuffer data) {
+            this.file = file;
+            this.journalKey = journalKey;
+            this.sequence = sequence;
+            this.offset = offset;
+            this.data = data;
+        }
+
+        // only the chunk at the start of the file carries the header lines
+        boolean isFirst() {
+            return offset == 0;
+        }
+    }
+
+    private static final Chunk END = new Chunk(null, null, -1, -1, null);
+    private static final AtomicInteger POOL_ID = new AtomicInteger();
+
+    private final Encoder<R> encoder;
+    private final Uploader<R> uploader;
+    private final int maxInFlight;
+    private final int encoderThreads;
+    private final ImportCheckpoint checkpoint;
+
+    PipelinedImporter(Encoder<R> encoder, Uploader<R> uploader, int maxInFlight) {
+        this(encoder, uploader, maxInFlight, null);
+    }
+
+    /**
+     * @param checkpoint journal of acknowledged chunks, chunks found in it are skipped and new ones recorded.
+     *                   May be null.
+     */
+    PipelinedImporter(Encoder<R> encoder, Uploader<R> uploader, int maxInFlight, ImportCheckpoint checkpoint) {
+        if (maxInFlight < 1) {
+            throw new InputException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.encoder = encoder;
+        this.uploader = uploader;
+        this.maxInFlight = maxInFlight;
+        this.encoderThreads = Math.max(1, Math.min(maxInFlight, Runtime.getRuntime().availableProcessors()));
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * @param files        files sorted vertex files first, as done by Collections.sort
+     * @param skipPackages number of chunks to skip, counted across all files
+     */
+    void run(List<CsvDesc> files, int skipPackages) throws IOException {
+        List<CsvDesc> vertexFiles = new ArrayList<>();
+        List<CsvDesc> edgeFiles = new ArrayList<>();
+        for (CsvDesc file : files) {
+            (file.isVertexFile() ? vertexFiles : edgeFiles).add(file);
+        }
+        int pool = POOL_ID.incrementAndGet();
+        ExecutorService executor = Executors.newFixedThreadPool(encoderThreads + 1, r -> {
+            Thread t = new Thread(r, "tugraph-import-" + pool);
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            int skipped = runPhase(executor, vertexFiles, skipPackages);
+            runPhase(executor, edgeFiles, skipPackages - skipped);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Imports the files and returns once every chunk sent has been acknowledged.
+    private int runPhase(ExecutorService executor, List<CsvDesc> files, int skipPackages) throws IOException {
+        if (files.isEmpty()) {
+            return 0;
+        }
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(maxInFlight);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Future<Integer> reader = executor.submit(() -> read(files, skipPackages, queue, failure));
+        List<Future<?>> encoders = new ArrayList<>(encoderThreads);
+        for (int i = 0; i < encoderThreads; i++) {
+            encoders.add(executor.submit(() -> {
+                encodeAndUpload(queue, inFlight, failure);
+                return null;
+            }));
+        }
+        int skipped = 0;
+        try {
+            skipped = reader.get();
+            for (Future<?> f : encoders) {
+                f.get();
+            }
+            // wait for the requests still on their way
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, e.getCause());
+        }
+        // keep what was acknowledged, also when the phase failed
+        sync(failure);
+        rethrow(failure.get());
+        return skipped;
+    }
+
+    private int read(List<CsvDesc> files, int skipPackages, BlockingQueue<Chunk> queue,
+                     AtomicReference<Throwable> failure) throws InterruptedException {
+        int skipped = 0;
+        try {
+            for (CsvDesc file : files) {
+                // the same file may be named by another relative path or link when the import is resumed
+                String journalKey = new File(file.getPath()).getCanonicalPath();
+                try (FileCutter cutter = new FileCutter(file.getPath())) {
+                    int sequence = 0;
+                    for (ByteBuffer buf = cut(cutter, file, journalKey); buf != null && failure.get() == null;
+                         buf = cut(cutter, file, journalKey), ++sequence) {
+                        long offset = cutter.position() - buf.remaining();
+                        if (skipped < skipPackages) {
+                            ++skipped;
+                            continue;
+                        }
+                        if (offset == 0 && cutter.lineCount(buf) < file.getHeaderLine()) {
+                            throw new InputException("HEADER too large");
+                        }
+                        queue.put(new Chunk(file, journalKey, sequence, offset, buf));
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            for (int i = 0; i < encoderThreads; i++) {
+                queue.put(END);
+            }
+        }
+        return skipped;
+    }
+
+    // Cuts the next chunk, jumping over the ones the checkpoint has seen acknowledged.
+    private ByteBuffer cut(FileCutter cutter, CsvDesc file, String journalKey) throws IOException {
+        if (checkpoint != null) {
+            long position = cutter.position();
+            long next = checkpoint.nextUnacknowledged(journalKey, position);
+            if (next != position) {
+                // make sure the file is still the one the journal was written for
+                ImportCheckpoint.Entry last = checkpoint.acknowledgedBefore(journalKey, next);
+                if (cutter.crc(last.offset, last.length) != last.crc) {
+                    throw new InputException("File changed since the checkpoint was written: " + file.getPath());
+                }
+                log.info("resuming {} at offset {}", file.getPath(), next);
+                cutter.seek(next);
+            }
+        }
+        return cutter.cut();
+    }
+
+    private void encodeAndUpload(BlockingQueue<Chunk> queue, Semaphore inFlight,
+                                 AtomicReference<Throwable> failure) throws InterruptedException {
+        for (Chunk chunk = queue.take(); chunk != END; chunk = queue.take()) {
+            if (failure.get() != null) {
+                // keep draining so the reader never blocks on a full queue
+                continue;
+            }
+            // journal the chunks acknowledged meanwhile here, the brpc callback threads only record them
+            if (!sync(failure)) {
+                continue;
+            }
+            R request;
+            try {
+                request = encoder.encode(chunk);
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+                continue;
+            }
+            long crc = 0;
+            if (checkpoint != null) {
+                CRC32 crc32 = new CRC32();
+                crc32.update(chunk.data.duplicate());
+                crc = crc32.getValue();
+            }
+            inFlight.acquire();
+            String path = chunk.file.getPath();
+            String journalKey = chunk.journalKey;
+            int sequence = chunk.sequence;
+            long offset = chunk.offset;
+            int length = chunk.data.remaining();
+            long checksum = crc;
+            CompletableFuture<?> upload;
+            try {
+                upload = uploader.upload(request);
+            } catch (Throwable e) {
+                inFlight.release();
+                failure.compareAndSet(null, e);
+                continue;
+            }
+            upload.whenComplete((r, e) -> {
+                if (e != null) {
+                    log.warn("import of chunk {} of {} failed", sequence, path);
+                    failure.compareAndSet(null, e instanceof CompletionException ? e.getCause() : e);
+                } else if (checkpoint != null) {
+                    checkpoint.acknowledge(journalKey, offset, length, checksum);
+                }
+                inFlight.release();
+            });
+        }
+    }
+
+    private boolean sync(AtomicReference<Throwable> failure) {
+        if (checkpoint == null) {
+            return true;
+        }
+        try {
+            checkpoint.sync();
+            return true;
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+            return false;
+        }
+    }
+
+    private static void rethrow(Throwable e) throws IOException {
+        if (e == null) {
+            return;
+        }
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new IOException(e);
+    }
+}
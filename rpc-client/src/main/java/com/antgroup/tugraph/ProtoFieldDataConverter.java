@@ -0,0 +1,82 @@
+package com.antgroup.tugraph;
+
+import com.google.protobuf.ByteString;
+import lgraph.Lgraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts java values into the typed ProtoFieldData used by GraphQueryRequest parameters.
+ */
+public class ProtoFieldDataConverter {
+
+    private ProtoFieldDataConverter() {
+    }
+
+    public static boolean isSupported(Object value) {
+        return value == null
+                || value instanceof Boolean
+                || value instanceof Byte
+                || value instanceof Short
+                || value instanceof Integer
+                || value instanceof Long
+                || value instanceof Float
+                || value instanceof Double
+                || value instanceof String
+                || value instanceof Character
+                || value instanceof byte[];
+    }
+
+    public static boolean isSupported(Map<String, ?> params) {
+        for (Object value : params.values()) {
+            if (!isSupported(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static Lgraph.ProtoFieldData toProtoFieldData(Object value) {
+        Lgraph.ProtoFieldData.Builder builder = Lgraph.ProtoFieldData.newBuilder();
+        if (value == null) {
+            // no data case set means NUL on the server side
+            return builder.build();
+        } else if (value instanceof Boolean) {
+            builder.setBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            builder.setInt8((Byte) value);
+        } else if (value instanceof Short) {
+            builder.setInt16((Short) value);
+        } else if (value instanceof Integer) {
+            builder.setInt32((Integer) value);
+        } else if (value instanceof Long) {
+            builder.setInt64((Long) value);
+        } else if (value instanceof Float) {
+            builder.setSp((Float) value);
+        } else if (value instanceof Double) {
+            builder.setDp((Double) value);
+        } else if (value instanceof String || value instanceof Character) {
+            builder.setStr(value.toString());
+        } else if (value instanceof byte[]) {
+            builder.setBlob(ByteString.copyFrom((byte[]) value));
+        } else {
+            throw new InputException("Unsupported parameter type: " + value.getClass().getName());
+        }
+        return builder.build();
+    }
+
+    public static Lgraph.ListOfProtoFieldData toListOfProtoFieldData(List<?> values) {
+        List<Lgraph.ProtoFieldData> list = new ArrayList<>(values.size());
+        for (Object value : values) {
+            list.add(toProtoFieldData(value));
+        }
+        return Lgraph.ListOfProtoFieldData.newBuilder().addAllValues(list).build();
+    }
+
+    // Cypher parameters are referenced as $name in the query and keyed the same way on the server.
+    public static String toParamName(String name) {
+        return name.startsWith("$") ? name : "$" + name;
+    }
+}
@@ -0,0 +1,243 @@
+package com.antgroup.tugraph;
+
+import com.antgroup.tugraph.model.BuiltInProcedure;
+import com.antgroup.tugraph.model.UserDefinedProcedure;
+import lgraph.Lgraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells read queries, which may go to any node of a HA group, from writes, which have to go to the leader.
+ *
+ * The query is split into tokens, skipping string literals, quoted names, comments and parameters, and only
+ * words used as clauses count: "n.set", "{set: 1}", ":Create" or 'set ' don't make a query a write. A called
+ * procedure makes the query a write unless it is known to be read only. What a query text contains is cached,
+ * procedures are looked up on every call as they can be reloaded.
+ */
+class QueryClassifier {
+
+    static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private static final Set<String> CYPHER_WRITE_CLAUSES =
+            new HashSet<>(Arrays.asList("CREATE", "SET", "DELETE", "REMOVE", "MERGE"));
+    private static final Set<String> GQL_WRITE_CLAUSES =
+            new HashSet<>(Arrays.asList("CREATE", "INSERT", "DROP", "SET", "REMOVE", "DELETE"));
+    private static final String PLUGIN_PREFIX = "plugin.";
+
+    // What the tokenizer found in a query text.
+    static class Shape {
+        final boolean writeClause;
+        final List<String> procedures;
+
+        Shape(boolean writeClause, List<String> procedures) {
+            this.writeClause = writeClause;
+            this.procedures = procedures;
+        }
+    }
+
+    private final int cacheSize;
+    private final Map<String, Shape> cypherShapes = new ConcurrentHashMap<>();
+    private final Map<String, Shape> gqlShapes = new ConcurrentHashMap<>();
+
+    // replaced as a whole when procedures are reloaded
+    private volatile Map<String, Boolean> builtInProcedures = Collections.emptyMap();
+    // graph -> plugin name -> read only
+    private volatile Map<String, Map<String, Boolean>> userDefinedProcedures = Collections.emptyMap();
+
+    QueryClassifier() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    QueryClassifier(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    void setBuiltInProcedures(List<BuiltInProcedure> procedures) {
+        Map<String, Boolean> byName = new HashMap<>();
+        for (BuiltInProcedure p : procedures) {
+            byName.put(p.getName(), p.isReadOnly());
+        }
+        builtInProcedures = byName;
+    }
+
+    void setUserDefinedProcedures(List<UserDefinedProcedure> procedures) {
+        Map<String, Map<String, Boolean>> byGraph = new HashMap<>();
+        for (UserDefinedProcedure p : procedures) {
+            if (p.getDesc() != null) {
+                byGraph.computeIfAbsent(p.getGraphName(), k -> new HashMap<>())
+                        .put(p.getDesc().getName(), p.getDesc().isReadOnly());
+            }
+        }
+        userDefinedProcedures = byGraph;
+    }
+
+    boolean isReadQuery(Lgraph.ProtoGraphQueryType type, String query, String graph) {
+        Shape shape = shape(type, query);
+        if (shape.writeClause) {
+            return false;
+        }
+        for (String procedure : shape.procedures) {
+            if (!isReadOnlyProcedure(procedure, graph)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param procedure name of a built-in procedure, or of a plugin as its bare name or plugin.{cpp|python}.name
+     */
+    boolean isReadOnlyProcedure(String procedure, String graph) {
+        Boolean readOnly = builtInProcedures.get(procedure);
+        if (readOnly != null) {
+            return readOnly;
+        }
+        String name = procedure;
+        if (procedure.startsWith(PLUGIN_PREFIX)) {
+            name = procedure.substring(procedure.lastIndexOf('.') + 1);
+        }
+        Map<String, Boolean> plugins = userDefinedProcedures.get(graph);
+        readOnly = plugins == null ? null : plugins.get(name);
+        // unknown procedures go to the leader, it can run anything
+        return readOnly != null && readOnly;
+    }
+
+    private Shape shape(Lgraph.ProtoGraphQueryType type, String query) {
+        boolean gql = type == Lgraph.ProtoGraphQueryType.GQL;
+        Map<String, Shape> shapes = gql ? gqlShapes : cypherShapes;
+        Shape shape = shapes.get(query);
+        if (shape == null) {
+            shape = tokenize(query, gql ? GQL_WRITE_CLAUSES : CYPHER_WRITE_CLAUSES);
+            if (cacheSize > 0) {
+                shapes.put(query, shape);
+                // no recency bookkeeping on the read path, arbitrary entries make room. Concurrent misses may
+                // overshoot the bound between their put and their trim, but each of them trims back down to it.
+                Iterator<String> it = shapes.keySet().iterator();
+                while (shapes.size() > cacheSize && it.hasNext()) {
+                    it.next();
+                    it.remove();
+                }
+            }
+        }
+        return shape;
+    }
+
+    static Shape tokenize(String query, Set<String> writeClauses) {
+        boolean writeClause = false;
+        List<String> procedures = Collections.emptyList();
+        int length = query.length();
+        // the significant character before the current word, '.' and ':' make it a property, key or label
+        char previous = ' ';
+        boolean afterCall = false;
+        int i = 0;
+        while (i < length) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                ++i;
+                continue;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(query, i, c);
+                previous = c;
+                afterCall = false;
+                continue;
+            }
+            if (c == '/' && i + 1 < length && query.charAt(i + 1) == '/') {
+                int end = query.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+                continue;
+            }
+            if (c == '/' && i + 1 < length && query.charAt(i + 1) == '*') {
+                int end = query.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                continue;
+            }
+            if (Character.isJavaIdentifierStart(c) && c != '$') {
+                int start = i;
+                while (i < length && (Character.isJavaIdentifierPart(query.charAt(i)) && query.charAt(i) != '$')) {
+                    ++i;
+                }
+                if (afterCall) {
+                    // the procedure name runs up to the opening parenthesis or the end of the call
+                    while (i < length && (query.charAt(i) == '.' || Character.isJavaIdentifierPart(query.charAt(i)))) {
+                        ++i;
+                    }
+                    if (procedures.isEmpty()) {
+                        procedures = new ArrayList<>(1);
+                    }
+                    procedures.add(query.substring(start, i));
+                    afterCall = false;
+                    previous = 'a';
+                    continue;
+                }
+                if (previous != '.' && previous != ':' && previous != '$' && !isKey(query, i)) {
+                    String word = query.substring(start, i).toUpperCase();
+                    if (writeClauses.contains(word)) {
+                        writeClause = true;
+                    } else if ("CALL".equals(word)) {
+                        afterCall = true;
+                        previous = 'a';
+                        continue;
+                    }
+                }
+                previous = 'a';
+                continue;
+            }
+            if (c == '$') {
+                // a parameter, its name is not a keyword
+                ++i;
+                while (i < length && Character.isJavaIdentifierPart(query.charAt(i))) {
+                    ++i;
+                }
+                previous = 'a';
+                afterCall = false;
+                continue;
+            }
+            previous = c;
+            afterCall = false;
+            ++i;
+        }
+        return new Shape(writeClause, procedures);
+    }
+
+    // A word followed by ':' is a map key, labels and relationship types start with ':' and were checked before.
+    private static boolean isKey(String query, int end) {
+        for (int i = end; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == ':';
+            }
+        }
+        return false;
+    }
+
+    private static int skipQuoted(String query, int start, char quote) {
+        int i = start + 1;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i += 2;
+                continue;
+            }
+            ++i;
+            if (c == quote) {
+                if (quote == '`' && i < query.length() && query.charAt(i) == '`') {
+                    // `` escapes a backtick inside a quoted name
+                    ++i;
+                    continue;
+                }
+                return i;
+            }
+        }
+        return i;
+    }
+}
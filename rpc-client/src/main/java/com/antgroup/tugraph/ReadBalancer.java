@@ -0,0 +1,52 @@
+package com.antgroup.tugraph;
+
+import java.util.List;
+
+/**
+ * Picks the node a read query of a HA client is sent to. Implementations are called concurrently for every read,
+ * they must be thread safe and shouldn't allocate.
+ */
+public interface ReadBalancer {
+
+    /**
+     * Load of a node as seen by this client.
+     */
+    interface Node {
+        /**
+         * @return requests sent to the node and not answered yet
+         */
+        int getInFlight();
+
+        /**
+         * @return moving average of the round trip time in nanoseconds, 0 before the first answer
+         */
+        double getLatencyEwma();
+    }
+
+    /**
+     * @param nodes the nodes to choose from, never modified
+     * @return one of nodes, or null if nodes is empty
+     */
+    <N extends Node> N select(List<N> nodes);
+
+    /**
+     * Sends reads to each node in turn.
+     */
+    static ReadBalancer roundRobin() {
+        return new RoundRobinReadBalancer();
+    }
+
+    /**
+     * Sends reads to the node with the fewest requests in flight.
+     */
+    static ReadBalancer leastOutstanding() {
+        return new LeastOutstandingReadBalancer();
+    }
+
+    /**
+     * Sends reads to the node with the lowest recent latency, weighted by its requests in flight.
+     */
+    static ReadBalancer latencyWeighted() {
+        return new LatencyWeightedReadBalancer();
+    }
+}
@@ -0,0 +1,208 @@
+package com.antgroup.tugraph;
+
+import lgraph.Lgraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Row-at-a-time, typed access to the binary result of a graph query. Values are read straight from the
+ * protobuf message, no JSON text is built for the result.
+ *
+ * <pre>
+ * ResultCursor cursor = client.callCypherForCursor("MATCH (n) RETURN id(n), n.name", "default", 10);
+ * while (cursor.next()) {
+ *     long id = cursor.getLong(0);
+ *     String name = cursor.getString(1);
+ * }
+ * </pre>
+ */
+public class ResultCursor {
+
+    // Column types reported in the result header. Graph structures and collections are sent as JSON text.
+    public static final int TYPE_NUL = 0x0;
+    public static final int TYPE_INTEGER = 0x11;
+    public static final int TYPE_FLOAT = 0x12;
+    public static final int TYPE_DOUBLE = 0x13;
+    public static final int TYPE_BOOLEAN = 0x14;
+    public static final int TYPE_STRING = 0x15;
+    public static final int TYPE_NODE = 0x21;
+    public static final int TYPE_RELATIONSHIP = 0x22;
+    public static final int TYPE_PATH = 0x23;
+    public static final int TYPE_LIST = 0x24;
+    public static final int TYPE_MAP = 0x25;
+
+    private final List<Lgraph.Header> header;
+    private final List<Lgraph.ListOfProtoFieldData> rows;
+    private final double elapsed;
+    private int position = -1;
+    private Lgraph.ListOfProtoFieldData current;
+
+    public ResultCursor(Lgraph.GraphQueryResult result) {
+        this.header = result.getHeaderList();
+        this.rows = result.getResultList();
+        this.elapsed = result.getElapsed();
+    }
+
+    /**
+     * Moves to the next row.
+     *
+     * @return false once all rows have been read
+     */
+    public boolean next() {
+        if (position + 1 >= rows.size()) {
+            current = null;
+            position = rows.size();
+            return false;
+        }
+        current = rows.get(++position);
+        return true;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public double getElapsed() {
+        return elapsed;
+    }
+
+    public int getColumnCount() {
+        return header.size();
+    }
+
+    public String getColumnName(int column) {
+        return header.get(column).getName();
+    }
+
+    public int getColumnType(int column) {
+        return header.get(column).getType();
+    }
+
+    public List<String> getColumnNames() {
+        List<String> names = new ArrayList<>(header.size());
+        for (Lgraph.Header h : header) {
+            names.add(h.getName());
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * @return True if the column holds a node, relationship, path, list or map encoded as JSON text.
+     */
+    public boolean isStructured(int column) {
+        int type = getColumnType(column);
+        return type == TYPE_NODE || type == TYPE_RELATIONSHIP || type == TYPE_PATH
+                || type == TYPE_LIST || type == TYPE_MAP;
+    }
+
+    public boolean isNull(int column) {
+        return field(column).getDataCase() == Lgraph.ProtoFieldData.DataCase.DATA_NOT_SET;
+    }
+
+    public boolean getBoolean(int column) {
+        return field(column).getBoolean();
+    }
+
+    public int getInt(int column) {
+        Lgraph.ProtoFieldData data = field(column);
+        switch (data.getDataCase()) {
+            case INT8_:
+                return data.getInt8();
+            case INT16_:
+                return data.getInt16();
+            case INT32_:
+                return data.getInt32();
+            case DATE:
+                return data.getDate();
+            default:
+                return Math.toIntExact(getLong(column));
+        }
+    }
+
+    public long getLong(int column) {
+        Lgraph.ProtoFieldData data = field(column);
+        switch (data.getDataCase()) {
+            case INT8_:
+                return data.getInt8();
+            case INT16_:
+                return data.getInt16();
+            case INT32_:
+                return data.getInt32();
+            case INT64_:
+                return data.getInt64();
+            case DATE:
+                return data.getDate();
+            case DATETIME:
+                return data.getDatetime();
+            default:
+                throw new ClassCastException("Column " + column + " of type " + data.getDataCase() + " is not an integer");
+        }
+    }
+
+    public double getDouble(int column) {
+        Lgraph.ProtoFieldData data = field(column);
+        switch (data.getDataCase()) {
+            case SP:
+                return data.getSp();
+            case DP:
+                return data.getDp();
+            default:
+                return getLong(column);
+        }
+    }
+
+    public String getString(int column) {
+        Lgraph.ProtoFieldData data = field(column);
+        if (data.getDataCase() == Lgraph.ProtoFieldData.DataCase.STR) {
+            return data.getStr();
+        }
+        Object value = toJavaObject(data);
+        return value == null ? null : value.toString();
+    }
+
+    public byte[] getBytes(int column) {
+        return field(column).getBlob().toByteArray();
+    }
+
+    public Object getObject(int column) {
+        return toJavaObject(field(column));
+    }
+
+    private Lgraph.ProtoFieldData field(int column) {
+        if (current == null) {
+            throw new IllegalStateException("Cursor is not positioned on a row, call next() first");
+        }
+        return current.getValues(column);
+    }
+
+    public static Object toJavaObject(Lgraph.ProtoFieldData fieldData) {
+        switch (fieldData.getDataCase()) {
+            case BOOLEAN:
+                return fieldData.getBoolean();
+            case INT8_:
+                return fieldData.getInt8();
+            case INT16_:
+                return fieldData.getInt16();
+            case INT32_:
+                return fieldData.getInt32();
+            case INT64_:
+                return fieldData.getInt64();
+            case SP:
+                return fieldData.getSp();
+            case DP:
+                return fieldData.getDp();
+            case DATE:
+                return fieldData.getDate();
+            case DATETIME:
+                return fieldData.getDatetime();
+            case STR:
+                return fieldData.getStr();
+            case BLOB:
+                return fieldData.getBlob();
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.antgroup.tugraph;
+
+import lgraph.Lgraph;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether and when a failed request of a HA client is sent again.
+ *
+ * Retries wait an exponentially growing delay with full jitter, and every retry takes a token from a budget that
+ * successful requests slowly fill again, so an outage of the whole cluster can't multiply the load on it. Writes
+ * are only retried when the server didn't run them, that is on a redirect or when no leader was known, unless
+ * they are declared idempotent with {@link Builder#retryWrites(boolean)}.
+ *
+ * A policy keeps its budget, clients sharing a policy share the budget.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Set<Lgraph.LGraphResponse.ErrorCode> retryableErrorCodes;
+    private final boolean retryWrites;
+    private final TokenBudget budget;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoffMillis = builder.initialBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.retryableErrorCodes = Collections.unmodifiableSet(EnumSet.copyOf(builder.retryableErrorCodes));
+        this.retryWrites = builder.retryWrites;
+        this.budget = new TokenBudget(builder.retryBudget, builder.budgetRefillPerSuccess);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * One retry after 50ms, failed reads and writes the server didn't run are retried.
+     */
+    public static RetryPolicy defaultPolicy() {
+        return builder().build();
+    }
+
+    /**
+     * Never retries.
+     */
+    public static RetryPolicy noRetry() {
+        return builder().maxAttempts(1).build();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @param failure  what the last attempt failed with
+     * @param readOnly whether the request only reads
+     * @param notRun   whether the server is known not to have run the request
+     * @return whether the kind of failure may be retried, regardless of attempts and budget
+     */
+    public boolean isRetryable(Throwable failure, boolean readOnly, boolean notRun) {
+        if (notRun) {
+            return true;
+        }
+        if (!readOnly && !retryWrites) {
+            return false;
+        }
+        if (failure instanceof TuGraphDbRpcException) {
+            return retryableErrorCodes.contains(((TuGraphDbRpcException) failure).GetErrorCode());
+        }
+        // anything else failed on the way, before or after the server got the request
+        return !(failure instanceof InputException) && !(failure instanceof DeadlineExceededException);
+    }
+
+    /**
+     * @param attempt the number of the attempt that just failed, starting at 1
+     * @return the delay before the next attempt in milliseconds, or -1 if there is no next attempt
+     */
+    long nextBackoff(int attempt) {
+        if (attempt >= maxAttempts || !budget.trySpend()) {
+            return -1;
+        }
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    void onSuccess() {
+        budget.earn();
+    }
+
+    public static class Builder {
+        private int maxAttempts = 2;
+        private long initialBackoffMillis = 50;
+        private long maxBackoffMillis = 2000;
+        private Set<Lgraph.LGraphResponse.ErrorCode> retryableErrorCodes =
+                EnumSet.of(Lgraph.LGraphResponse.ErrorCode.REDIRECT, Lgraph.LGraphResponse.ErrorCode.EXCEPTION);
+        private boolean retryWrites = false;
+        private int retryBudget = 10;
+        private double budgetRefillPerSuccess = 0.1;
+
+        private Builder() {
+        }
+
+        /**
+         * Attempts including the first one, 1 disables retries.
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new InputException("maxAttempts must be positive: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Upper bound of the delay before the first retry, doubled for every further one up to maxBackoffMillis.
+         */
+        public Builder backoff(long initialBackoffMillis, long maxBackoffMillis) {
+            if (initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+                throw new InputException("Illegal backoff: " + initialBackoffMillis + ", " + maxBackoffMillis);
+            }
+            this.initialBackoffMillis = initialBackoffMillis;
+            this.maxBackoffMillis = maxBackoffMillis;
+            return this;
+        }
+
+        /**
+         * Error codes of responses that are retried, by default REDIRECT and EXCEPTION.
+         */
+        public Builder retryableErrorCodes(Set<Lgraph.LGraphResponse.ErrorCode> retryableErrorCodes) {
+            this.retryableErrorCodes = EnumSet.noneOf(Lgraph.LGraphResponse.ErrorCode.class);
+            this.retryableErrorCodes.addAll(retryableErrorCodes);
+            return this;
+        }
+
+        /**
+         * Declares writes idempotent, so they are retried like reads.
+         */
+        public Builder retryWrites(boolean retryWrites) {
+            this.retryWrites = retryWrites;
+            return this;
+        }
+
+        /**
+         * @param retryBudget            retries that may be made in a row without a success in between
+         * @param budgetRefillPerSuccess fraction of a retry every successful request gives back
+         */
+        public Builder retryBudget(int retryBudget, double budgetRefillPerSuccess) {
+            if (retryBudget < 0 || budgetRefillPerSuccess < 0) {
+                throw new InputException("Illegal retry budget: " + retryBudget + ", " + budgetRefillPerSuccess);
+            }
+            this.retryBudget = retryBudget;
+            this.budgetRefillPerSuccess = budgetRefillPerSuccess;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
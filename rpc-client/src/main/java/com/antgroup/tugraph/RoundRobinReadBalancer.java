@@ -0,0 +1,17 @@
+package com.antgroup.tugraph;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RoundRobinReadBalancer implements ReadBalancer {
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public <N extends Node> N select(List<N> nodes) {
+        int size = nodes.size();
+        if (size == 0) {
+            return null;
+        }
+        return nodes.get(Math.floorMod(next.getAndIncrement(), size));
+    }
+}
@@ -0,0 +1,54 @@
+package com.antgroup.tugraph;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tokens that are spent whole and earned back a fraction at a time, e.g. a retry or hedge for every so many
+ * successful requests. Starts full, never holds more than its capacity and is updated without a lock.
+ */
+class TokenBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long capacity;
+    private final long earned;
+    // in thousandths of a token
+    private final AtomicLong budget;
+
+    /**
+     * @param capacity tokens that may be spent in a row when the budget is full
+     * @param earned   fraction of a token each call of earn() gives back
+     */
+    TokenBudget(int capacity, double earned) {
+        this.capacity = capacity * TOKEN;
+        this.earned = Math.round(earned * TOKEN);
+        this.budget = new AtomicLong(this.capacity);
+    }
+
+    void earn() {
+        if (earned == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = budget.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!budget.compareAndSet(current, Math.min(capacity, current + earned)));
+    }
+
+    /**
+     * @return false if there isn't a whole token left
+     */
+    boolean trySpend() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
@@ -0,0 +1,236 @@
+package com.antgroup.tugraph;
+
+import com.baidu.brpc.client.RpcClientOptions;
+import com.baidu.brpc.client.channel.ChannelType;
+import com.baidu.brpc.client.loadbalance.LoadBalanceStrategy;
+import com.baidu.brpc.protocol.Options;
+
+/**
+ * Connection settings of a client, applied to the connection to every node.
+ *
+ * Pooled connections carry one request at a time, so the connections per node bound the requests in flight to
+ * a node. Multiplexed connections send all requests to a node over a single connection instead. Clients that
+ * share thread pools use one IO event loop and one callback pool for all of them, sized by the first client
+ * created.
+ */
+public class TuGraphClientOptions {
+
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final int writeTimeoutMillis;
+    private final int minIdleConnectionsPerNode;
+    private final int maxConnectionsPerNode;
+    private final boolean multiplexed;
+    private final int maxPendingRequests;
+    private final int ioThreads;
+    private final int workThreads;
+    private final boolean shareThreadPools;
+    private final long topologyRefreshIntervalMillis;
+    private final long healthCheckIntervalMillis;
+
+    private TuGraphClientOptions(Builder builder) {
+        this.connectTimeoutMillis = builder.connectTimeoutMillis;
+        this.readTimeoutMillis = builder.readTimeoutMillis;
+        this.writeTimeoutMillis = builder.writeTimeoutMillis;
+        this.minIdleConnectionsPerNode = builder.minIdleConnectionsPerNode;
+        this.maxConnectionsPerNode = builder.maxConnectionsPerNode;
+        this.multiplexed = builder.multiplexed;
+        this.maxPendingRequests = builder.maxPendingRequests;
+        this.ioThreads = builder.ioThreads;
+        this.workThreads = builder.workThreads;
+        this.shareThreadPools = builder.shareThreadPools;
+        this.topologyRefreshIntervalMillis = builder.topologyRefreshIntervalMillis;
+        this.healthCheckIntervalMillis = builder.healthCheckIntervalMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static TuGraphClientOptions defaults() {
+        return builder().build();
+    }
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public int getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public int getWriteTimeoutMillis() {
+        return writeTimeoutMillis;
+    }
+
+    public int getMinIdleConnectionsPerNode() {
+        return minIdleConnectionsPerNode;
+    }
+
+    public int getMaxConnectionsPerNode() {
+        return maxConnectionsPerNode;
+    }
+
+    public boolean isMultiplexed() {
+        return multiplexed;
+    }
+
+    public int getMaxPendingRequests() {
+        return maxPendingRequests;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public int getWorkThreads() {
+        return workThreads;
+    }
+
+    public boolean isShareThreadPools() {
+        return shareThreadPools;
+    }
+
+    public long getTopologyRefreshIntervalMillis() {
+        return topologyRefreshIntervalMillis;
+    }
+
+    public long getHealthCheckIntervalMillis() {
+        return healthCheckIntervalMillis;
+    }
+
+    RpcClientOptions toRpcClientOptions() {
+        RpcClientOptions options = new RpcClientOptions();
+        options.setProtocolType(Options.ProtocolType.PROTOCOL_BAIDU_STD_VALUE);
+        options.setLoadBalanceType(LoadBalanceStrategy.LOAD_BALANCE_FAIR);
+        options.setConnectTimeoutMillis(connectTimeoutMillis);
+        options.setReadTimeoutMillis(readTimeoutMillis);
+        options.setWriteTimeoutMillis(writeTimeoutMillis);
+        options.setMinIdleConnections(minIdleConnectionsPerNode);
+        options.setMaxTotalConnections(maxConnectionsPerNode);
+        options.setChannelType(multiplexed ? ChannelType.SINGLE_CONNECTION : ChannelType.POOLED_CONNECTION);
+        options.setFutureBufferSize(maxPendingRequests);
+        options.setIoThreadNum(ioThreads);
+        options.setWorkThreadNum(workThreads);
+        options.setGlobalThreadPoolSharing(shareThreadPools);
+        return options;
+    }
+
+    public static class Builder {
+        private int connectTimeoutMillis = 1000;
+        private int readTimeoutMillis = 60 * 60 * 1000;
+        private int writeTimeoutMillis = 60 * 60 * 1000;
+        private int minIdleConnectionsPerNode = 8;
+        private int maxConnectionsPerNode = 8;
+        private boolean multiplexed = false;
+        private int maxPendingRequests = 1000000;
+        private int ioThreads = Runtime.getRuntime().availableProcessors();
+        private int workThreads = Runtime.getRuntime().availableProcessors();
+        private boolean shareThreadPools = false;
+        private long topologyRefreshIntervalMillis = 5000;
+        private long healthCheckIntervalMillis = 1000;
+
+        private Builder() {
+        }
+
+        public Builder connectTimeoutMillis(int connectTimeoutMillis) {
+            this.connectTimeoutMillis = positive("connectTimeoutMillis", connectTimeoutMillis);
+            return this;
+        }
+
+        /**
+         * Longest wait for a response, an upper bound for the timeout of every query sent over the connection.
+         */
+        public Builder readTimeoutMillis(int readTimeoutMillis) {
+            this.readTimeoutMillis = positive("readTimeoutMillis", readTimeoutMillis);
+            return this;
+        }
+
+        public Builder writeTimeoutMillis(int writeTimeoutMillis) {
+            this.writeTimeoutMillis = positive("writeTimeoutMillis", writeTimeoutMillis);
+            return this;
+        }
+
+        /**
+         * @param minIdle connections kept open to every node while it is idle
+         * @param max     connections opened to every node at most
+         */
+        public Builder connectionsPerNode(int minIdle, int max) {
+            if (minIdle < 0 || max < 1 || minIdle > max) {
+                throw new InputException("Illegal connections per node: " + minIdle + ", " + max);
+            }
+            this.minIdleConnectionsPerNode = minIdle;
+            this.maxConnectionsPerNode = max;
+            return this;
+        }
+
+        /**
+         * Sends the requests to a node over one connection instead of a pool, the connections per node are
+         * ignored then.
+         */
+        public Builder multiplexed(boolean multiplexed) {
+            this.multiplexed = multiplexed;
+            return this;
+        }
+
+        /**
+         * Requests waiting for a response at most, across all nodes.
+         */
+        public Builder maxPendingRequests(int maxPendingRequests) {
+            this.maxPendingRequests = positive("maxPendingRequests", maxPendingRequests);
+            return this;
+        }
+
+        /**
+         * @param ioThreads   threads reading and writing the connections
+         * @param workThreads threads decoding responses and running callbacks
+         */
+        public Builder threads(int ioThreads, int workThreads) {
+            this.ioThreads = positive("ioThreads", ioThreads);
+            this.workThreads = positive("workThreads", workThreads);
+            return this;
+        }
+
+        /**
+         * Shares the IO event loop and the callback pool with every other client that shares them.
+         */
+        public Builder shareThreadPools(boolean shareThreadPools) {
+            this.shareThreadPools = shareThreadPools;
+            return this;
+        }
+
+        /**
+         * How often a HA client asks the cluster for its members.
+         */
+        public Builder topologyRefreshIntervalMillis(long topologyRefreshIntervalMillis) {
+            this.topologyRefreshIntervalMillis = positive("topologyRefreshIntervalMillis", topologyRefreshIntervalMillis);
+            return this;
+        }
+
+        /**
+         * How often a HA client probes unreachable nodes and checks the nodes' latencies.
+         */
+        public Builder healthCheckIntervalMillis(long healthCheckIntervalMillis) {
+            this.healthCheckIntervalMillis = positive("healthCheckIntervalMillis", healthCheckIntervalMillis);
+            return this;
+        }
+
+        private static int positive(String name, int value) {
+            if (value < 1) {
+                throw new InputException(name + " must be positive: " + value);
+            }
+            return value;
+        }
+
+        private static long positive(String name, long value) {
+            if (value < 1) {
+                throw new InputException(name + " must be positive: " + value);
+            }
+            return value;
+        }
+
+        public TuGraphClientOptions build() {
+            return new TuGraphClientOptions(this);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.antgroup.tugraph;
+
+import lgraph.Lgraph;
+
+/**
+ * Thrown when a node of a HA group refuses a request that only the leader can serve.
+ */
+public class TuGraphDbRedirectException extends TuGraphDbRpcException {
+    private static final long serialVersionUID = -3407794622128916472L;
+    public String redirect;
+
+    public TuGraphDbRedirectException(String redirect, String error, String errorMethod) {
+        super(Lgraph.LGraphResponse.ErrorCode.REDIRECT, error, errorMethod);
+        this.redirect = redirect;
+    }
+
+    /**
+     * @return rpc address of the leader, as host:port
+     */
+    public String GetRedirect() {
+        return redirect;
+    }
+}
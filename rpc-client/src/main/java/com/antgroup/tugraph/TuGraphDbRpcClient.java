@@ -5,27 +5,38 @@ import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.alibaba.fastjson.TypeReference;
 import com.antgroup.tugraph.model.*;
+import com.baidu.brpc.RpcContext;
 import com.baidu.brpc.client.BrpcProxy;
+import com.baidu.brpc.client.RpcCallback;
 import com.baidu.brpc.client.RpcClient;
-import com.baidu.brpc.client.RpcClientOptions;
-import com.baidu.brpc.client.loadbalance.LoadBalanceStrategy;
-import com.baidu.brpc.protocol.Options;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 import lgraph.Lgraph;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @Author: haoyongdong.hyd@antgroup.com
@@ -42,9 +53,20 @@ public class TuGraphDbRpcClient {
         SINGLE_CONNECTION
     }
 
+    private static final long PROBE_TIMEOUT_MS = 1000;
+    private static final double OUTLIER_LATENCY_FACTOR = 5;
+    private static final double OUTLIER_MIN_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    // delays async retries and hedged reads, the thread is created on first use
+    private static final ScheduledExecutorService RETRY_TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "tugraph-retry-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
     private final ClientType clientType;
     private final String user;
     private final String password;
+    private final TuGraphClientOptions options;
 
     // Attribute to DIRECT_HA_CONNECTION or SINGLE_CONNECTION client
     private TuGraphSingleRpcClient baseClient;
@@ -53,17 +75,32 @@ public class TuGraphDbRpcClient {
     private List<String> urls;
 
     // Attributes common to all types of clients
-    private TuGraphSingleRpcClient leaderClient;
-    private final List<TuGraphSingleRpcClient> rpcClientPool = new CopyOnWriteArrayList<>();
-    private final Set<String> failUrls = new CopyOnWriteArraySet<>();
-    private List<UserDefinedProcedure> userDefinedProcedures = new CopyOnWriteArrayList<>();
-    private List<BuiltInProcedure> builtInProcedures = new CopyOnWriteArrayList<>();
+    private volatile RoutingTable routingTable = RoutingTable.EMPTY;
+    private volatile ReadNodes readNodes = new ReadNodes(null, Collections.emptyList());
+    private final Object readNodesLock = new Object();
+    private ScheduledExecutorService topologyWatcher;
+    private final QueryClassifier queryClassifier = new QueryClassifier();
+    private volatile ReadBalancer readBalancer = ReadBalancer.roundRobin();
+    private volatile RetryPolicy retryPolicy = RetryPolicy.defaultPolicy();
+    private volatile HedgePolicy hedgePolicy;
+    private final VersionTracker versionTracker = new VersionTracker();
+    // reconnects for async retries, off the brpc callback threads, the thread ends when idle
+    private final ThreadPoolExecutor refreshExecutor = newRefreshExecutor();
+    private final Object refreshLock = new Object();
+    // guarded by refreshLock
+    private CompletableFuture<Void> pendingRefresh;
+    private RoutingTable pendingRefreshTable;
 
     public TuGraphDbRpcClient(String url, String user, String password) throws Exception{
+        this(url, user, password, TuGraphClientOptions.defaults());
+    }
+
+    public TuGraphDbRpcClient(String url, String user, String password, TuGraphClientOptions options) throws Exception{
         ClientType type;
         this.user = user;
         this.password = password;
-        this.baseClient = new TuGraphSingleRpcClient("list://" + url, user, password);
+        this.options = Objects.requireNonNull(options);
+        this.baseClient = new TuGraphSingleRpcClient("list://" + url, user, password, versionTracker, options);
         try {
             this.baseClient.callCypher("CALL dbms.ha.clusterInfo()", "default", 10);
             type = ClientType.DIRECT_HA_CONNECTION;
@@ -73,15 +110,22 @@ public class TuGraphDbRpcClient {
         this.clientType = type;
         if (this.clientType == ClientType.DIRECT_HA_CONNECTION){
             refreshConnection();
+            startTopologyWatcher();
         }
     }
 
     public TuGraphDbRpcClient(List<String> urls, String user, String password) throws Exception {
+        this(urls, user, password, TuGraphClientOptions.defaults());
+    }
+
+    public TuGraphDbRpcClient(List<String> urls, String user, String password, TuGraphClientOptions options) throws Exception {
         this.urls = urls;
         this.clientType = ClientType.INDIRECT_HA_CONNECTION;
         this.user = user;
         this.password = password;
+        this.options = Objects.requireNonNull(options);
         refreshConnection();
+        startTopologyWatcher();
     }
 
     public String callCypher(String cypher, String graph, double timeout) throws Exception {
@@ -92,7 +136,60 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION){
             return baseClient.callCypher(cypher, graph, timeout, withHeader);
         } else {
-            return doubleCheckQuery(()-> getClient(Lgraph.ProtoGraphQueryType.CYPHER, cypher, graph).callCypher(cypher, graph, timeout, withHeader));
+            boolean readOnly = queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.CYPHER, cypher, graph);
+            return retryQuery(readOnly, timeout, ()-> isHedged(readOnly)
+                    ? joinHedgedRead(c -> c.callCypherAsync(cypher, null, graph, timeout, withHeader))
+                    : getClient(readOnly).callCypher(cypher, graph, timeout, withHeader));
+        }
+    }
+
+    /**
+     * Send cypher with typed parameters instead of inlining them, so that the query text stays the same
+     * across calls. Parameters are referenced as $name in the query, supported values are described in
+     * {@link ProtoFieldDataConverter}.
+     */
+    public String callCypher(String cypher, Map<String, Object> params, String graph, double timeout) throws Exception {
+        return callCypher(cypher, params, graph, timeout, false);
+    }
+
+    public String callCypher(String cypher, Map<String, Object> params, String graph, double timeout, boolean withHeader) throws Exception {
+        if (clientType == ClientType.SINGLE_CONNECTION){
+            return baseClient.callCypher(cypher, params, graph, timeout, withHeader);
+        } else {
+            boolean readOnly = queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.CYPHER, cypher, graph);
+            return retryQuery(readOnly, timeout, ()-> isHedged(readOnly)
+                    ? joinHedgedRead(c -> c.callCypherAsync(cypher, params, graph, timeout, withHeader))
+                    : getClient(readOnly).callCypher(cypher, params, graph, timeout, withHeader));
+        }
+    }
+
+    /**
+     * Runs the query and returns its binary result as a {@link ResultCursor}, skipping the JSON
+     * conversion done by {@link #callCypher(String, String, double, boolean)}.
+     */
+    public ResultCursor callCypherForCursor(String cypher, String graph, double timeout) throws Exception {
+        return callCypherForCursor(cypher, null, graph, timeout);
+    }
+
+    public ResultCursor callCypherForCursor(String cypher, Map<String, Object> params, String graph, double timeout) throws Exception {
+        if (clientType == ClientType.SINGLE_CONNECTION){
+            return baseClient.callCypherForCursor(cypher, params, graph, timeout);
+        } else {
+            boolean readOnly = queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.CYPHER, cypher, graph);
+            return retryQuery(readOnly, timeout, ()-> isHedged(readOnly)
+                    ? joinHedgedRead(c -> c.callCypherForCursorAsync(cypher, params, graph, timeout))
+                    : getClient(readOnly).callCypherForCursor(cypher, params, graph, timeout));
+        }
+    }
+
+    public ResultCursor callGqlForCursor(String gql, String graph, double timeout) throws Exception {
+        if (clientType == ClientType.SINGLE_CONNECTION){
+            return baseClient.callGqlForCursor(gql, graph, timeout);
+        } else {
+            boolean readOnly = queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.GQL, gql, graph);
+            return retryQuery(readOnly, timeout, ()-> isHedged(readOnly)
+                    ? joinHedgedRead(c -> c.callGqlForCursorAsync(gql, graph, timeout))
+                    : getClient(readOnly).callGqlForCursor(gql, graph, timeout));
         }
     }
 
@@ -104,31 +201,39 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION){
             return baseClient.callGql(gql, graph, timeout, withHeader);
         } else {
-            return doubleCheckQuery(()-> getClient(Lgraph.ProtoGraphQueryType.GQL, gql, graph).callGql(gql, graph, timeout, withHeader));
+            boolean readOnly = queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.GQL, gql, graph);
+            return retryQuery(readOnly, timeout, ()-> isHedged(readOnly)
+                    ? joinHedgedRead(c -> c.callGqlAsync(gql, graph, timeout, withHeader))
+                    : getClient(readOnly).callGql(gql, graph, timeout, withHeader));
         }
     }
 
     public String callCypher(String cypher, String graph, double timeout, String url) throws Exception {
-        return doubleCheckQuery(()-> getClientByNode(url).callCypher(cypher, graph, timeout));
+        return retryQuery(queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.CYPHER, cypher, graph), timeout,
+                ()-> getClientByNode(url).callCypher(cypher, graph, timeout));
     }
 
     public String callCypher(String cypher, String graph, double timeout, String url, boolean withHeader) throws Exception {
-        return doubleCheckQuery(()-> getClientByNode(url).callCypher(cypher, graph, timeout, withHeader));
+        return retryQuery(queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.CYPHER, cypher, graph), timeout,
+                ()-> getClientByNode(url).callCypher(cypher, graph, timeout, withHeader));
     }
 
     public String callGql(String gql, String graph, double timeout, String url) throws Exception {
-        return doubleCheckQuery(()-> getClientByNode(url).callGql(gql, graph, timeout));
+        return retryQuery(queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.GQL, gql, graph), timeout,
+                ()-> getClientByNode(url).callGql(gql, graph, timeout));
     }
 
     public String callGql(String gql, String graph, double timeout, String url, boolean withHeader) throws Exception {
-        return doubleCheckQuery(()-> getClientByNode(url).callGql(gql, graph, timeout, withHeader));
+        return retryQuery(queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.GQL, gql, graph), timeout,
+                ()-> getClientByNode(url).callGql(gql, graph, timeout, withHeader));
     }
 
     public String callCypherToLeader(String cypher, String graph, double timeout) throws Exception {
         if (clientType == ClientType.SINGLE_CONNECTION){
             return baseClient.callCypher(cypher, graph, timeout);
         } else {
-            return doubleCheckQuery(()-> leaderClient.callCypher(cypher, graph, timeout));
+            return retryQuery(queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.CYPHER, cypher, graph), timeout,
+                    ()-> getClient(false).callCypher(cypher, graph, timeout));
         }
     }
 
@@ -136,7 +241,8 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION){
             return baseClient.callCypher(cypher, graph, timeout, withHeader);
         } else {
-            return doubleCheckQuery(()-> leaderClient.callCypher(cypher, graph, timeout, withHeader));
+            return retryQuery(queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.CYPHER, cypher, graph), timeout,
+                    ()-> getClient(false).callCypher(cypher, graph, timeout, withHeader));
         }
     }
 
@@ -144,7 +250,8 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION){
             return baseClient.callGql(gql, graph, timeout);
         } else {
-            return doubleCheckQuery(()-> leaderClient.callGql(gql, graph, timeout));
+            return retryQuery(queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.GQL, gql, graph), timeout,
+                    ()-> getClient(false).callGql(gql, graph, timeout));
         }
     }
 
@@ -152,7 +259,38 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION){
             return baseClient.callGql(gql, graph, timeout, withHeader);
         } else {
-            return doubleCheckQuery(()-> leaderClient.callGql(gql, graph, timeout, withHeader));
+            return retryQuery(queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.GQL, gql, graph), timeout,
+                    ()-> getClient(false).callGql(gql, graph, timeout, withHeader));
+        }
+    }
+
+    public CompletableFuture<String> callCypherAsync(String cypher, String graph, double timeout) {
+        return callCypherAsync(cypher, graph, timeout, false);
+    }
+
+    public CompletableFuture<String> callCypherAsync(String cypher, String graph, double timeout, boolean withHeader) {
+        if (clientType == ClientType.SINGLE_CONNECTION) {
+            return baseClient.callCypherAsync(cypher, graph, timeout, withHeader);
+        } else {
+            boolean readOnly = queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.CYPHER, cypher, graph);
+            return retryQueryAsync(readOnly, timeout, ()-> isHedged(readOnly)
+                    ? hedgedRead(c -> c.callCypherAsync(cypher, null, graph, timeout, withHeader))
+                    : getClient(readOnly).callCypherAsync(cypher, graph, timeout, withHeader));
+        }
+    }
+
+    public CompletableFuture<String> callGqlAsync(String gql, String graph, double timeout) {
+        return callGqlAsync(gql, graph, timeout, false);
+    }
+
+    public CompletableFuture<String> callGqlAsync(String gql, String graph, double timeout, boolean withHeader) {
+        if (clientType == ClientType.SINGLE_CONNECTION) {
+            return baseClient.callGqlAsync(gql, graph, timeout, withHeader);
+        } else {
+            boolean readOnly = queryClassifier.isReadQuery(Lgraph.ProtoGraphQueryType.GQL, gql, graph);
+            return retryQueryAsync(readOnly, timeout, ()-> isHedged(readOnly)
+                    ? hedgedRead(c -> c.callGqlAsync(gql, graph, timeout, withHeader))
+                    : getClient(readOnly).callGqlAsync(gql, graph, timeout, withHeader));
         }
     }
 
@@ -166,17 +304,26 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION) {
             return baseClient.callProcedure(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, withHeader);
         } else {
-            return doubleCheckQuery(()-> {
-                boolean readOnly = false;
-                for (UserDefinedProcedure userDefinedProcedure : userDefinedProcedures){
-                    if (userDefinedProcedure.getDesc().getName().equals(procedureName) && userDefinedProcedure.getDesc().isReadOnly()){
-                        readOnly = true;
-                        break;
-                    }
-                }
-                return getClient(readOnly)
-                        .callProcedure(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, withHeader);
-            });
+            boolean readOnly = queryClassifier.isReadOnlyProcedure(procedureName, graph);
+            return retryQuery(readOnly, procedureTimeOut, ()-> getClient(readOnly)
+                    .callProcedure(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, withHeader));
+        }
+    }
+
+    public CompletableFuture<String> callProcedureAsync(String procedureType, String procedureName, String param,
+                                                        double procedureTimeOut, boolean inProcess, String graph) {
+        return callProcedureAsync(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, false);
+    }
+
+    public CompletableFuture<String> callProcedureAsync(String procedureType, String procedureName, String param,
+                                                        double procedureTimeOut, boolean inProcess, String graph,
+                                                        boolean withHeader) {
+        if (clientType == ClientType.SINGLE_CONNECTION) {
+            return baseClient.callProcedureAsync(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, withHeader);
+        } else {
+            boolean readOnly = queryClassifier.isReadOnlyProcedure(procedureName, graph);
+            return retryQueryAsync(readOnly, procedureTimeOut, ()-> getClient(readOnly)
+                    .callProcedureAsync(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, withHeader));
         }
     }
 
@@ -187,7 +334,8 @@ public class TuGraphDbRpcClient {
 
     public String callProcedure(String procedureType, String procedureName, String param, double procedureTimeOut,
                                 boolean inProcess, String graph, boolean withHeader, String url) throws Exception {
-        return doubleCheckQuery(()-> getClientByNode(url).callProcedure(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, withHeader));
+        return retryQuery(queryClassifier.isReadOnlyProcedure(procedureName, graph), procedureTimeOut,
+                ()-> getClientByNode(url).callProcedure(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, withHeader));
     }
 
     public String callProcedureToLeader(String procedureType, String procedureName, String param, double procedureTimeOut,
@@ -200,7 +348,8 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION) {
             return baseClient.callProcedure(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, withHeader);
         } else {
-            return doubleCheckQuery(()-> leaderClient.callProcedure(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, withHeader));
+            return retryQuery(queryClassifier.isReadOnlyProcedure(procedureName, graph), procedureTimeOut,
+                    ()-> getClient(false).callProcedure(procedureType, procedureName, param, procedureTimeOut, inProcess, graph, withHeader));
         }
     }
 
@@ -209,8 +358,8 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION) {
             return baseClient.loadProcedure(sourceFile, procedureType, procedureName, codeType, procedureDescription, readOnly, version, graph);
         } else {
-            return doubleCheckQuery(()-> {
-                boolean succeed = leaderClient.loadProcedure(sourceFile, procedureType, procedureName, codeType, procedureDescription, readOnly, version, graph);
+            return retryQuery(false, ()-> {
+                boolean succeed = getClient(false).loadProcedure(sourceFile, procedureType, procedureName, codeType, procedureDescription, readOnly, version, graph);
                 //update procedure info
                 if (succeed) {
                     refreshUserDefinedProcedure();
@@ -225,8 +374,8 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION) {
             return baseClient.loadProcedure(sourceFiles, procedureType, procedureName, codeType, procedureDescription, readOnly, version, graph);
         } else {
-            return doubleCheckQuery(()-> {
-                boolean succeed = leaderClient.loadProcedure(sourceFiles, procedureType, procedureName, codeType, procedureDescription, readOnly, version, graph);
+            return retryQuery(false, ()-> {
+                boolean succeed = getClient(false).loadProcedure(sourceFiles, procedureType, procedureName, codeType, procedureDescription, readOnly, version, graph);
                 //update procedure info
                 if (succeed) {
                     refreshUserDefinedProcedure();
@@ -240,19 +389,46 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION) {
             return baseClient.listProcedures(procedureType, version, graph);
         } else {
-            return doubleCheckQuery(()-> getClient(true).listProcedures(procedureType, version, graph));
+            return retryQuery(true, ()-> getClient(true).listProcedures(procedureType, version, graph));
         }
     }
 
     public String listProcedures(String procedureType, String version, String graph, String url) throws Exception {
-        return doubleCheckQuery(()-> getClientByNode(url).listProcedures(procedureType, version, graph));
+        return retryQuery(true, ()-> getClientByNode(url).listProcedures(procedureType, version, graph));
     }
 
     public boolean deleteProcedure(String procedureType, String procedureName, String graph) throws Exception {
         if (clientType == ClientType.SINGLE_CONNECTION) {
             return baseClient.deleteProcedure(procedureType, procedureName, graph);
         } else {
-            return doubleCheckQuery(()-> leaderClient.deleteProcedure(procedureType, procedureName, graph));
+            return retryQuery(false, ()-> getClient(false).deleteProcedure(procedureType, procedureName, graph));
+        }
+    }
+
+    /**
+     * Inserts vertexes of one label through the Graph API, without going through Cypher.
+     *
+     * @param vertexes values of each vertex, in the order of fields
+     * @return vid of each vertex
+     */
+    public List<Long> addVertexes(String label, List<String> fields, List<List<Object>> vertexes, String graph) throws Exception {
+        if (clientType == ClientType.SINGLE_CONNECTION) {
+            return baseClient.addVertexes(label, fields, vertexes, graph);
+        } else {
+            return retryQuery(false, ()-> getClient(false).addVertexes(label, fields, vertexes, graph));
+        }
+    }
+
+    /**
+     * Inserts edges of one label through the Graph API, without going through Cypher.
+     *
+     * @return eid of each edge, unique between the same source and destination for the label
+     */
+    public List<Long> addEdges(String label, List<String> fields, List<EdgeData> edges, String graph) throws Exception {
+        if (clientType == ClientType.SINGLE_CONNECTION) {
+            return baseClient.addEdges(label, fields, edges, graph);
+        } else {
+            return retryQuery(false, ()-> getClient(false).addEdges(label, fields, edges, graph));
         }
     }
 
@@ -260,16 +436,20 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION) {
             return baseClient.importSchemaFromContent(schema, graph, timeout);
         } else {
-            return doubleCheckQuery(()-> leaderClient.importSchemaFromContent(schema, graph, timeout));
+            return retryQuery(false, ()-> getClient(false).importSchemaFromContent(schema, graph, timeout));
         }
     }
 
+    /**
+     * @param threadNums unused, the server decides how many threads import the data of an ImportRequest
+     * @param timeout    seconds to wait for the server to import the data, 0 for no limit
+     */
     public boolean importDataFromContent(String desc, String data, String delimiter,
                                          boolean continueOnError, int threadNums, String graph, double timeout) throws Exception {
         if (clientType == ClientType.SINGLE_CONNECTION) {
             return baseClient.importDataFromContent(desc, data, delimiter, continueOnError, threadNums, graph, timeout);
         } else {
-            return doubleCheckQuery(()-> leaderClient.importDataFromContent(desc, data, delimiter, continueOnError, threadNums, graph, timeout));
+            return retryQuery(false, ()-> getClient(false).importDataFromContent(desc, data, delimiter, continueOnError, threadNums, graph, timeout));
         }
     }
 
@@ -277,24 +457,113 @@ public class TuGraphDbRpcClient {
         if (clientType == ClientType.SINGLE_CONNECTION) {
             return baseClient.importSchemaFromFile(schemaFile, graph, timeout);
         } else {
-            return doubleCheckQuery(()-> leaderClient.importSchemaFromFile(schemaFile, graph, timeout));
+            return retryQuery(false, ()-> getClient(false).importSchemaFromFile(schemaFile, graph, timeout));
         }
     }
 
+    /**
+     * @param threadNums unused, the server decides how many threads import the data of an ImportRequest
+     * @param timeout    seconds to wait for the server to import each chunk, 0 for no limit
+     */
     public boolean importDataFromFile(String confFile, String delimiter, boolean continueOnError, int threadNums,
                                       int skipPackages, String graph, double timeout) throws Exception {
         if (clientType == ClientType.SINGLE_CONNECTION) {
             return baseClient.importDataFromFile(confFile, delimiter, continueOnError, threadNums, skipPackages, graph, timeout);
         } else {
-            return doubleCheckQuery(()-> leaderClient.importDataFromFile(confFile, delimiter, continueOnError, threadNums, skipPackages, graph, timeout));
+            return retryQuery(false, false, ()-> getClient(false).importDataFromFile(confFile, delimiter, continueOnError, threadNums, skipPackages, graph, timeout));
         }
     }
 
+    /**
+     * Imports the files described by confFile with reading, encoding and uploading of chunks overlapping.
+     *
+     * @param timeout     seconds to wait for the server to import each chunk, 0 for no limit
+     * @param maxInFlight number of chunks sent to the server at the same time, each holds up to 16MB of data
+     */
+    public boolean importDataFromFile(String confFile, String delimiter, boolean continueOnError,
+                                      int skipPackages, String graph, double timeout, int maxInFlight) throws Exception {
+        if (clientType == ClientType.SINGLE_CONNECTION) {
+            return baseClient.importDataFromFile(confFile, delimiter, continueOnError, skipPackages, graph, timeout, maxInFlight);
+        } else {
+            return retryQuery(false, false, ()-> getClient(false).importDataFromFile(confFile, delimiter, continueOnError, skipPackages, graph, timeout, maxInFlight));
+        }
+    }
+
+    /**
+     * Imports the files described by confFile, recording every chunk the server acknowledged in checkpointFile.
+     * Running it again with the same checkpointFile after a failure continues each file right after its
+     * acknowledged chunks. The checkpoint file is removed once the import succeeded. Without a checkpointFile
+     * nothing is recorded.
+     */
+    public boolean importDataFromFile(String confFile, String delimiter, boolean continueOnError,
+                                      String graph, double timeout, int maxInFlight, String checkpointFile) throws Exception {
+        if (clientType == ClientType.SINGLE_CONNECTION) {
+            return baseClient.importDataFromFile(confFile, delimiter, continueOnError, graph, timeout, maxInFlight, checkpointFile);
+        } else {
+            // with a checkpoint another attempt continues after the chunks already acknowledged
+            return retryQuery(false, checkpointFile != null, ()-> getClient(false).importDataFromFile(confFile, delimiter, continueOnError, graph, timeout, maxInFlight, checkpointFile));
+        }
+    }
+
+    /**
+     * Sets how read queries are spread over the nodes of a HA group, round robin by default.
+     */
+    public void setReadBalancer(ReadBalancer readBalancer) {
+        this.readBalancer = Objects.requireNonNull(readBalancer);
+    }
+
+    /**
+     * Sets when failed requests of a HA client are sent again, by default reads and requests the server didn't
+     * run are retried once.
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = Objects.requireNonNull(retryPolicy);
+    }
+
+    /**
+     * Enables hedged reads: a read query that isn't answered in time is sent to a second node as well and the
+     * first answer wins. Null, the default, disables hedging.
+     */
+    public void setHedgePolicy(HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
+    }
+
+    /**
+     * Makes the requests of the calling thread read at least what the bookmark has seen, and advances the
+     * bookmark with their answers, until the returned handle is closed. Without a bookmark requests read at
+     * least what any request of this client has seen.
+     *
+     * Async requests use the bookmark in use when they are sent, their retries on other threads fall back to
+     * what the whole client has seen.
+     */
+    public Bookmark.Scope useBookmark(Bookmark bookmark) {
+        return versionTracker.use(Objects.requireNonNull(bookmark));
+    }
+
+    /**
+     * Makes the calls of the calling thread, with their retries, finish by the deadline until the returned handle
+     * is closed. Calls with a timeout that ends earlier keep their timeout.
+     */
+    public Deadline.Scope withDeadline(Deadline deadline) {
+        return Deadline.bind(Objects.requireNonNull(deadline));
+    }
+
+    /**
+     * @return the highest server version any node answered this client with
+     */
+    public long getServerVersion() {
+        return versionTracker.getHighWaterMark();
+    }
+
     public void logout() throws Exception{
+        if (topologyWatcher != null) {
+            topologyWatcher.shutdownNow();
+        }
+        refreshExecutor.shutdownNow();
         if (clientType != ClientType.INDIRECT_HA_CONNECTION){
             baseClient.logout();
         }
-        for (TuGraphSingleRpcClient rpcClient : rpcClientPool) {
+        for (TuGraphSingleRpcClient rpcClient : routingTable.nodes) {
             rpcClient.logout();
         }
     }
@@ -324,60 +593,68 @@ public class TuGraphDbRpcClient {
         }
     }
 
-
-    private boolean isReadQuery(Lgraph.ProtoGraphQueryType type, String query, String graphName) {
-        GraphQueryConstant graphQueryConstant = new GraphQueryConstant();
-
-        if (query.toUpperCase().contains(GraphQueryConstant.CALL)) {
-            return builtInProcedures
-                    .stream()
-                    .anyMatch(x -> query
-                            .contains(x.getName()) && x.isReadOnly())
-                    && userDefinedProcedures
-                    .stream()
-                    .anyMatch(x -> query.contains(x.getDesc().getName())
-                            && x.getGraphName().equals(graphName)
-                            && x.getDesc().isReadOnly());
+    // Refreshes the connection after a failure seen with the given routing table, unless another thread already
+    // replaced that table in the meantime.
+    private void refreshConnection(RoutingTable failed) throws Exception {
+        if (routingTable != failed) {
+            return;
         }
-        if (type == Lgraph.ProtoGraphQueryType.CYPHER) {
-            return graphQueryConstant.getAllCypherType()
-                    .stream()
-                    .noneMatch(x -> query
-                            .toLowerCase()
-                            .contains(x));
-        } else {
-            return graphQueryConstant.getAllGqlType()
-                    .stream()
-                    .noneMatch(x -> query
-                            .toLowerCase()
-                            .contains(x));
-        }
-    }
-    private TuGraphSingleRpcClient getClient(Lgraph.ProtoGraphQueryType type, String query, String graph) throws Exception {
-        return getClient(isReadQuery(type, query, graph));
+        refreshConnection();
     }
 
     private TuGraphSingleRpcClient getClient(boolean isReadQuery) throws Exception {
+        RoutingTable table = routingTable;
         if (isReadQuery) {
-            if (CollectionUtils.isNotEmpty(failUrls)) {
-                loadRpcClient(failUrls);
+            List<TuGraphSingleRpcClient> nodes = readNodes(table);
+            TuGraphSingleRpcClient rpcClient = readBalancer.select(nodes);
+            if (rpcClient == null) {
+                throw new NoNodeAvailableException("all instance is down, refuse req!");
             }
-            if (CollectionUtils.isEmpty(rpcClientPool)) {
-                throw new Exception("all instance is down, refuse req!");
-            }
-            TuGraphSingleRpcClient rpcClient = rpcClientPool.get(rpcClientPool.size() - 1);
-            loadBalance();
-            return rpcClient;
+            return caughtUp(rpcClient, nodes);
         } else {
-            if (leaderClient == null){
-                throw new Exception("master instance is down, refuse req!");
+            if (table.leader == null){
+                throw new NoNodeAvailableException("master instance is down, refuse req!");
             }
-            return leaderClient;
+            return table.leader;
+        }
+    }
+
+    // A node that hasn't applied the version the read requires makes it wait, so if the balancer picked one that
+    // lags behind, the next node gets the read instead when it is known to have caught up. Checking a single
+    // other node keeps lagging followers in use once they catch up, rather than moving all reads to the leader.
+    private TuGraphSingleRpcClient caughtUp(TuGraphSingleRpcClient chosen, List<TuGraphSingleRpcClient> nodes) {
+        long required = versionTracker.required();
+        if (chosen.serverVersion.get() >= required || nodes.size() < 2) {
+            return chosen;
+        }
+        int index = nodes.indexOf(chosen);
+        TuGraphSingleRpcClient other = nodes.get((index + 1) % nodes.size());
+        return other.serverVersion.get() >= required ? other : chosen;
+    }
+
+    // Nodes of the table whose circuit breaker lets reads through, all of them if every breaker is open.
+    private List<TuGraphSingleRpcClient> readNodes(RoutingTable table) {
+        ReadNodes current = readNodes;
+        return current.table == table ? current.nodes : updateReadNodes().nodes;
+    }
+
+    private ReadNodes updateReadNodes() {
+        synchronized (readNodesLock) {
+            RoutingTable table = routingTable;
+            List<TuGraphSingleRpcClient> healthy = new ArrayList<>(table.nodes.size());
+            for (TuGraphSingleRpcClient rpcClient : table.nodes) {
+                if (rpcClient.stats.getBreaker().allowsRequests()) {
+                    healthy.add(rpcClient);
+                }
+            }
+            ReadNodes updated = new ReadNodes(table, healthy.isEmpty() ? table.nodes : Collections.unmodifiableList(healthy));
+            readNodes = updated;
+            return updated;
         }
     }
 
     private TuGraphSingleRpcClient getClientByNode(String ipAndPort) throws Exception {
-        for (TuGraphSingleRpcClient rpcClient : rpcClientPool) {
+        for (TuGraphSingleRpcClient rpcClient : routingTable.nodes) {
             if (rpcClient.getUrl().contains(ipAndPort)){
                 return rpcClient;
             }
@@ -385,43 +662,282 @@ public class TuGraphDbRpcClient {
         throw new Exception("do not exit " + ipAndPort +" client");
     }
 
+    // Polls the cluster membership in the background, so that failovers are noticed before requests fail.
+    // The task only holds a weak reference, a client that is dropped without logout stops its watcher.
+    private void startTopologyWatcher() {
+        topologyWatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tugraph-topology-watcher");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduleWeakly(TuGraphDbRpcClient::refreshClientPool, "cluster topology refresh",
+                options.getTopologyRefreshIntervalMillis());
+        scheduleWeakly(TuGraphDbRpcClient::checkNodeHealth, "node health check",
+                options.getHealthCheckIntervalMillis());
+    }
+
+    interface WatcherTask {
+        void run(TuGraphDbRpcClient client) throws Exception;
+    }
+
+    private void scheduleWeakly(WatcherTask task, String name, long intervalMs) {
+        WeakReference<TuGraphDbRpcClient> ref = new WeakReference<>(this);
+        ScheduledExecutorService watcher = topologyWatcher;
+        watcher.scheduleWithFixedDelay(() -> {
+            TuGraphDbRpcClient client = ref.get();
+            if (client == null) {
+                watcher.shutdown();
+                return;
+            }
+            try {
+                task.run(client);
+            } catch (Exception e) {
+                log.warn("{} failed: {}", name, e.getMessage());
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs on the watcher thread: reconnects to nodes that couldn't be reached, probes nodes whose circuit
+     * breaker is open and ejects nodes that are much slower than the others.
+     */
+    private void checkNodeHealth() {
+        RoutingTable table = routingTable;
+        if (!table.failUrls.isEmpty()) {
+            loadRpcClient(table);
+            table = routingTable;
+        }
+        for (TuGraphSingleRpcClient rpcClient : table.nodes) {
+            CircuitBreaker breaker = rpcClient.stats.getBreaker();
+            if (breaker.isProbeDue()) {
+                probe(rpcClient);
+            }
+        }
+        ejectLatencyOutliers(table);
+    }
+
+    private void probe(TuGraphSingleRpcClient rpcClient) {
+        CircuitBreaker breaker = rpcClient.stats.getBreaker();
+        try {
+            rpcClient.callCypherAsync("CALL dbms.ha.clusterInfo()", "default", PROBE_TIMEOUT_MS / 1000.0, false)
+                    .get(PROBE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            rpcClient.stats.resetLatency();
+            breaker.probeSucceeded();
+            log.info("{} answers again", rpcClient.getUrl());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            breaker.probeFailed();
+        }
+    }
+
+    // Ejects nodes whose average latency is several times the median of the healthy ones, at most half of them.
+    private void ejectLatencyOutliers(RoutingTable table) {
+        List<TuGraphSingleRpcClient> closed = new ArrayList<>();
+        for (TuGraphSingleRpcClient rpcClient : table.nodes) {
+            if (rpcClient.stats.getBreaker().getState() == CircuitBreaker.State.CLOSED && rpcClient.getLatencyEwma() > 0) {
+                closed.add(rpcClient);
+            }
+        }
+        if (closed.size() < 3) {
+            // no baseline to compare against
+            return;
+        }
+        double[] latencies = new double[closed.size()];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = closed.get(i).getLatencyEwma();
+        }
+        Arrays.sort(latencies);
+        double threshold = Math.max(OUTLIER_MIN_LATENCY_NANOS, latencies[latencies.length / 2] * OUTLIER_LATENCY_FACTOR);
+        int ejectable = closed.size() - (table.nodes.size() + 1) / 2;
+        for (TuGraphSingleRpcClient rpcClient : closed) {
+            if (ejectable > 0 && rpcClient.getLatencyEwma() > threshold) {
+                log.info("ejecting {}, average latency {}ms", rpcClient.getUrl(), (long) (rpcClient.getLatencyEwma() / 1e6));
+                rpcClient.stats.getBreaker().eject();
+                --ejectable;
+            }
+        }
+    }
+
+    /**
+     * Fetches the cluster membership and swaps in a new routing table. Connections to nodes already in the
+     * current table are kept, only new nodes are logged in to and only nodes gone from the cluster are closed.
+     */
     private void refreshClientPool() {
-        rpcClientPool.clear();
+        RoutingTable current = routingTable;
+        RoutingTableBuilder builder = new RoutingTableBuilder(current);
         if (clientType == ClientType.DIRECT_HA_CONNECTION) {
-            String result = baseClient.callCypher("CALL dbms.ha.clusterInfo()", "default", 10);
-            ClusterInfo clusterInfo = JSON.parseObject(JSON.parseArray(result).get(0).toString(), new TypeReference<ClusterInfo>(){});
-            List<RaftState> raftStates = clusterInfo.getClusterInfo();
-            raftStates.forEach(x -> {
+            ClusterInfo clusterInfo = fetchClusterInfo(current);
+            for (RaftState x : clusterInfo.getClusterInfo()) {
                 if (!Objects.equals(x.getRole(), "WITNESS")) {
-                    TuGraphSingleRpcClient rpcClient = new TuGraphSingleRpcClient("list://" + x.getRpcAddress(), user, password);
-                    rpcClientPool.add(rpcClient);
-                    if (x.getState().equals(RaftState.StateConstant.MASTER)) {
-                        leaderClient = rpcClient;
-                    }
+                    builder.add(x.getRpcAddress(), x.getState().equals(RaftState.StateConstant.MASTER));
                 }
-            });
+            }
         } else {
-            loadRpcClient(new HashSet<>(urls));
+            for (String url : new LinkedHashSet<>(urls)) {
+                builder.probe(url);
+            }
+        }
+        swap(current, builder.build());
+    }
+
+    // Retries the nodes that couldn't be reached, keeping the rest of the table as it is.
+    private void loadRpcClient(RoutingTable failed) {
+        if (routingTable != failed) {
+            return;
         }
+        RoutingTableBuilder builder = new RoutingTableBuilder(failed);
+        builder.keepNodes();
+        for (String url : failed.failUrls) {
+            builder.probe(url);
+        }
+        swap(failed, builder.build());
     }
 
-    private void loadRpcClient(Set<String> urlList) {
-        Set<String> failList = new HashSet<>();
-        for (String url: urlList) {
+    /**
+     * Replaces current by next, unless another thread replaced current while next was built. Then next is
+     * dropped with the connections it opened. Tables are built outside of the lock, only the swap holds it.
+     *
+     * @return whether next is the routing table now
+     */
+    private boolean swap(RoutingTable current, RoutingTable next) {
+        List<TuGraphSingleRpcClient> unused = new ArrayList<>();
+        boolean swapped;
+        synchronized (this) {
+            swapped = routingTable == current;
+            if (swapped) {
+                routingTable = next;
+                for (TuGraphSingleRpcClient rpcClient : current.nodes) {
+                    if (!next.nodes.contains(rpcClient)) {
+                        unused.add(rpcClient);
+                    }
+                }
+            } else {
+                for (TuGraphSingleRpcClient rpcClient : next.nodes) {
+                    if (!current.nodes.contains(rpcClient) && !routingTable.nodes.contains(rpcClient)) {
+                        unused.add(rpcClient);
+                    }
+                }
+            }
+        }
+        if (swapped && next.leader != current.leader && next.leader != null) {
+            log.info("cluster leader is now {}", next.leader.getUrl());
+        }
+        for (TuGraphSingleRpcClient rpcClient : unused) {
+            logoutLater(rpcClient);
+        }
+        return swapped;
+    }
+
+    // The node may be unreachable, the logout doesn't hold up the caller.
+    private void logoutLater(TuGraphSingleRpcClient rpcClient) {
+        Runnable logout = () -> {
             try {
-                TuGraphSingleRpcClient rpcClient = new TuGraphSingleRpcClient("list://" + url, user, password);
-                String result = rpcClient.callCypher("CALL dbms.ha.clusterInfo()", "default", 10);
-                ClusterInfo clusterInfo = JSON.parseObject(JSON.parseArray(result).get(0).toString(), new TypeReference<ClusterInfo>(){});
+                rpcClient.logout();
+            } catch (Exception e) {
+                log.info("RpcClient {} already logout!", rpcClient.getUrl());
+            }
+        };
+        try {
+            refreshExecutor.execute(logout);
+        } catch (RejectedExecutionException e) {
+            // this client is logged out
+            logout.run();
+        }
+    }
+
+    // Asks the configured node first, then the known members in case it is the one that is down.
+    private ClusterInfo fetchClusterInfo(RoutingTable current) {
+        RuntimeException failure;
+        try {
+            return fetchClusterInfo(baseClient);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (TuGraphSingleRpcClient rpcClient : current.nodes) {
+            try {
+                return fetchClusterInfo(rpcClient);
+            } catch (RuntimeException e) {
+                failure.addSuppressed(e);
+            }
+        }
+        throw failure;
+    }
+
+    private static ClusterInfo fetchClusterInfo(TuGraphSingleRpcClient rpcClient) {
+        String result = rpcClient.callCypher("CALL dbms.ha.clusterInfo()", "default", 10);
+        return JSON.parseObject(JSON.parseArray(result).get(0).toString(), new TypeReference<ClusterInfo>(){});
+    }
+
+    // Collects the members of a new routing table, reusing the connections of the current one.
+    private class RoutingTableBuilder {
+        private final RoutingTable current;
+        private TuGraphSingleRpcClient leader;
+        private final List<TuGraphSingleRpcClient> nodes = new ArrayList<>();
+        private final Set<String> failUrls = new LinkedHashSet<>();
+
+        RoutingTableBuilder(RoutingTable current) {
+            this.current = current;
+        }
+
+        void keepNodes() {
+            leader = current.leader;
+            nodes.addAll(current.nodes);
+        }
+
+        void keepFailUrls() {
+            failUrls.addAll(current.failUrls);
+        }
+
+        // The node a request was redirected to, it replaces the leader.
+        void leader(String address) {
+            TuGraphSingleRpcClient rpcClient = connect(address);
+            if (!nodes.contains(rpcClient)) {
+                nodes.add(rpcClient);
+            }
+            leader = rpcClient;
+            failUrls.remove(address);
+        }
+
+        // A member reported by clusterInfo.
+        void add(String address, boolean isLeader) {
+            try {
+                TuGraphSingleRpcClient rpcClient = connect(address);
+                nodes.add(rpcClient);
+                if (isLeader) {
+                    leader = rpcClient;
+                }
+            } catch (Exception e) {
+                failUrls.add(address);
+            }
+        }
+
+        // A configured address, it tells itself whether it is the leader.
+        void probe(String address) {
+            try {
+                TuGraphSingleRpcClient rpcClient = connect(address);
+                ClusterInfo clusterInfo = fetchClusterInfo(rpcClient);
                 if (clusterInfo.isMaster()) {
-                    leaderClient = rpcClient;
+                    leader = rpcClient;
                 }
-                rpcClientPool.add(rpcClient);
+                nodes.add(rpcClient);
             } catch (Exception e) {
-                failList.add(url);
+                failUrls.add(address);
             }
         }
-        failUrls.clear();
-        failUrls.addAll(failList);
+
+        private TuGraphSingleRpcClient connect(String address) {
+            TuGraphSingleRpcClient rpcClient = current.find("list://" + address);
+            if (rpcClient == null) {
+                rpcClient = new TuGraphSingleRpcClient("list://" + address, user, password, versionTracker, options);
+                rpcClient.stats.getBreaker().setListener(TuGraphDbRpcClient.this::updateReadNodes);
+            }
+            return rpcClient;
+        }
+
+        RoutingTable build() {
+            return new RoutingTable(leader, nodes, failUrls);
+        }
     }
 
     /**
@@ -429,81 +945,549 @@ public class TuGraphDbRpcClient {
      */
     private void refreshBuiltInProcedure() throws Exception {
         String result = getClient(true).callCypher("CALL dbms.procedures()", "default", 10);
-        builtInProcedures = JSON.parseObject(result, new TypeReference<List<BuiltInProcedure>>(){});
+        queryClassifier.setBuiltInProcedures(JSON.parseObject(result, new TypeReference<List<BuiltInProcedure>>(){}));
     }
 
     private void refreshUserDefinedProcedure() throws Exception {
         //CALL db.plugin.listUserPlugins()
         String result = getClient(true).callCypher("CALL db.plugin.listUserPlugins()", "default", 10);
-        userDefinedProcedures = JSON.parseObject(result, new TypeReference<List<UserDefinedProcedure>>(){});
-    }
-
-    private void loadBalance() {
-        rpcClientPool.add(rpcClientPool.remove(0));
+        queryClassifier.setUserDefinedProcedures(JSON.parseObject(result, new TypeReference<List<UserDefinedProcedure>>(){}));
     }
 
     interface QueryInterface<E> {
         E method() throws Exception;
     }
 
-    private <E> E doubleCheckQuery(QueryInterface<E> queryInterface) throws Exception {
+    /**
+     * Makes the node a failed request was redirected to the leader, so that the request can be sent again
+     * right away instead of after a refresh of the whole cluster.
+     *
+     * @return false if the failure wasn't a redirect or the redirect target can't be reached
+     */
+    private boolean followRedirect(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+        if (!(cause instanceof TuGraphDbRedirectException)) {
+            return false;
+        }
+        String address = ((TuGraphDbRedirectException) cause).GetRedirect();
+        if (StringUtils.isEmpty(address)) {
+            return false;
+        }
+        try {
+            redirectLeader(address);
+            return true;
+        } catch (Exception e) {
+            log.info("redirect to {} failed: {}", address, e.getMessage());
+            return false;
+        }
+    }
+
+    private void redirectLeader(String address) {
+        RoutingTable current;
+        RoutingTable next;
+        do {
+            current = routingTable;
+            if (current.leader != null && current.leader.getUrl().equals("list://" + address)) {
+                return;
+            }
+            RoutingTableBuilder builder = new RoutingTableBuilder(current);
+            builder.keepNodes();
+            builder.keepFailUrls();
+            builder.leader(address);
+            next = builder.build();
+            // another thread changed the table meanwhile, the redirect applies to that one as well
+        } while (!swap(current, next));
+    }
+
+    /**
+     * Runs the query, and runs it again as long as the retry policy allows. Between attempts the client follows
+     * a redirect, or refreshes the routing table when a node couldn't be reached.
+     *
+     * @param readOnly whether the query only reads, writes are only retried if the server didn't run them
+     * @throws Exception the failure of the last attempt
+     */
+    private <E> E retryQuery(boolean readOnly, QueryInterface<E> queryInterface) throws Exception {
+        return retryQuery(readOnly, true, queryInterface);
+    }
+
+    /**
+     * @param resumable whether the query may run again after a part of it ran: single requests, and calls of
+     *                  several requests that continue after those the server answered. Other calls are only
+     *                  run again if none of their requests was sent.
+     */
+    private <E> E retryQuery(boolean readOnly, boolean resumable, QueryInterface<E> queryInterface) throws Exception {
+        RetryPolicy policy = retryPolicy;
+        Deadline deadline = Deadline.current();
+        for (int attempt = 1; ; attempt++) {
+            RoutingTable table = routingTable;
+            try {
+                E result = queryInterface.method();
+                policy.onSuccess();
+                return result;
+            } catch (Exception e) {
+                long backoff = retryBackoff(policy, e, readOnly, resumable, attempt, deadline);
+                if (backoff < 0) {
+                    throw e;
+                }
+                log.info("attempt {} failed, retrying in {}ms: {}", attempt, backoff, e.getMessage());
+                if (backoff > 0) {
+                    Thread.sleep(backoff);
+                }
+                prepareRetry(e, table);
+            }
+        }
+    }
+
+    // Runs the query and its retries under a deadline timeout seconds from now, every attempt gets the time left.
+    private <E> E retryQuery(boolean readOnly, double timeout, QueryInterface<E> queryInterface) throws Exception {
+        Deadline.Scope scope = Deadline.bind(Deadline.afterSeconds(timeout));
+        try {
+            return retryQuery(readOnly, queryInterface);
+        } finally {
+            scope.close();
+        }
+    }
+
+    // Async counterpart of retryQuery, the backoff doesn't hold a thread and the reconnection runs off the
+    // brpc callback thread.
+    private <E> CompletableFuture<E> retryQueryAsync(boolean readOnly, double timeout,
+                                                     QueryInterface<CompletableFuture<E>> queryInterface) {
+        CompletableFuture<E> result = new CompletableFuture<>();
+        Deadline deadline = Deadline.current();
+        Deadline callDeadline = Deadline.afterSeconds(timeout);
+        attemptAsync(readOnly, queryInterface, 1, callDeadline == null ? deadline : callDeadline.earliest(deadline), result);
+        return result;
+    }
+
+    private <E> void attemptAsync(boolean readOnly, QueryInterface<CompletableFuture<E>> queryInterface, int attempt,
+                                  Deadline deadline, CompletableFuture<E> result) {
+        RetryPolicy policy = retryPolicy;
+        RoutingTable table = routingTable;
+        CompletableFuture<E> future;
+        // later attempts run on other threads, the deadline goes with them
+        Deadline.Scope scope = Deadline.bind(deadline);
+        try {
+            future = queryInterface.method();
+        } catch (Exception e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        } finally {
+            scope.close();
+        }
+        future.whenComplete((value, e) -> {
+            if (e == null) {
+                policy.onSuccess();
+                result.complete(value);
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            long backoff = retryBackoff(policy, cause, readOnly, true, attempt, deadline);
+            if (backoff < 0) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            log.info("attempt {} failed, retrying in {}ms: {}", attempt, backoff, cause.getMessage());
+            RETRY_TIMER.schedule(() -> prepareRetryAsync(cause, table).whenComplete((ignored, refreshFailure) ->
+                attemptAsync(readOnly, queryInterface, attempt + 1, deadline, result)
+            ), backoff, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private static long retryBackoff(RetryPolicy policy, Throwable failure, boolean readOnly, boolean resumable,
+                                     int attempt, Deadline deadline) {
+        // a call without a node to go to sent nothing
+        boolean notSent = failure instanceof NoNodeAvailableException;
+        // a redirected request didn't run, but the requests before it in the same call did
+        boolean notRun = notSent || (resumable && failure instanceof TuGraphDbRedirectException);
+        if (!(resumable || notSent) || !policy.isRetryable(failure, readOnly, notRun)
+            || (deadline != null && deadline.isExpired())) {
+            return -1;
+        }
+        long backoff = policy.nextBackoff(attempt);
+        // a retry that would start after the deadline can't be answered in time
+        return deadline != null && backoff >= deadline.remainingMillis() ? -1 : backoff;
+    }
+
+    private void prepareRetry(Throwable failure, RoutingTable table) {
+        if (followRedirect(failure) || failure instanceof TuGraphDbRpcException) {
+            // the node answered, it is still there
+            return;
+        }
         try {
-            return queryInterface.method();
-        } catch (Exception e1) {
+            refreshConnection(table);
+        } catch (Exception e) {
+            log.info("refresh before retry failed: {}", e.getMessage());
+        }
+    }
+
+    // Runs prepareRetry on the refresh thread. The retries of all requests that failed with the same routing table
+    // wait for one refresh instead of each reconnecting.
+    private CompletableFuture<Void> prepareRetryAsync(Throwable failure, RoutingTable table) {
+        synchronized (refreshLock) {
+            CompletableFuture<Void> pending = pendingRefresh;
+            if (pending != null && pendingRefreshTable == table && !pending.isDone()) {
+                return pending;
+            }
             try {
-                refreshConnection();
-                return queryInterface.method();
-            } catch (Exception e2) {
-                log.error(e2.getMessage());
+                pending = CompletableFuture.runAsync(() -> prepareRetry(failure, table), refreshExecutor);
+            } catch (RejectedExecutionException e) {
+                // logged out, the retry finds no node
+                return CompletableFuture.completedFuture(null);
             }
+            pendingRefresh = pending;
+            pendingRefreshTable = table;
+            return pending;
         }
-        return null;
     }
 
-    private static class TuGraphSingleRpcClient {
+    private static ThreadPoolExecutor newRefreshExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "tugraph-retry-refresh");
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // No node of the HA group can take the request, nothing has been sent.
+    private static class NoNodeAvailableException extends Exception {
+        private static final long serialVersionUID = 2195513264738372045L;
+
+        NoNodeAvailableException(String message) {
+            super(message);
+        }
+    }
 
-        private static final int TIMEOUTINMS = 60 * 60 * 1000;
+    interface ClientCall<E> {
+        CompletableFuture<E> call(TuGraphSingleRpcClient client);
+    }
+
+    private boolean isHedged(boolean readOnly) {
+        return readOnly && hedgePolicy != null;
+    }
+
+    private <E> E joinHedgedRead(ClientCall<E> call) throws Exception {
+        try {
+            return hedgedRead(call).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    /**
+     * Sends the read to one node, and to another one as well if the first hasn't answered after the delay of
+     * the hedge policy. The first answer completes the read and the other call is cancelled, brpc can't abort
+     * a call on the wire, so its answer is just dropped. The read fails once all calls sent have failed.
+     */
+    private <E> CompletableFuture<E> hedgedRead(ClientCall<E> call) throws Exception {
+        HedgePolicy hedge = hedgePolicy;
+        Deadline deadline = Deadline.current();
+        TuGraphSingleRpcClient primary = getClient(true);
+        hedge.onRead();
+        CompletableFuture<E> result = new CompletableFuture<>();
+        // calls still waiting for an answer, 0 once the read failed
+        AtomicInteger running = new AtomicInteger(1);
+        List<CompletableFuture<E>> calls = new CopyOnWriteArrayList<>();
+        calls.add(race(call.call(primary), result, running));
+        ScheduledFuture<?> timer = RETRY_TIMER.schedule(() -> {
+            TuGraphSingleRpcClient secondary = otherNode(primary);
+            if (secondary == null || result.isDone() || !hedge.tryHedge()) {
+                return;
+            }
+            int current;
+            do {
+                current = running.get();
+                if (current == 0) {
+                    return;
+                }
+            } while (!running.compareAndSet(current, current + 1));
+            Deadline.Scope scope = Deadline.bind(deadline);
+            try {
+                calls.add(race(call.call(secondary), result, running));
+            } catch (Exception e) {
+                if (running.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            } finally {
+                scope.close();
+            }
+        }, hedge.delayNanos(primary.stats), TimeUnit.NANOSECONDS);
+        result.whenComplete((value, e) -> {
+            timer.cancel(false);
+            for (CompletableFuture<E> c : calls) {
+                c.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private static <E> CompletableFuture<E> race(CompletableFuture<E> call, CompletableFuture<E> result,
+                                                 AtomicInteger running) {
+        call.whenComplete((value, e) -> {
+            if (e == null) {
+                result.complete(value);
+            } else if (running.decrementAndGet() == 0) {
+                result.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+        return call;
+    }
+
+    // Another node for a hedged read, chosen by the read balancer if it doesn't pick the same one again.
+    private TuGraphSingleRpcClient otherNode(TuGraphSingleRpcClient primary) {
+        List<TuGraphSingleRpcClient> nodes = readNodes(routingTable);
+        if (nodes.size() < 2) {
+            return null;
+        }
+        TuGraphSingleRpcClient other = readBalancer.select(nodes);
+        if (other != primary) {
+            return other;
+        }
+        int index = nodes.indexOf(primary);
+        return nodes.get((index + 1) % nodes.size());
+    }
+
+    // The nodes of a routing table reads may go to.
+    private static final class ReadNodes {
+        final RoutingTable table;
+        final List<TuGraphSingleRpcClient> nodes;
+
+        ReadNodes(RoutingTable table, List<TuGraphSingleRpcClient> nodes) {
+            this.table = table;
+            this.nodes = nodes;
+        }
+    }
+
+    // Members of the HA group as last seen, never modified but replaced as a whole.
+    private static final class RoutingTable {
+        static final RoutingTable EMPTY = new RoutingTable(null, Collections.emptyList(), Collections.emptySet());
+
+        final TuGraphSingleRpcClient leader;
+        final List<TuGraphSingleRpcClient> nodes;
+        final Set<String> failUrls;
+
+        RoutingTable(TuGraphSingleRpcClient leader, List<TuGraphSingleRpcClient> nodes, Set<String> failUrls) {
+            this.leader = leader;
+            this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+            this.failUrls = Collections.unmodifiableSet(new LinkedHashSet<>(failUrls));
+        }
+
+        TuGraphSingleRpcClient find(String url) {
+            for (TuGraphSingleRpcClient rpcClient : nodes) {
+                if (rpcClient.getUrl().equals(url)) {
+                    return rpcClient;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class TuGraphSingleRpcClient implements ReadBalancer.Node {
+
+        // login and logout don't take a timeout from the caller
+        private static final int AUTH_TIMEOUT_MS = 10 * 1000;
+        // the client waits this much longer than the server may run a query, so the server reports its timeout
+        private static final int RPC_TIMEOUT_MARGIN_MS = 1000;
         private final RpcClient client;
-        private final TuGraphDbService tuGraphService;
+        private final TuGraphDbServiceAsync tuGraphService;
+        private final int maxRpcTimeoutMillis;
         private final String token;
         private final String url;
-        private long serverVersion;
-
-        public TuGraphSingleRpcClient(String url, String user, String pass) {
-            RpcClientOptions options = new RpcClientOptions();
-            options.setProtocolType(Options.ProtocolType.PROTOCOL_BAIDU_STD_VALUE);
-            options.setLoadBalanceType(LoadBalanceStrategy.LOAD_BALANCE_FAIR);
-            options.setWriteTimeoutMillis(TIMEOUTINMS);
-            options.setReadTimeoutMillis(TIMEOUTINMS);
-            client = new RpcClient(url, options);
-            tuGraphService = BrpcProxy.getProxy(client, TuGraphDbService.class);
+        // the highest version this node answered with
+        private final AtomicLong serverVersion = new AtomicLong();
+        private final NodeStats stats = new NodeStats();
+        private final VersionTracker versionTracker;
+
+        public TuGraphSingleRpcClient(String url, String user, String pass, VersionTracker versionTracker,
+                                      TuGraphClientOptions options) {
+            this.versionTracker = versionTracker;
+            this.maxRpcTimeoutMillis = options.getReadTimeoutMillis();
+            client = new RpcClient(url, options.toRpcClientOptions());
+            tuGraphService = BrpcProxy.getProxy(client, TuGraphDbServiceAsync.class);
             Lgraph.LoginRequest loginReq = Lgraph.LoginRequest.newBuilder().setUser(user).setPassword(pass).build();
             Lgraph.AuthRequest authReq = Lgraph.AuthRequest.newBuilder().setLogin(loginReq).build();
             Lgraph.AclRequest req = Lgraph.AclRequest.newBuilder().setAuthRequest(authReq).build();
             Lgraph.LGraphRequest request =
                     Lgraph.LGraphRequest.newBuilder().setAclRequest(req).setToken("").setIsWriteOp(false).build();
 
+            RpcContext.getContext().setReadTimeoutMillis(Math.min(maxRpcTimeoutMillis, AUTH_TIMEOUT_MS));
             Lgraph.LGraphResponse response = tuGraphService.HandleRequest(request);
             if (response.getErrorCode().getNumber() != Lgraph.LGraphResponse.ErrorCode.SUCCESS_VALUE) {
                 throw new TuGraphDbRpcException(response.getErrorCode(), response.getError(), "TuGraphRpcClient");
             }
             this.token = response.getAclResponse().getAuthResponse().getToken();
-            this.serverVersion = response.getServerVersion();
+            this.serverVersion.set(response.getServerVersion());
             this.url = url;
         }
 
-        private String handleGraphQueryRequest(Lgraph.ProtoGraphQueryType type, String query, String graph, double timeout, boolean withHeader) {
-            Lgraph.GraphQueryRequest queryRequest =
+        private Lgraph.LGraphRequest buildGraphQueryRequest(Lgraph.ProtoGraphQueryType type, String query, Map<String, Object> params,
+                                                            String graph, double timeout, boolean withHeader) {
+            Lgraph.GraphQueryRequest.Builder queryRequest =
                     Lgraph.GraphQueryRequest.newBuilder().setType(type).setQuery(query).setResultInJsonFormat(!withHeader)
-                            .setGraph(graph).setTimeout(timeout).build();
-            Lgraph.LGraphRequest request =
-                    Lgraph.LGraphRequest.newBuilder().setGraphQueryRequest(queryRequest).setToken(this.token)
-                            .setClientVersion(serverVersion).build();
-            Lgraph.LGraphResponse response = tuGraphService.HandleRequest(request);
+                            .setGraph(graph).setTimeout(limitTimeout(timeout));
+            if (params != null && !params.isEmpty()) {
+                Lgraph.ListOfProtoFieldData.Builder values = Lgraph.ListOfProtoFieldData.newBuilder();
+                for (Map.Entry<String, Object> param : params.entrySet()) {
+                    queryRequest.addParamNames(ProtoFieldDataConverter.toParamName(param.getKey()));
+                    values.addValues(ProtoFieldDataConverter.toProtoFieldData(param.getValue()));
+                }
+                queryRequest.setParamValues(values);
+            }
+            return Lgraph.LGraphRequest.newBuilder().setGraphQueryRequest(queryRequest).setToken(this.token)
+                    .setClientVersion(versionTracker.required()).build();
+        }
+
+        private String handleGraphQueryRequest(Lgraph.ProtoGraphQueryType type, String query, String graph, double timeout, boolean withHeader) {
+            return handleGraphQueryRequest(type, query, null, graph, timeout, withHeader);
+        }
+
+        private String handleGraphQueryRequest(Lgraph.ProtoGraphQueryType type, String query, Map<String, Object> params,
+                                               String graph, double timeout, boolean withHeader) {
+            Lgraph.LGraphRequest request = buildGraphQueryRequest(type, query, params, graph, timeout, withHeader);
+            Lgraph.LGraphResponse response = handleRequest(request);
+            return parseGraphQueryResponse(response, withHeader);
+        }
+
+        private CompletableFuture<String> handleGraphQueryRequestAsync(Lgraph.ProtoGraphQueryType type, String query,
+                                                                       Map<String, Object> params, String graph,
+                                                                       double timeout, boolean withHeader) {
+            Lgraph.LGraphRequest request = buildGraphQueryRequest(type, query, params, graph, timeout, withHeader);
+            return handleRequestAsync(request).thenApply(response -> parseGraphQueryResponse(response, withHeader));
+        }
+
+        private CompletableFuture<ResultCursor> handleGraphQueryRequestForCursorAsync(Lgraph.ProtoGraphQueryType type, String query,
+                                                                                     Map<String, Object> params, String graph,
+                                                                                     double timeout) {
+            Lgraph.LGraphRequest request = buildGraphQueryRequest(type, query, params, graph, timeout, true);
+            return handleRequestAsync(request).thenApply(response -> {
+                checkGraphQueryResponse(response);
+                return new ResultCursor(response.getGraphQueryResponse().getBinaryResult());
+            });
+        }
+
+        // The timeout of a query limited to the deadline of the call, if there is one.
+        private static double limitTimeout(double timeout) {
+            Deadline deadline = Deadline.current();
+            return deadline == null ? timeout : deadline.limit(timeout);
+        }
+
+        // Waits for the response as long as the server may run the query, or until the deadline of the call
+        // for requests without a timeout. Only applies to the next request sent from this thread.
+        private void setRpcTimeout(Lgraph.LGraphRequest request) {
+            double timeout = 0;
+            if (request.getReqCase() == Lgraph.LGraphRequest.ReqCase.GRAPH_QUERY_REQUEST) {
+                timeout = request.getGraphQueryRequest().getTimeout();
+            } else if (request.getReqCase() == Lgraph.LGraphRequest.ReqCase.PLUGIN_REQUEST
+                    && request.getPluginRequest().hasCallPluginRequest()) {
+                timeout = request.getPluginRequest().getCallPluginRequest().getTimeout();
+            }
+            if (timeout <= 0) {
+                timeout = limitTimeout(0);
+            }
+            if (timeout > 0) {
+                long millis = (long) Math.ceil(timeout * 1000) + RPC_TIMEOUT_MARGIN_MS;
+                RpcContext.getContext().setReadTimeoutMillis((int) Math.min(maxRpcTimeoutMillis, millis));
+            }
+        }
+
+        private Lgraph.LGraphResponse handleRequest(Lgraph.LGraphRequest request) {
+            setRpcTimeout(request);
+            long start = stats.start();
+            Lgraph.LGraphResponse response;
+            try {
+                response = tuGraphService.HandleRequest(request);
+            } catch (RuntimeException e) {
+                stats.finish(start, false);
+                throw e;
+            }
+            stats.finish(start, true);
+            observeVersion(response, versionTracker.current());
+            return checkRedirect(response);
+        }
+
+        private void observeVersion(Lgraph.LGraphResponse response, Bookmark bookmark) {
+            long version = response.getServerVersion();
+            serverVersion.accumulateAndGet(version, Math::max);
+            versionTracker.observe(version, bookmark);
+        }
+
+        // A node that is no longer the leader names the one that is, the HA client resends there.
+        private static Lgraph.LGraphResponse checkRedirect(Lgraph.LGraphResponse response) {
+            if (response.getErrorCode() == Lgraph.LGraphResponse.ErrorCode.REDIRECT) {
+                throw new TuGraphDbRedirectException(response.getRedirect(), response.getError(), "HandleRequest");
+            }
+            return response;
+        }
+
+        // Send the request without parking the caller thread, the future is completed by the brpc callback thread.
+        private CompletableFuture<Lgraph.LGraphResponse> handleRequestAsync(Lgraph.LGraphRequest request) {
+            CompletableFuture<Lgraph.LGraphResponse> future = new CompletableFuture<>();
+            Bookmark bookmark = versionTracker.current();
+            try {
+                setRpcTimeout(request);
+            } catch (DeadlineExceededException e) {
+                future.completeExceptionally(e);
+                return future;
+            }
+            long start = stats.start();
+            try {
+                tuGraphService.HandleRequest(request, new RpcCallback<Lgraph.LGraphResponse>() {
+                    @Override
+                    public void success(Lgraph.LGraphResponse response) {
+                        stats.finish(start, true);
+                        observeVersion(response, bookmark);
+                        try {
+                            future.complete(checkRedirect(response));
+                        } catch (TuGraphDbRedirectException e) {
+                            future.completeExceptionally(e);
+                        }
+                    }
+
+                    @Override
+                    public void fail(Throwable e) {
+                        stats.finish(start, false);
+                        future.completeExceptionally(e);
+                    }
+                });
+            } catch (Exception e) {
+                stats.finish(start, false);
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+
+        @Override
+        public int getInFlight() {
+            return stats.getInFlight();
+        }
+
+        @Override
+        public double getLatencyEwma() {
+            return stats.getLatencyEwma();
+        }
+
+        private ResultCursor handleGraphQueryRequestForCursor(Lgraph.ProtoGraphQueryType type, String query,
+                                                             Map<String, Object> params, String graph, double timeout) {
+            Lgraph.LGraphRequest request = buildGraphQueryRequest(type, query, params, graph, timeout, true);
+            Lgraph.LGraphResponse response = handleRequest(request);
+            checkGraphQueryResponse(response);
+            return new ResultCursor(response.getGraphQueryResponse().getBinaryResult());
+        }
+
+        private void checkGraphQueryResponse(Lgraph.LGraphResponse response) {
             if (response.getErrorCode().getNumber() != Lgraph.LGraphResponse.ErrorCode.SUCCESS_VALUE) {
                 throw new TuGraphDbRpcException(response.getErrorCode(), response.getError(), "handleGraphQueryRequest");
             }
-            serverVersion = Math.max(response.getServerVersion(), serverVersion);
+        }
+
+        private String parseGraphQueryResponse(Lgraph.LGraphResponse response, boolean withHeader) {
+            checkGraphQueryResponse(response);
             if (!withHeader){
                 return response.getGraphQueryResponse().getJsonResult();
             } else {
@@ -520,41 +1504,7 @@ public class TuGraphDbRpcClient {
                 for (Lgraph.ListOfProtoFieldData resultData : graphQueryResult.getResultList()) {
                     JSONArray resultItem = new JSONArray();
                     for (Lgraph.ProtoFieldData fieldData : resultData.getValuesList()) {
-                        switch (fieldData.getDataCase()) {
-                            case BOOLEAN:
-                                resultItem.add(fieldData.getBoolean());
-                                break;
-                            case INT8_:
-                                resultItem.add(fieldData.getInt8());
-                                break;
-                            case INT16_:
-                                resultItem.add(fieldData.getInt16());
-                                break;
-                            case INT32_:
-                                resultItem.add(fieldData.getInt32());
-                                break;
-                            case INT64_:
-                                resultItem.add(fieldData.getInt64());
-                                break;
-                            case SP:
-                                resultItem.add(fieldData.getSp());
-                                break;
-                            case DP:
-                                resultItem.add(fieldData.getDp());
-                                break;
-                            case DATE:
-                                resultItem.add(fieldData.getDate());
-                                break;
-                            case DATETIME:
-                                resultItem.add(fieldData.getDatetime());
-                                break;
-                            case STR:
-                                resultItem.add(fieldData.getStr());
-                                break;
-                            case BLOB:
-                                resultItem.add(fieldData.getBlob());
-                                break;
-                        }
+                        resultItem.add(ResultCursor.toJavaObject(fieldData));
                     }
                     result.add(resultItem);
                 }
@@ -772,6 +1722,18 @@ public class TuGraphDbRpcClient {
             return handleCypherRequest(cypher, graph, timeout, false);
         }
 
+        public String callCypher(String cypher, Map<String, Object> params, String graph, double timeout, boolean withHeader) {
+            return handleGraphQueryRequest(Lgraph.ProtoGraphQueryType.CYPHER, cypher, params, graph, timeout, withHeader);
+        }
+
+        public ResultCursor callCypherForCursor(String cypher, Map<String, Object> params, String graph, double timeout) {
+            return handleGraphQueryRequestForCursor(Lgraph.ProtoGraphQueryType.CYPHER, cypher, params, graph, timeout);
+        }
+
+        public ResultCursor callGqlForCursor(String gql, String graph, double timeout) {
+            return handleGraphQueryRequestForCursor(Lgraph.ProtoGraphQueryType.GQL, gql, null, graph, timeout);
+        }
+
         public String callGql(String gql, String graph, double timeout, boolean withHeader) {
             return handleGqlRequest(gql, graph, timeout, withHeader);
         }
@@ -780,6 +1742,28 @@ public class TuGraphDbRpcClient {
             return handleGqlRequest(gql, graph, timeout, false);
         }
 
+        public CompletableFuture<String> callCypherAsync(String cypher, String graph, double timeout, boolean withHeader) {
+            return handleGraphQueryRequestAsync(Lgraph.ProtoGraphQueryType.CYPHER, cypher, null, graph, timeout, withHeader);
+        }
+
+        public CompletableFuture<String> callCypherAsync(String cypher, Map<String, Object> params, String graph,
+                                                         double timeout, boolean withHeader) {
+            return handleGraphQueryRequestAsync(Lgraph.ProtoGraphQueryType.CYPHER, cypher, params, graph, timeout, withHeader);
+        }
+
+        public CompletableFuture<ResultCursor> callCypherForCursorAsync(String cypher, Map<String, Object> params,
+                                                                        String graph, double timeout) {
+            return handleGraphQueryRequestForCursorAsync(Lgraph.ProtoGraphQueryType.CYPHER, cypher, params, graph, timeout);
+        }
+
+        public CompletableFuture<ResultCursor> callGqlForCursorAsync(String gql, String graph, double timeout) {
+            return handleGraphQueryRequestForCursorAsync(Lgraph.ProtoGraphQueryType.GQL, gql, null, graph, timeout);
+        }
+
+        public CompletableFuture<String> callGqlAsync(String gql, String graph, double timeout, boolean withHeader) {
+            return handleGraphQueryRequestAsync(Lgraph.ProtoGraphQueryType.GQL, gql, null, graph, timeout, withHeader);
+        }
+
         public String callProcedure(String procedureType, String procedureName, String param, double procedureTimeOut,
                                     boolean inProcess, String graph) {
             Lgraph.PluginRequest.PluginType type =
@@ -798,14 +1782,33 @@ public class TuGraphDbRpcClient {
 
         public ByteString callProcedure(Lgraph.PluginRequest.PluginType type, String name, ByteString param,
                                         String graph, double timeout, boolean inProcess, boolean withHeader) {
+            Lgraph.LGraphRequest request = buildCallPluginRequest(type, name, param, graph, timeout, inProcess, withHeader);
+            Lgraph.LGraphResponse response = handleRequest(request);
+            return parseCallPluginResponse(response, withHeader);
+        }
+
+        public CompletableFuture<String> callProcedureAsync(String procedureType, String procedureName, String param,
+                                                            double procedureTimeOut, boolean inProcess, String graph,
+                                                            boolean withHeader) {
+            Lgraph.PluginRequest.PluginType type =
+                    "CPP".equals(procedureType) ? Lgraph.PluginRequest.PluginType.CPP : Lgraph.PluginRequest.PluginType.PYTHON;
+            Lgraph.LGraphRequest request = buildCallPluginRequest(type, procedureName, ByteString.copyFromUtf8(param), graph,
+                    procedureTimeOut, inProcess, withHeader);
+            return handleRequestAsync(request).thenApply(response -> parseCallPluginResponse(response, withHeader).toStringUtf8());
+        }
+
+        private Lgraph.LGraphRequest buildCallPluginRequest(Lgraph.PluginRequest.PluginType type, String name, ByteString param,
+                                                            String graph, double timeout, boolean inProcess, boolean withHeader) {
             Lgraph.CallPluginRequest vreq =
-                    Lgraph.CallPluginRequest.newBuilder().setName(name).setParam(param).setTimeout(timeout)
+                    Lgraph.CallPluginRequest.newBuilder().setName(name).setParam(param).setTimeout(limitTimeout(timeout))
                             .setInProcess(inProcess).setResultInJsonFormat(withHeader).build();
             Lgraph.PluginRequest req =
                     Lgraph.PluginRequest.newBuilder().setType(type).setCallPluginRequest(vreq).setGraph(graph).build();
-            Lgraph.LGraphRequest request =
-                    Lgraph.LGraphRequest.newBuilder().setPluginRequest(req).setToken(this.token).build();
-            Lgraph.LGraphResponse response = tuGraphService.HandleRequest(request);
+            return Lgraph.LGraphRequest.newBuilder().setPluginRequest(req).setToken(this.token)
+                    .setClientVersion(versionTracker.required()).build();
+        }
+
+        private ByteString parseCallPluginResponse(Lgraph.LGraphResponse response, boolean withHeader) {
             if (response.getErrorCode().getNumber() != Lgraph.LGraphResponse.ErrorCode.SUCCESS_VALUE) {
                 throw new TuGraphDbRpcException(response.getErrorCode(), response.getError(), "CallProcedure");
             }
@@ -824,7 +1827,7 @@ public class TuGraphDbRpcClient {
                     Lgraph.PluginRequest.newBuilder().setType(type).setListPluginRequest(vreq).setGraph(graph).setVersion(version).build();
             Lgraph.LGraphRequest request =
                     Lgraph.LGraphRequest.newBuilder().setIsWriteOp(false).setPluginRequest(req).setToken(this.token).build();
-            Lgraph.LGraphResponse response = tuGraphService.HandleRequest(request);
+            Lgraph.LGraphResponse response = handleRequest(request);
             if (response.getErrorCode().getNumber() != Lgraph.LGraphResponse.ErrorCode.SUCCESS_VALUE) {
                 throw new TuGraphDbRpcException(response.getErrorCode(), response.getError(), "listProcedures");
             }
@@ -869,7 +1872,7 @@ public class TuGraphDbRpcClient {
                     Lgraph.PluginRequest.newBuilder().setType(type).setLoadPluginRequest(lpRequest).setGraph(graph).setVersion(version).build();
             Lgraph.LGraphRequest request =
                     Lgraph.LGraphRequest.newBuilder().setIsWriteOp(true).setPluginRequest(req).setToken(this.token).build();
-            Lgraph.LGraphResponse response = tuGraphService.HandleRequest(request);
+            Lgraph.LGraphResponse response = handleRequest(request);
             if (response.getErrorCode().getNumber() != Lgraph.LGraphResponse.ErrorCode.SUCCESS_VALUE) {
                 throw new TuGraphDbRpcException(response.getErrorCode(), response.getError(), "loadProcedure");
             }
@@ -885,52 +1888,122 @@ public class TuGraphDbRpcClient {
                     Lgraph.PluginRequest.newBuilder().setType(type).setDelPluginRequest(dpRequest).setGraph(graph).build();
             Lgraph.LGraphRequest request =
                     Lgraph.LGraphRequest.newBuilder().setIsWriteOp(true).setPluginRequest(req).setToken(this.token).build();
-            Lgraph.LGraphResponse response = tuGraphService.HandleRequest(request);
+            Lgraph.LGraphResponse response = handleRequest(request);
             if (response.getErrorCode().getNumber() != Lgraph.LGraphResponse.ErrorCode.SUCCESS_VALUE) {
                 throw new TuGraphDbRpcException(response.getErrorCode(), response.getError(), "deleteProcedure");
             }
             return true;
         }
 
+        public List<Long> addVertexes(String label, List<String> fields, List<List<Object>> vertexes, String graph) {
+            Lgraph.AddVertexesRequest.Builder vreq = Lgraph.AddVertexesRequest.newBuilder().setLabel(label).addAllFields(fields);
+            for (List<Object> vertex : vertexes) {
+                vreq.addVertexes(ProtoFieldDataConverter.toListOfProtoFieldData(vertex));
+            }
+            Lgraph.GraphApiRequest req = Lgraph.GraphApiRequest.newBuilder().setAddVertexesRequest(vreq).setGraph(graph).build();
+            Lgraph.LGraphResponse response = handleGraphApiRequest(req, "addVertexes");
+            return checkAdded(response.getGraphApiResponse().getAddVertexesResponse().getVidList(),
+                    vertexes.size(), "addVertexes");
+        }
+
+        public List<Long> addEdges(String label, List<String> fields, List<EdgeData> edges, String graph) {
+            Lgraph.AddEdgesRequest.Builder ereq = Lgraph.AddEdgesRequest.newBuilder().setLabel(label).addAllFields(fields);
+            for (EdgeData edge : edges) {
+                ereq.addEdges(Lgraph.SrcDstFieldValues.newBuilder().setSrc(edge.getSrc()).setDst(edge.getDst())
+                        .setValues(ProtoFieldDataConverter.toListOfProtoFieldData(edge.getValues())));
+            }
+            Lgraph.GraphApiRequest req = Lgraph.GraphApiRequest.newBuilder().setAddEdgesRequest(ereq).setGraph(graph).build();
+            Lgraph.LGraphResponse response = handleGraphApiRequest(req, "addEdges");
+            return checkAdded(response.getGraphApiResponse().getAddEdgesResponse().getEidsList(),
+                    edges.size(), "addEdges");
+        }
+
+        // The server answers a row it couldn't add with the id -1, the call must not look successful then.
+        private List<Long> checkAdded(List<Long> ids, int rows, String method) {
+            List<Integer> failedRows = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (ids.get(i) < 0) {
+                    failedRows.add(i);
+                }
+            }
+            if (!failedRows.isEmpty() || ids.size() != rows) {
+                throw new TuGraphDbRpcException(Lgraph.LGraphResponse.ErrorCode.FAILED,
+                        "failed to add rows " + failedRows + " of " + rows + ", got " + ids.size() + " ids", method);
+            }
+            return ids;
+        }
+
+        private Lgraph.LGraphResponse handleGraphApiRequest(Lgraph.GraphApiRequest req, String method) {
+            Lgraph.LGraphRequest request = Lgraph.LGraphRequest.newBuilder().setIsWriteOp(true).setGraphApiRequest(req)
+                    .setToken(this.token).setClientVersion(versionTracker.required()).build();
+            Lgraph.LGraphResponse response = handleRequest(request);
+            if (response.getErrorCode().getNumber() != Lgraph.LGraphResponse.ErrorCode.SUCCESS_VALUE) {
+                throw new TuGraphDbRpcException(response.getErrorCode(), response.getError(), method);
+            }
+            return response;
+        }
+
         public boolean importSchemaFromContent(String schema, String graph, double timeout) throws InputException, InvalidProtocolBufferException {
-            byte[] textByte = schema.getBytes(StandardCharsets.UTF_8);
-            String schema64 = Base64.getEncoder().encodeToString(textByte);
-            String sb = "CALL db.importor.schemaImportor('"
-                    + schema64
-                    + "')";
-            String res = callCypher(sb, graph, timeout);
-            // this built-in procedure always returns "[]" for null.
-            if (!JSONArray.parseArray(res).isEmpty()) {
-                throw new InputException(res);
+            Lgraph.SchemaRequest req = Lgraph.SchemaRequest.newBuilder().setGraph(graph).setDescription(schema).build();
+            Lgraph.LGraphRequest request =
+                    Lgraph.LGraphRequest.newBuilder().setIsWriteOp(true).setSchemaRequest(req).setToken(this.token).build();
+            Lgraph.LGraphResponse response = handleImportRequest(request, timeout);
+            if (response.getErrorCode().getNumber() != Lgraph.LGraphResponse.ErrorCode.SUCCESS_VALUE) {
+                throw new TuGraphDbRpcException(response.getErrorCode(), response.getError(), "importSchema");
+            }
+            if (!StringUtils.isEmpty(response.getSchemaResponse().getErrorMessage())) {
+                throw new InputException(response.getSchemaResponse().getErrorMessage());
             }
             return true;
         }
 
         public boolean importDataFromContent(String desc, String data, String delimiter,
                                              boolean continueOnError, int threadNums, String graph, double timeout) {
-            byte[] textByteDesc = desc.getBytes(StandardCharsets.UTF_8);
-            byte[] textByteData = data.getBytes(StandardCharsets.UTF_8);
-            String desc64 = Base64.getEncoder().encodeToString(textByteDesc);
-            String data64 = Base64.getEncoder().encodeToString(textByteData);
-            String sb = "CALL db.importor.dataImportor('"
-                    + desc64
-                    + "','"
-                    + data64
-                    + "',"
-                    + continueOnError
-                    + ","
-                    + threadNums
-                    + ",'"
-                    + parseDelimiter(delimiter)
-                    + "')";
-            String res = callCypher(sb, graph, timeout);
-            // this built-in procedure always returns "[]" for null.
-            if (!JSONArray.parseArray(res).isEmpty()) {
-                throw new InputException(res);
-            }
+            Lgraph.LGraphRequest request = buildImportRequest(ByteString.copyFromUtf8(desc), ByteString.copyFromUtf8(data),
+                    parseDelimiter(delimiter), continueOnError, graph);
+            checkImportResponse(handleImportRequest(request, timeout));
             return true;
         }
 
+        // Import and schema requests carry no timeout, the client waits at most timeout seconds for the answer.
+        private Lgraph.LGraphResponse handleImportRequest(Lgraph.LGraphRequest request, double timeout) {
+            Deadline.Scope scope = Deadline.bind(Deadline.afterSeconds(timeout));
+            try {
+                return handleRequest(request);
+            } finally {
+                scope.close();
+            }
+        }
+
+        // Sends a chunk from an importer thread under the deadline of the import call and its own timeout.
+        private CompletableFuture<Lgraph.LGraphResponse> handleImportRequestAsync(Lgraph.LGraphRequest request,
+                                                                                Deadline callDeadline, double timeout) {
+            Deadline deadline = Deadline.afterSeconds(timeout);
+            Deadline.Scope scope = Deadline.bind(deadline == null ? callDeadline : deadline.earliest(callDeadline));
+            try {
+                return handleRequestAsync(request);
+            } finally {
+                scope.close();
+            }
+        }
+
+        // The chunk is sent as is, ImportRequest.data is a proto2 string the server reads as raw bytes.
+        private Lgraph.LGraphRequest buildImportRequest(ByteString desc, ByteString data, String delimiter,
+                                                        boolean continueOnError, String graph) {
+            Lgraph.ImportRequest req = Lgraph.ImportRequest.newBuilder().setGraph(graph).setDescriptionBytes(desc)
+                    .setDataBytes(data).setContinueOnError(continueOnError).setDelimiter(delimiter).build();
+            return Lgraph.LGraphRequest.newBuilder().setIsWriteOp(true).setImportRequest(req).setToken(this.token).build();
+        }
+
+        private void checkImportResponse(Lgraph.LGraphResponse response) {
+            if (response.getErrorCode().getNumber() != Lgraph.LGraphResponse.ErrorCode.SUCCESS_VALUE) {
+                throw new TuGraphDbRpcException(response.getErrorCode(), response.getError(), "importData");
+            }
+            if (!StringUtils.isEmpty(response.getImportResponse().getErrorMessage())) {
+                throw new InputException(response.getImportResponse().getErrorMessage());
+            }
+        }
+
         public boolean importSchemaFromFile(String schemaFile, String graph, double timeout) throws IOException {
             String content = textFileReader(schemaFile);
             if ("".equals(content)) {
@@ -942,21 +2015,34 @@ public class TuGraphDbRpcClient {
             }
             JSONObject schema = new JSONObject();
             schema.put("schema", jsonObject.getJSONArray("schema"));
-            byte[] textByte = schema.toJSONString().getBytes(StandardCharsets.UTF_8);
-            String schema64 = Base64.getEncoder().encodeToString(textByte);
-            String sb = "CALL db.importor.schemaImportor('"
-                    + schema64
-                    + "')";
-            String res = callCypher(sb, graph, timeout);
-            // this built-in procedure always returns "[]" for null.
-            if (!JSONArray.parseArray(res).isEmpty()) {
-                throw new InputException(res);
-            }
-            return true;
+            return importSchemaFromContent(schema.toJSONString(), graph, timeout);
         }
 
         public boolean importDataFromFile(String confFile, String delimiter, boolean continueOnError, int threadNums,
                                           int skipPackages, String graph, double timeout) throws IOException {
+            return importDataFromFile(confFile, delimiter, continueOnError, skipPackages, graph, timeout, 1);
+        }
+
+        public boolean importDataFromFile(String confFile, String delimiter, boolean continueOnError,
+                                          int skipPackages, String graph, double timeout, int maxInFlight) throws IOException {
+            return importDataFromFile(confFile, delimiter, continueOnError, skipPackages, graph, timeout, maxInFlight, null);
+        }
+
+        public boolean importDataFromFile(String confFile, String delimiter, boolean continueOnError,
+                                          String graph, double timeout, int maxInFlight, String checkpointFile) throws IOException {
+            if (checkpointFile == null) {
+                return importDataFromFile(confFile, delimiter, continueOnError, 0, graph, timeout, maxInFlight, null);
+            }
+            try (ImportCheckpoint checkpoint = new ImportCheckpoint(checkpointFile)) {
+                importDataFromFile(confFile, delimiter, continueOnError, 0, graph, timeout, maxInFlight, checkpoint);
+                checkpoint.delete();
+            }
+            return true;
+        }
+
+        private boolean importDataFromFile(String confFile, String delimiter, boolean continueOnError, int skipPackages,
+                                           String graph, double timeout, int maxInFlight, ImportCheckpoint checkpoint)
+                throws IOException {
             String content = textFileReader(confFile);
             if ("".equals(content)) {
                 throw new InputException("Illegal conf_file : " + confFile);
@@ -972,49 +2058,17 @@ public class TuGraphDbRpcClient {
             }
             Collections.sort(files);
 
-            for (CsvDesc cd : files) {
-                byte[] desc = cd.dump(false);
-                boolean isFirstPackage = true;
-                FileCutter cutter = new FileCutter(cd.getPath());
-                byte[] buf;
-                for (buf = cutter.cut(); buf != null; isFirstPackage = false) {
-                    if (skipPackages > 0) {
-                        --skipPackages;
-                        continue;
-                    }
-                    if (isFirstPackage) {
-                        int lines = cutter.lineCount(buf);
-                        if (lines < cd.getHeaderLine()) {
-                            throw new InputException("HEADER too large");
-                        }
-                    } else {
-                        cd.setHeaderLine(0);
-                        desc = cd.dump(false);
-                    }
-                    String desc64 = Base64.getEncoder().encodeToString(desc);
-                    String content64 = Base64.getEncoder().encodeToString(buf);
-                    String sb = "CALL db.importor.dataImportor('"
-                            + desc64
-                            + "','"
-                            + content64
-                            + "',"
-                            + continueOnError
-                            + ","
-                            + threadNums
-                            + ",'"
-                            + parseDelimiter(delimiter)
-                            + "')";
-                    String res = callCypher(sb, graph, timeout);
-                    if (!JSONArray.parseArray(res).isEmpty()) {
-                        throw new InputException(res);
-                    }
-                    // this built-in procedure always returns "[]" for null.
-                    if (!JSONArray.parseArray(res).isEmpty()) {
-                        throw new InputException(res);
-                    }
-                    buf = cutter.cut();
-                }
-            }
+            String parsedDelimiter = parseDelimiter(delimiter);
+            // chunks are sent from the importer's threads, the deadline of this call goes with them
+            Deadline callDeadline = Deadline.current();
+            PipelinedImporter<Lgraph.LGraphRequest> importer = new PipelinedImporter<>(chunk -> {
+                byte[] desc = chunk.file.dump(false, chunk.isFirst() ? chunk.file.getHeaderLine() : 0);
+                // the chunk is a read only slice of the mapped file, wrapping it spares another copy
+                return buildImportRequest(ByteString.copyFrom(desc), UnsafeByteOperations.unsafeWrap(chunk.data),
+                        parsedDelimiter, continueOnError, graph);
+            }, request -> handleImportRequestAsync(request, callDeadline, timeout).thenAccept(this::checkImportResponse),
+                    maxInFlight, checkpoint);
+            importer.run(files, skipPackages);
             return true;
         }
 
@@ -1026,6 +2080,7 @@ public class TuGraphDbRpcClient {
             Lgraph.LGraphRequest request =
                     Lgraph.LGraphRequest.newBuilder().setAclRequest(req).setToken(this.token).setIsWriteOp(false).build();
 
+            RpcContext.getContext().setReadTimeoutMillis(Math.min(maxRpcTimeoutMillis, AUTH_TIMEOUT_MS));
             Lgraph.LGraphResponse response = tuGraphService.HandleRequest(request);
             if (response.getErrorCode().getNumber() != Lgraph.LGraphResponse.ErrorCode.SUCCESS_VALUE) {
                 throw new TuGraphDbRpcException(response.getErrorCode(), response.getError(), "TuGraphRpcClient");
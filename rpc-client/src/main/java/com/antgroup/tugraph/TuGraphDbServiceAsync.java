@@ -0,0 +1,17 @@
+package com.antgroup.tugraph;
+
+import com.baidu.brpc.client.RpcCallback;
+import com.baidu.brpc.protocol.BrpcMeta;
+import lgraph.Lgraph;
+
+import java.util.concurrent.Future;
+
+public interface TuGraphDbServiceAsync extends TuGraphDbService {
+    /**
+     * brpc-java识别返回Future且最后一个参数为RpcCallback的方法为异步调用，
+     * 请求发出后立即返回，响应到达时在brpc回调线程中调用callback。
+     */
+    @BrpcMeta(serviceName = "lgraph.LGraphRPCService", methodName = "HandleRequest")
+    Future<Lgraph.LGraphResponse> HandleRequest(Lgraph.LGraphRequest request,
+                                                RpcCallback<Lgraph.LGraphResponse> callback);
+}
@@ -0,0 +1,54 @@
+package com.antgroup.tugraph;
+
+/**
+ * Tracks the highest server version any node of a client has answered with. Requests carry it as their
+ * client_version, a node that hasn't applied that version yet waits for it before it runs the request, so
+ * reads on followers see the writes made through the client before.
+ *
+ * A bookmark in use on the calling thread replaces the client wide version for the requests made there.
+ */
+class VersionTracker {
+    private final Bookmark highWaterMark = new Bookmark();
+    private final ThreadLocal<Bookmark> bookmark = new ThreadLocal<>();
+
+    long getHighWaterMark() {
+        return highWaterMark.getVersion();
+    }
+
+    /**
+     * @return the bookmark in use on the calling thread, or null
+     */
+    Bookmark current() {
+        return bookmark.get();
+    }
+
+    /**
+     * @return the version a request made on the calling thread requires
+     */
+    long required() {
+        Bookmark b = bookmark.get();
+        return b != null ? b.getVersion() : highWaterMark.getVersion();
+    }
+
+    /**
+     * @param sessionBookmark the bookmark in use when the request was sent, or null
+     */
+    void observe(long version, Bookmark sessionBookmark) {
+        highWaterMark.advance(version);
+        if (sessionBookmark != null) {
+            sessionBookmark.advance(version);
+        }
+    }
+
+    Bookmark.Scope use(Bookmark b) {
+        Bookmark previous = bookmark.get();
+        bookmark.set(b);
+        return () -> {
+            if (previous == null) {
+                bookmark.remove();
+            } else {
+                bookmark.set(previous);
+            }
+        };
+    }
+}
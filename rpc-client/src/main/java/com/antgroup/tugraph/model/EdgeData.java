@@ -0,0 +1,21 @@
+package com.antgroup.tugraph.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One edge of an addEdges call, values are given in the order of the fields of the call.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class EdgeData {
+    private long src;
+
+    private long dst;
+
+    private List<Object> values;
+}
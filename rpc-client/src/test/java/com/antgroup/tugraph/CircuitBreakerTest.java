@@ -0,0 +1,106 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CircuitBreakerTest {
+
+    private final CircuitBreaker breaker = new CircuitBreaker();
+    private final List<CircuitBreaker.State> changes = new ArrayList<>();
+
+    {
+        breaker.setListener(() -> changes.add(breaker.getState()));
+    }
+
+    @Test
+    public void opensAfterFailuresInARow() {
+        for (int i = 1; i < CircuitBreaker.FAILURE_THRESHOLD; i++) {
+            breaker.record(false);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.record(false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.allowsRequests()).isFalse();
+        assertThat(changes).containsExactly(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void aSuccessStartsTheFailuresInARowOver() {
+        for (int i = 0; i < 2; i++) {
+            for (int j = 1; j < CircuitBreaker.FAILURE_THRESHOLD; j++) {
+                breaker.record(false);
+            }
+            breaker.record(true);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void opensWhenHalfTheWindowFailed() {
+        for (int i = 0; i < CircuitBreaker.WINDOW / 2 - 1; i++) {
+            breaker.record(false);
+            breaker.record(true);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.record(false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void halfOpenClosesAfterEnoughSuccesses() {
+        breaker.eject();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        // the node rests a while before it is probed
+        assertThat(breaker.isProbeDue()).isFalse();
+
+        breaker.probeSucceeded();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.allowsRequests()).isTrue();
+        for (int i = 1; i < CircuitBreaker.HALF_OPEN_SUCCESSES; i++) {
+            breaker.record(true);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.record(true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(changes).containsExactly(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN,
+                CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void aFailureWhileHalfOpenOpensAgain() {
+        breaker.eject();
+        breaker.probeSucceeded();
+        breaker.record(false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isProbeDue()).isFalse();
+
+        // failures while open change nothing
+        breaker.record(false);
+        assertThat(changes).containsExactly(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN,
+                CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void failedProbeKeepsItOpen() {
+        breaker.eject();
+        breaker.probeFailed();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isProbeDue()).isFalse();
+    }
+
+    @Test
+    public void onlyAClosedBreakerIsEjectedAndOnlyAnOpenOneProbed() {
+        breaker.probeSucceeded();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.eject();
+        breaker.probeSucceeded();
+        breaker.eject();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(changes).containsExactly(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN);
+    }
+}
@@ -0,0 +1,85 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class DeadlineTest {
+
+    @After
+    public void nothingBound() {
+        assertThat(Deadline.current()).isNull();
+    }
+
+    @Test
+    public void remainingTime() {
+        Deadline deadline = Deadline.after(10, TimeUnit.SECONDS);
+        assertThat(deadline.remainingMillis()).isBetween(9000L, 10000L);
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(Deadline.after(-1, TimeUnit.MILLISECONDS).isExpired()).isTrue();
+    }
+
+    @Test
+    public void onlyPositiveTimeoutsHaveADeadline() {
+        assertThat(Deadline.afterSeconds(0)).isNull();
+        assertThat(Deadline.afterSeconds(-1)).isNull();
+        assertThat(Deadline.afterSeconds(2).remainingMillis()).isBetween(1000L, 2000L);
+    }
+
+    @Test
+    public void earliestOfTwo() {
+        Deadline soon = Deadline.after(1, TimeUnit.SECONDS);
+        Deadline late = Deadline.after(1, TimeUnit.HOURS);
+        assertThat(soon.earliest(late)).isSameAs(soon);
+        assertThat(late.earliest(soon)).isSameAs(soon);
+        assertThat(late.earliest(null)).isSameAs(late);
+    }
+
+    @Test
+    public void limitCapsTheQueryTimeout() {
+        Deadline deadline = Deadline.after(10, TimeUnit.SECONDS);
+        assertThat(deadline.limit(2)).isEqualTo(2);
+        assertThat(deadline.limit(60)).isCloseTo(10, within(1.0));
+        // no timeout of its own, the query gets the time left
+        assertThat(deadline.limit(0)).isCloseTo(10, within(1.0));
+
+        assertThatThrownBy(() -> Deadline.after(0, TimeUnit.SECONDS).limit(5))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+    @Test
+    public void nestedBindingsKeepTheEarlierDeadline() {
+        Deadline soon = Deadline.after(1, TimeUnit.SECONDS);
+        Deadline late = Deadline.after(1, TimeUnit.HOURS);
+        try (Deadline.Scope outer = Deadline.bind(soon)) {
+            assertThat(Deadline.current()).isSameAs(soon);
+            try (Deadline.Scope inner = Deadline.bind(late)) {
+                assertThat(Deadline.current()).isSameAs(soon);
+            }
+            Deadline sooner = Deadline.after(1, TimeUnit.MILLISECONDS);
+            try (Deadline.Scope inner = Deadline.bind(sooner)) {
+                assertThat(Deadline.current()).isSameAs(sooner);
+            }
+            assertThat(Deadline.current()).isSameAs(soon);
+        }
+    }
+
+    @Test
+    public void bindingNoDeadlineKeepsTheCurrentOne() {
+        Deadline deadline = Deadline.after(1, TimeUnit.SECONDS);
+        try (Deadline.Scope outer = Deadline.bind(deadline)) {
+            try (Deadline.Scope inner = Deadline.bind(null)) {
+                assertThat(Deadline.current()).isSameAs(deadline);
+            }
+            assertThat(Deadline.current()).isSameAs(deadline);
+        }
+        try (Deadline.Scope scope = Deadline.bind(null)) {
+            assertThat(Deadline.current()).isNull();
+        }
+    }
+}
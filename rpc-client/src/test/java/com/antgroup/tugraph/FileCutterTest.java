@@ -0,0 +1,135 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+public class FileCutterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File write(byte[]... parts) throws IOException {
+        File file = folder.newFile();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            for (byte[] part : parts) {
+                out.write(part);
+            }
+        }
+        return file;
+    }
+
+    // a line of length bytes including its line break
+    private static byte[] line(int length) {
+        byte[] line = new byte[length];
+        Arrays.fill(line, (byte) 'x');
+        line[length - 1] = '\n';
+        return line;
+    }
+
+    private static byte[] lines(int count, int length) {
+        byte[] lines = new byte[count * length];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(line(length), 0, lines, i * length, length);
+        }
+        return lines;
+    }
+
+    private static byte[] bytes(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.remaining()];
+        buf.duplicate().get(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void emptyFileHasNoChunks() throws IOException {
+        try (FileCutter cutter = new FileCutter(write().getPath())) {
+            assertThat(cutter.cut()).isNull();
+        }
+    }
+
+    @Test
+    public void smallFileIsOneChunkWithItsLastLineUnterminated() throws IOException {
+        byte[] content = "a,b\nc,d".getBytes(StandardCharsets.UTF_8);
+        try (FileCutter cutter = new FileCutter(write(content).getPath())) {
+            ByteBuffer chunk = cutter.cut();
+            assertThat(bytes(chunk)).isEqualTo(content);
+            assertThat(chunk.isReadOnly()).isTrue();
+            assertThat(cutter.lineCount(chunk)).isEqualTo(1);
+            assertThat(cutter.position()).isEqualTo(content.length);
+            assertThat(cutter.cut()).isNull();
+        }
+    }
+
+    @Test
+    public void chunksEndAtTheLastLineWithinTheSoftLimit() throws IOException {
+        int lineLength = 1000;
+        int linesPerChunk = FileCutter.ONLINE_IMPORT_LIMIT_SOFT / lineLength;
+        File file = write(lines(linesPerChunk + 10, lineLength));
+        try (FileCutter cutter = new FileCutter(file.getPath())) {
+            ByteBuffer first = cutter.cut();
+            assertThat(first.remaining()).isEqualTo(linesPerChunk * lineLength);
+            assertThat(cutter.lineCount(first)).isEqualTo(linesPerChunk);
+            ByteBuffer second = cutter.cut();
+            assertThat(second.remaining()).isEqualTo(10 * lineLength);
+            assertThat(cutter.cut()).isNull();
+            assertThat(cutter.position()).isEqualTo(file.length());
+        }
+    }
+
+    @Test
+    public void lineCrossingTheSoftLimitEndsTheChunk() throws IOException {
+        byte[] longLine = line(FileCutter.ONLINE_IMPORT_LIMIT_SOFT + 100);
+        File file = write(longLine, lines(3, 10));
+        try (FileCutter cutter = new FileCutter(file.getPath())) {
+            assertThat(cutter.cut().remaining()).isEqualTo(longLine.length);
+            assertThat(cutter.cut().remaining()).isEqualTo(30);
+        }
+    }
+
+    @Test
+    public void lineBeyondTheHardLimitIsRejected() throws IOException {
+        File file = write(line(FileCutter.ONLINE_IMPORT_LIMIT_HARD + 1), lines(1, 10));
+        try (FileCutter cutter = new FileCutter(file.getPath())) {
+            assertThatThrownBy(cutter::cut).isInstanceOf(InputException.class).hasMessage("too long input line");
+        }
+    }
+
+    @Test
+    public void seekContinuesAtTheOffset() throws IOException {
+        File file = write("a\nbb\nccc\n".getBytes(StandardCharsets.UTF_8));
+        try (FileCutter cutter = new FileCutter(file.getPath())) {
+            cutter.seek(5);
+            assertThat(cutter.position()).isEqualTo(5);
+            assertThat(new String(bytes(cutter.cut()), StandardCharsets.UTF_8)).isEqualTo("ccc\n");
+            assertThat(cutter.cut()).isNull();
+        }
+    }
+
+    @Test
+    public void crcCoversTheRange() throws IOException {
+        File file = write("a\nbb\nccc\n".getBytes(StandardCharsets.UTF_8));
+        byte[] content = Files.readAllBytes(file.toPath());
+        CRC32 expected = new CRC32();
+        expected.update(content, 2, 3);
+        try (FileCutter cutter = new FileCutter(file.getPath())) {
+            assertThat(cutter.crc(2, 3)).isEqualTo(expected.getValue());
+            // computing it doesn't move the cutter
+            assertThat(cutter.position()).isZero();
+        }
+    }
+}
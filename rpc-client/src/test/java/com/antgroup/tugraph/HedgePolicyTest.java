@@ -0,0 +1,58 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class HedgePolicyTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final NodeStats node = new NodeStats();
+
+    @Test
+    public void fixedDelayWithoutHistory() {
+        HedgePolicy policy = HedgePolicy.builder().delayMillis(30).build();
+        assertThat(policy.delayNanos(node)).isEqualTo(30 * MS);
+    }
+
+    @Test
+    public void percentileOfTheNodeOnceItHasHistory() {
+        for (int i = 1; i <= 10; i++) {
+            node.finish(node.start() - i * 100 * MS, true);
+        }
+        HedgePolicy policy = HedgePolicy.builder().delayMillis(30).percentile(0.5).build();
+        assertThat(policy.delayNanos(node)).isBetween(500 * MS, 600 * MS - 1);
+
+        HedgePolicy fixed = HedgePolicy.builder().delayMillis(30).percentile(0).build();
+        assertThat(fixed.delayNanos(node)).isEqualTo(30 * MS);
+    }
+
+    @Test
+    public void neverBelowTheMinimumDelay() {
+        HedgePolicy policy = HedgePolicy.builder().delayMillis(0).minDelayMillis(5).build();
+        assertThat(policy.delayNanos(node)).isEqualTo(5 * MS);
+    }
+
+    @Test
+    public void hedgesSpendWhatReadsEarn() {
+        HedgePolicy policy = HedgePolicy.builder().budget(0.5, 1).build();
+        assertThat(policy.tryHedge()).isTrue();
+        assertThat(policy.tryHedge()).isFalse();
+
+        policy.onRead();
+        assertThat(policy.tryHedge()).isFalse();
+        policy.onRead();
+        assertThat(policy.tryHedge()).isTrue();
+    }
+
+    @Test
+    public void illegalSettingsAreRejected() {
+        assertThatThrownBy(() -> HedgePolicy.builder().delayMillis(-1)).isInstanceOf(InputException.class);
+        assertThatThrownBy(() -> HedgePolicy.builder().percentile(1.5)).isInstanceOf(InputException.class);
+        assertThatThrownBy(() -> HedgePolicy.builder().budget(0.1, -1)).isInstanceOf(InputException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class ImportCheckpointTest {
+
+    private static final String PATH = "/data/my vertexes.csv";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void acknowledgedChunksAreSkippedAfterReopening() throws IOException {
+        File journal = new File(folder.getRoot(), "checkpoint");
+        try (ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath())) {
+            assertThat(checkpoint.nextUnacknowledged(PATH, 0)).isEqualTo(0);
+            checkpoint.acknowledge(PATH, 0, 100, 0xabc);
+            // acknowledged out of order
+            checkpoint.acknowledge(PATH, 150, 30, 0xdef);
+            checkpoint.acknowledge(PATH, 100, 50, 0x123);
+        }
+        try (ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath())) {
+            assertThat(checkpoint.nextUnacknowledged(PATH, 0)).isEqualTo(180);
+            assertThat(checkpoint.nextUnacknowledged("/data/other.csv", 0)).isEqualTo(0);
+            ImportCheckpoint.Entry last = checkpoint.acknowledgedBefore(PATH, 180);
+            assertThat(last.offset).isEqualTo(150);
+            assertThat(last.length).isEqualTo(30);
+            assertThat(last.crc).isEqualTo(0xdef);
+            assertThat(checkpoint.acknowledgedBefore(PATH, 170)).isNull();
+        }
+    }
+
+    @Test
+    public void acknowledgementsAreWrittenBySync() throws IOException {
+        File journal = new File(folder.getRoot(), "checkpoint");
+        try (ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath())) {
+            checkpoint.acknowledge(PATH, 0, 100, 0xabc);
+            checkpoint.acknowledge(PATH, 100, 50, 0x123);
+            assertThat(journal.length()).isEqualTo(0);
+            // known right away to the import itself
+            assertThat(checkpoint.nextUnacknowledged(PATH, 0)).isEqualTo(150);
+
+            checkpoint.sync();
+            assertThat(lines(journal)).containsExactly("0 100 abc " + PATH, "100 50 123 " + PATH);
+        }
+    }
+
+    @Test
+    public void tornLastLineIsDropped() throws IOException {
+        File journal = new File(folder.getRoot(), "checkpoint");
+        String complete = "0 100 abc " + PATH + "\n";
+        Files.write(journal.toPath(), (complete + "100 50 1").getBytes(StandardCharsets.UTF_8));
+
+        try (ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath())) {
+            assertThat(checkpoint.nextUnacknowledged(PATH, 0)).isEqualTo(100);
+            assertThat(journal.length()).isEqualTo(complete.length());
+            checkpoint.acknowledge(PATH, 100, 50, 0x123);
+        }
+        try (ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath())) {
+            assertThat(checkpoint.nextUnacknowledged(PATH, 0)).isEqualTo(150);
+        }
+        assertThat(lines(journal)).containsExactly("0 100 abc " + PATH, "100 50 123 " + PATH);
+    }
+
+    @Test
+    public void deleteRemovesTheJournal() throws IOException {
+        File journal = new File(folder.getRoot(), "checkpoint");
+        ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath());
+        checkpoint.acknowledge(PATH, 0, 100, 0xabc);
+        checkpoint.delete();
+        assertThat(journal).doesNotExist();
+    }
+
+    private static String[] lines(File journal) throws IOException {
+        return Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8).toArray(new String[0]);
+    }
+}
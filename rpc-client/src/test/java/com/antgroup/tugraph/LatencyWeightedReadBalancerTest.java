@@ -0,0 +1,85 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LatencyWeightedReadBalancerTest {
+
+    private final ReadBalancer balancer = ReadBalancer.latencyWeighted();
+
+    @Test
+    public void picksTheLowestLatencyTimesInFlight() {
+        TestNode fast = new TestNode(10, 0);
+        TestNode slow = new TestNode(100, 0);
+        assertThat(selectMany(Arrays.asList(slow, fast), 4)).containsOnly(fast);
+
+        fast.inFlight = 19;
+        assertThat(balancer.select(Arrays.asList(slow, fast))).isSameAs(slow);
+    }
+
+    @Test
+    public void nodesWithoutLatencyAreScoredWithTheMedian() {
+        TestNode fast = new TestNode(10, 0);
+        TestNode median = new TestNode(50, 0);
+        TestNode slow = new TestNode(100, 0);
+        TestNode probed = new TestNode(0, 0);
+        List<TestNode> nodes = Arrays.asList(fast, median, slow, probed);
+
+        // scored like the median node, not 0, so it doesn't take every read
+        assertThat(selectMany(nodes, 4)).containsOnly(fast);
+
+        fast.inFlight = 9;
+        median.inFlight = 1;
+        probed.inFlight = 2;
+        // fast 100, median 100, slow 100, probed 150
+        assertThat(selectMany(nodes, 6)).doesNotContain(probed);
+        probed.inFlight = 0;
+        // probed 50
+        assertThat(selectMany(nodes, 4)).containsOnly(probed);
+    }
+
+    @Test
+    public void withoutAnyLatencyTheRequestsInFlightDecide() {
+        TestNode busy = new TestNode(0, 3);
+        TestNode idle = new TestNode(0, 0);
+        assertThat(selectMany(Arrays.asList(busy, idle), 4)).containsOnly(idle);
+    }
+
+    @Test
+    public void noNodes() {
+        assertThat(balancer.select(new ArrayList<TestNode>())).isNull();
+    }
+
+    private List<TestNode> selectMany(List<TestNode> nodes, int times) {
+        List<TestNode> selected = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            selected.add(balancer.select(nodes));
+        }
+        return selected;
+    }
+
+    private static final class TestNode implements ReadBalancer.Node {
+        final double latency;
+        int inFlight;
+
+        TestNode(double latency, int inFlight) {
+            this.latency = latency;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        @Override
+        public double getLatencyEwma() {
+            return latency;
+        }
+    }
+}
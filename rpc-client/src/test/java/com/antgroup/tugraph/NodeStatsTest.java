@@ -0,0 +1,72 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class NodeStatsTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    // samples kept for the percentile
+    private static final int WINDOW = 128;
+
+    private final NodeStats stats = new NodeStats();
+
+    @Test
+    public void firstSampleIsTakenAsIsThenBlended() {
+        assertThat(stats.getLatencyEwma()).isZero();
+        record(100 * MS);
+        assertThat(stats.getLatencyEwma()).isCloseTo(100 * MS, within(10.0 * MS));
+        record(200 * MS);
+        // a fifth of the way towards the new sample
+        assertThat(stats.getLatencyEwma()).isCloseTo(120 * MS, within(10.0 * MS));
+
+        stats.resetLatency();
+        assertThat(stats.getLatencyEwma()).isZero();
+        record(50 * MS);
+        assertThat(stats.getLatencyEwma()).isCloseTo(50 * MS, within(10.0 * MS));
+    }
+
+    @Test
+    public void unansweredRequestsDontCountAsLatency() {
+        record(100 * MS);
+        long start = stats.start();
+        assertThat(stats.getInFlight()).isEqualTo(1);
+        stats.finish(start - 1000 * MS, false);
+        assertThat(stats.getInFlight()).isZero();
+        assertThat(stats.getLatencyEwma()).isCloseTo(100 * MS, within(10.0 * MS));
+        assertThat(stats.getLatencyPercentile(1)).isLessThan(1000 * MS);
+    }
+
+    @Test
+    public void percentileOnlyCoversTheLatestSamples() {
+        for (int i = 0; i < WINDOW; i++) {
+            record(1000 * MS);
+        }
+        assertThat(stats.getLatencyPercentile(0.5)).isGreaterThanOrEqualTo(1000 * MS);
+
+        // one and a half windows more, the slow samples are all overwritten
+        for (int i = 0; i < WINDOW * 3 / 2; i++) {
+            record(10 * MS);
+        }
+        assertThat(stats.getLatencyPercentile(1)).isBetween(10 * MS, 500 * MS);
+    }
+
+    @Test
+    public void percentileOfAPartlyFilledWindow() {
+        assertThat(stats.getLatencyPercentile(0.9)).isEqualTo(0);
+        for (int i = 1; i <= 10; i++) {
+            record(i * 100 * MS);
+        }
+        assertThat(stats.getLatencyPercentile(0.5)).isBetween(500 * MS, 600 * MS - 1);
+        assertThat(stats.getLatencyPercentile(0.9)).isBetween(900 * MS, 1000 * MS - 1);
+        assertThat(stats.getLatencyPercentile(1)).isGreaterThanOrEqualTo(1000 * MS);
+    }
+
+    private void record(long latencyNanos) {
+        stats.finish(stats.start() - latencyNanos, true);
+    }
+}
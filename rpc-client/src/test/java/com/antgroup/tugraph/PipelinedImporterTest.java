@@ -0,0 +1,181 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PipelinedImporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File data;
+    private File journal;
+    private List<CsvDesc> files;
+    // offset of each chunk the file is cut into
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Long> sent = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void writeFile() throws IOException {
+        data = folder.newFile("vertexes.csv");
+        journal = new File(folder.getRoot(), "checkpoint");
+        byte[] line = "0123456789,abcdefghijklmnopqrstuvwxyz,abcdefghijklmnopqrstuvwxyz,abcdefghijklmnopqrstuvwxyz\n"
+                .getBytes(StandardCharsets.UTF_8);
+        // about two and a half chunks
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(data))) {
+            for (long written = 0; written < FileCutter.ONLINE_IMPORT_LIMIT_SOFT * 5L / 2; written += line.length) {
+                out.write(line);
+            }
+        }
+        try (FileCutter cutter = new FileCutter(data.getPath())) {
+            for (ByteBuffer buf = cutter.cut(); buf != null; buf = cutter.cut()) {
+                offsets.add(cutter.position() - buf.remaining());
+            }
+        }
+        assertThat(offsets).hasSize(3);
+
+        CsvDesc desc = new CsvDesc();
+        desc.setPath(data.getPath());
+        desc.setFileType(true);
+        files = Collections.singletonList(desc);
+    }
+
+    @Test
+    public void resumesAfterTheAcknowledgedChunks() throws IOException {
+        try (ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath())) {
+            assertThatThrownBy(() -> importer(checkpoint, offsets.get(1)).run(files, 0))
+                    .hasMessage("upload failed");
+        }
+        assertThat(sent).containsExactly(offsets.get(0), offsets.get(1));
+
+        sent.clear();
+        try (ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath())) {
+            importer(checkpoint, -1).run(files, 0);
+        }
+        assertThat(sent).containsExactly(offsets.get(1), offsets.get(2));
+
+        try (ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath())) {
+            String journalKey = data.getCanonicalPath();
+            assertThat(checkpoint.nextUnacknowledged(journalKey, 0)).isEqualTo(data.length());
+        }
+    }
+
+    @Test
+    public void refusesToResumeAChangedFile() throws IOException {
+        try (ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath())) {
+            assertThatThrownBy(() -> importer(checkpoint, offsets.get(1)).run(files, 0))
+                    .hasMessage("upload failed");
+        }
+        try (RandomAccessFile file = new RandomAccessFile(data, "rw")) {
+            file.write('9');
+        }
+
+        sent.clear();
+        try (ImportCheckpoint checkpoint = new ImportCheckpoint(journal.getPath())) {
+            assertThatThrownBy(() -> importer(checkpoint, -1).run(files, 0))
+                    .isInstanceOf(InputException.class)
+                    .hasMessageContaining("File changed since the checkpoint was written");
+        }
+        assertThat(sent).isEmpty();
+    }
+
+    @Test
+    public void skipsPackagesWithoutCheckpoint() throws IOException {
+        importer(null, -1).run(files, 2);
+        assertThat(sent).containsExactly(offsets.get(2));
+    }
+
+    @Test
+    public void edgesWaitForAllVertexes() throws IOException {
+        File edges = folder.newFile("edges.csv");
+        try (OutputStream out = new FileOutputStream(edges)) {
+            out.write("1,2\n".getBytes(StandardCharsets.UTF_8));
+        }
+        CsvDesc edgeDesc = new CsvDesc();
+        edgeDesc.setPath(edges.getPath());
+        edgeDesc.setFileType(false);
+        AtomicInteger vertexesAcknowledged = new AtomicInteger();
+        List<Integer> acknowledgedBeforeEdge = Collections.synchronizedList(new ArrayList<>());
+
+        ScheduledExecutorService server = Executors.newSingleThreadScheduledExecutor();
+        try {
+            new PipelinedImporter<PipelinedImporter.Chunk>(chunk -> chunk, chunk -> {
+                if (!chunk.file.isVertexFile()) {
+                    acknowledgedBeforeEdge.add(vertexesAcknowledged.get());
+                    return CompletableFuture.completedFuture(null);
+                }
+                CompletableFuture<Void> answer = new CompletableFuture<>();
+                server.schedule(() -> {
+                    vertexesAcknowledged.incrementAndGet();
+                    answer.complete(null);
+                }, 50, TimeUnit.MILLISECONDS);
+                return answer;
+            }, 4).run(Arrays.asList(files.get(0), edgeDesc), 0);
+        } finally {
+            server.shutdownNow();
+        }
+        assertThat(acknowledgedBeforeEdge).containsExactly(offsets.size());
+    }
+
+    @Test
+    public void inFlightRequestsAreBounded() throws IOException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        ScheduledExecutorService server = Executors.newSingleThreadScheduledExecutor();
+        try {
+            new PipelinedImporter<Long>(chunk -> chunk.offset, offset -> {
+                sent.add(offset);
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                CompletableFuture<Void> answer = new CompletableFuture<>();
+                server.schedule(() -> {
+                    inFlight.decrementAndGet();
+                    answer.complete(null);
+                }, 50, TimeUnit.MILLISECONDS);
+                return answer;
+            }, 2).run(files, 0);
+        } finally {
+            server.shutdownNow();
+        }
+        assertThat(sent).containsExactlyInAnyOrderElementsOf(offsets);
+        assertThat(maxInFlight.get()).isBetween(1, 2);
+        assertThat(inFlight.get()).isZero();
+    }
+
+    // one chunk in flight at a time, so chunks are sent in order and none after the one that fails
+    private PipelinedImporter<Long> importer(ImportCheckpoint checkpoint, long failAt) {
+        return new PipelinedImporter<>(chunk -> chunk.offset, offset -> {
+            sent.add(offset);
+            CompletableFuture<Void> answer = new CompletableFuture<>();
+            if (offset == failAt) {
+                answer.completeExceptionally(new RuntimeException("upload failed"));
+            } else {
+                answer.complete(null);
+            }
+            return answer;
+        }, 1, checkpoint);
+    }
+}
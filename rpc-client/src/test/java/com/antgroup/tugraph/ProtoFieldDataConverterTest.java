@@ -0,0 +1,74 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import lgraph.Lgraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ProtoFieldDataConverterTest {
+
+    @Test
+    public void valuesGetTheirProtoType() {
+        assertThat(ProtoFieldDataConverter.toProtoFieldData(true).getBoolean()).isTrue();
+        assertThat(ProtoFieldDataConverter.toProtoFieldData((byte) 7).getInt8()).isEqualTo(7);
+        assertThat(ProtoFieldDataConverter.toProtoFieldData((short) 300).getInt16()).isEqualTo(300);
+        assertThat(ProtoFieldDataConverter.toProtoFieldData(70000).getInt32()).isEqualTo(70000);
+        assertThat(ProtoFieldDataConverter.toProtoFieldData(1L << 40).getInt64()).isEqualTo(1L << 40);
+        assertThat(ProtoFieldDataConverter.toProtoFieldData(1.5f).getSp()).isEqualTo(1.5f);
+        assertThat(ProtoFieldDataConverter.toProtoFieldData(2.5).getDp()).isEqualTo(2.5);
+        assertThat(ProtoFieldDataConverter.toProtoFieldData("it's").getStr()).isEqualTo("it's");
+        assertThat(ProtoFieldDataConverter.toProtoFieldData('x').getStr()).isEqualTo("x");
+        assertThat(ProtoFieldDataConverter.toProtoFieldData(new byte[] {1, 2}).getBlob().toByteArray())
+                .containsExactly(1, 2);
+
+        assertThat(ProtoFieldDataConverter.toProtoFieldData(70000).getDataCase())
+                .isEqualTo(Lgraph.ProtoFieldData.DataCase.INT32_);
+        assertThat(ProtoFieldDataConverter.toProtoFieldData(70000L).getDataCase())
+                .isEqualTo(Lgraph.ProtoFieldData.DataCase.INT64_);
+    }
+
+    @Test
+    public void nullHasNoData() {
+        assertThat(ProtoFieldDataConverter.toProtoFieldData(null).getDataCase())
+                .isEqualTo(Lgraph.ProtoFieldData.DataCase.DATA_NOT_SET);
+    }
+
+    @Test
+    public void collectionsAreNotSupported() {
+        assertThat(ProtoFieldDataConverter.isSupported(Collections.emptyList())).isFalse();
+        assertThat(ProtoFieldDataConverter.isSupported(Collections.emptyMap())).isTrue();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", "Alice");
+        params.put("age", 30);
+        params.put("nickname", null);
+        assertThat(ProtoFieldDataConverter.isSupported(params)).isTrue();
+        params.put("ids", Arrays.asList(1, 2));
+        assertThat(ProtoFieldDataConverter.isSupported(params)).isFalse();
+
+        assertThatThrownBy(() -> ProtoFieldDataConverter.toProtoFieldData(Arrays.asList(1, 2)))
+                .isInstanceOf(InputException.class)
+                .hasMessageContaining("java.util.Arrays$ArrayList");
+    }
+
+    @Test
+    public void listsKeepTheirOrder() {
+        Lgraph.ListOfProtoFieldData list = ProtoFieldDataConverter.toListOfProtoFieldData(Arrays.asList("a", 1L, null));
+        assertThat(list.getValuesCount()).isEqualTo(3);
+        assertThat(list.getValues(0).getStr()).isEqualTo("a");
+        assertThat(list.getValues(1).getInt64()).isEqualTo(1L);
+        assertThat(list.getValues(2).getDataCase()).isEqualTo(Lgraph.ProtoFieldData.DataCase.DATA_NOT_SET);
+    }
+
+    @Test
+    public void paramNamesStartWithADollar() {
+        assertThat(ProtoFieldDataConverter.toParamName("name")).isEqualTo("$name");
+        assertThat(ProtoFieldDataConverter.toParamName("$name")).isEqualTo("$name");
+    }
+}
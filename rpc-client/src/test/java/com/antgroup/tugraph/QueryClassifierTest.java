@@ -0,0 +1,97 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.antgroup.tugraph.model.BuiltInProcedure;
+import com.antgroup.tugraph.model.UserDefinedProcedure;
+import lgraph.Lgraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+public class QueryClassifierTest {
+
+    private static final Set<String> WRITES = new HashSet<>(Arrays.asList("CREATE", "SET", "DELETE"));
+    private static final Lgraph.ProtoGraphQueryType CYPHER = Lgraph.ProtoGraphQueryType.CYPHER;
+
+    private final QueryClassifier classifier = new QueryClassifier();
+
+    @Before
+    public void loadProcedures() {
+        classifier.setBuiltInProcedures(Arrays.asList(
+                new BuiltInProcedure("db.labels", "", true),
+                new BuiltInProcedure("db.createVertexLabel", "", false)));
+        UserDefinedProcedure.Desc desc = new UserDefinedProcedure.Desc();
+        desc.setName("pagerank");
+        desc.setReadOnly(true);
+        classifier.setUserDefinedProcedures(Collections.singletonList(new UserDefinedProcedure("default", desc)));
+    }
+
+    @Test
+    public void wordsThatAreNotClausesDoNotMakeAWrite() {
+        assertThat(isRead("MATCH (n) RETURN n.set")).isTrue();
+        assertThat(isRead("MATCH (n {set: 1}) RETURN n")).isTrue();
+        assertThat(isRead("MATCH (n:Create) RETURN n")).isTrue();
+        assertThat(isRead("MATCH (n) WHERE n.name = 'set ' RETURN n")).isTrue();
+        assertThat(isRead("MATCH (n) WHERE n.name = \"it's \\\" set\" RETURN n")).isTrue();
+        assertThat(isRead("MATCH (`create`) RETURN `a``set` AS x")).isTrue();
+        assertThat(isRead("MATCH (n) WHERE n.x = $set RETURN n")).isTrue();
+    }
+
+    @Test
+    public void commentsAreSkipped() {
+        assertThat(isRead("MATCH (n) // SET n.x = 1\nRETURN n")).isTrue();
+        assertThat(isRead("MATCH (n) /* CREATE (m)\n */ RETURN n")).isTrue();
+        assertThat(isRead("MATCH (n) /* RETURN */ SET n.x = 1")).isFalse();
+    }
+
+    @Test
+    public void clausesMakeAWriteInAnyCase() {
+        assertThat(isRead("MATCH (n) SET n.x = 1")).isFalse();
+        assertThat(isRead("create (n)")).isFalse();
+        assertThat(isRead("MATCH (n) DETACH DELETE n")).isFalse();
+    }
+
+    @Test
+    public void calledProceduresAreLookedUp() {
+        assertThat(isRead("CALL db.labels()")).isTrue();
+        assertThat(isRead("CALL db.createVertexLabel('person')")).isFalse();
+        assertThat(isRead("CALL plugin.cpp.pagerank('{}')")).isTrue();
+        assertThat(isRead("CALL plugin.python.pagerank('{}')")).isTrue();
+        assertThat(classifier.isReadQuery(CYPHER, "CALL plugin.cpp.pagerank('{}')", "other")).isFalse();
+        // unknown procedures go to the leader
+        assertThat(isRead("CALL db.unknown()")).isFalse();
+        assertThat(isRead("CALL plugin.cpp.unknown('{}')")).isFalse();
+
+        QueryClassifier.Shape shape = QueryClassifier.tokenize(
+                "CALL db.labels() YIELD label CALL plugin.cpp.pagerank('{}') RETURN label", WRITES);
+        assertThat(shape.writeClause).isFalse();
+        assertThat(shape.procedures).containsExactly("db.labels", "plugin.cpp.pagerank");
+    }
+
+    @Test
+    public void subqueriesAreNotProcedures() {
+        QueryClassifier.Shape write = QueryClassifier.tokenize("MATCH (n) CALL { WITH n CREATE (m) } RETURN n", WRITES);
+        assertThat(write.writeClause).isTrue();
+        assertThat(write.procedures).isEmpty();
+
+        assertThat(isRead("MATCH (n) CALL { WITH n MATCH (n)-->(m) RETURN m } RETURN m")).isTrue();
+    }
+
+    @Test
+    public void aSmallCacheKeepsClassifying() {
+        QueryClassifier small = new QueryClassifier(2);
+        for (int i = 0; i < 10; i++) {
+            assertThat(small.isReadQuery(CYPHER, "MATCH (n) RETURN n.x" + i, "default")).isTrue();
+            assertThat(small.isReadQuery(CYPHER, "MATCH (n) SET n.x = " + i, "default")).isFalse();
+        }
+    }
+
+    private boolean isRead(String query) {
+        return classifier.isReadQuery(CYPHER, query, "default");
+    }
+}
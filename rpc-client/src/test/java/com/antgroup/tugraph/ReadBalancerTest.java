@@ -0,0 +1,72 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ReadBalancerTest {
+
+    @Test
+    public void roundRobinTakesEachNodeInTurn() {
+        ReadBalancer balancer = ReadBalancer.roundRobin();
+        TestNode a = new TestNode(5);
+        TestNode b = new TestNode(0);
+        TestNode c = new TestNode(0);
+        List<TestNode> nodes = Arrays.asList(a, b, c);
+
+        // the load doesn't matter
+        assertThat(selectMany(balancer, nodes, 6)).containsExactly(a, b, c, a, b, c);
+        assertThat(balancer.select(new ArrayList<TestNode>())).isNull();
+    }
+
+    @Test
+    public void leastOutstandingTakesTheIdlestNode() {
+        ReadBalancer balancer = ReadBalancer.leastOutstanding();
+        TestNode busy = new TestNode(3);
+        TestNode idle = new TestNode(1);
+        assertThat(selectMany(balancer, Arrays.asList(busy, idle), 4)).containsOnly(idle);
+
+        idle.inFlight = 4;
+        assertThat(balancer.select(Arrays.asList(busy, idle))).isSameAs(busy);
+        assertThat(balancer.select(new ArrayList<TestNode>())).isNull();
+    }
+
+    @Test
+    public void leastOutstandingSpreadsTies() {
+        ReadBalancer balancer = ReadBalancer.leastOutstanding();
+        TestNode a = new TestNode(2);
+        TestNode b = new TestNode(2);
+        TestNode c = new TestNode(2);
+        assertThat(selectMany(balancer, Arrays.asList(a, b, c), 3)).containsExactlyInAnyOrder(a, b, c);
+    }
+
+    private static List<TestNode> selectMany(ReadBalancer balancer, List<TestNode> nodes, int times) {
+        List<TestNode> selected = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            selected.add(balancer.select(nodes));
+        }
+        return selected;
+    }
+
+    private static final class TestNode implements ReadBalancer.Node {
+        int inFlight;
+
+        TestNode(int inFlight) {
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        @Override
+        public double getLatencyEwma() {
+            return 0;
+        }
+    }
+}
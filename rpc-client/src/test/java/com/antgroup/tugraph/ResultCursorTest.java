@@ -0,0 +1,125 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.protobuf.ByteString;
+import lgraph.Lgraph;
+import org.junit.Test;
+
+public class ResultCursorTest {
+
+    private static Lgraph.Header header(String name, int type) {
+        return Lgraph.Header.newBuilder().setName(name).setType(type).build();
+    }
+
+    private static Lgraph.ListOfProtoFieldData row(Lgraph.ProtoFieldData... values) {
+        Lgraph.ListOfProtoFieldData.Builder builder = Lgraph.ListOfProtoFieldData.newBuilder();
+        for (Lgraph.ProtoFieldData value : values) {
+            builder.addValues(value);
+        }
+        return builder.build();
+    }
+
+    private static ResultCursor cursor(Lgraph.ListOfProtoFieldData... rows) {
+        Lgraph.GraphQueryResult.Builder builder = Lgraph.GraphQueryResult.newBuilder()
+                .addHeader(header("id", ResultCursor.TYPE_INTEGER))
+                .addHeader(header("name", ResultCursor.TYPE_STRING))
+                .addHeader(header("n", ResultCursor.TYPE_NODE))
+                .setElapsed(0.5);
+        for (Lgraph.ListOfProtoFieldData row : rows) {
+            builder.addResult(row);
+        }
+        return new ResultCursor(builder.build());
+    }
+
+    private static Lgraph.ProtoFieldData int64(long value) {
+        return Lgraph.ProtoFieldData.newBuilder().setInt64(value).build();
+    }
+
+    private static Lgraph.ProtoFieldData str(String value) {
+        return Lgraph.ProtoFieldData.newBuilder().setStr(value).build();
+    }
+
+    @Test
+    public void headerDescribesTheColumns() {
+        ResultCursor cursor = cursor();
+
+        assertThat(cursor.getColumnCount()).isEqualTo(3);
+        assertThat(cursor.getColumnNames()).containsExactly("id", "name", "n");
+        assertThat(cursor.getColumnType(0)).isEqualTo(ResultCursor.TYPE_INTEGER);
+        assertThat(cursor.isStructured(1)).isFalse();
+        assertThat(cursor.isStructured(2)).isTrue();
+        assertThat(cursor.getElapsed()).isEqualTo(0.5);
+        assertThat(cursor.size()).isZero();
+        assertThat(cursor.next()).isFalse();
+    }
+
+    @Test
+    public void rowsAreReadInOrder() {
+        ResultCursor cursor = cursor(
+                row(int64(1), str("a"), str("{\"identity\":1}")),
+                row(int64(2), Lgraph.ProtoFieldData.getDefaultInstance(), str("{\"identity\":2}")));
+
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.getLong(0)).isEqualTo(1);
+        assertThat(cursor.getString(1)).isEqualTo("a");
+        assertThat(cursor.getString(2)).isEqualTo("{\"identity\":1}");
+
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.getInt(0)).isEqualTo(2);
+        assertThat(cursor.isNull(1)).isTrue();
+        assertThat(cursor.getString(1)).isNull();
+        assertThat(cursor.getObject(1)).isNull();
+
+        assertThat(cursor.next()).isFalse();
+        assertThat(cursor.next()).isFalse();
+        assertThatThrownBy(() -> cursor.getLong(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void readingBeforeNextFails() {
+        ResultCursor cursor = cursor(row(int64(1), str("a"), str("{}")));
+
+        assertThatThrownBy(() -> cursor.getLong(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void numbersWidenToTheRequestedType() {
+        ResultCursor cursor = cursor(row(
+                Lgraph.ProtoFieldData.newBuilder().setInt8(7).build(),
+                Lgraph.ProtoFieldData.newBuilder().setInt16(300).build(),
+                Lgraph.ProtoFieldData.newBuilder().setSp(1.5f).build()));
+        cursor.next();
+
+        assertThat(cursor.getLong(0)).isEqualTo(7);
+        assertThat(cursor.getDouble(0)).isEqualTo(7.0);
+        assertThat(cursor.getInt(1)).isEqualTo(300);
+        assertThat(cursor.getDouble(2)).isEqualTo(1.5);
+        assertThat(cursor.getString(1)).isEqualTo("300");
+        assertThatThrownBy(() -> cursor.getLong(2)).isInstanceOf(ClassCastException.class);
+    }
+
+    @Test
+    public void intOverflowIsReported() {
+        ResultCursor cursor = cursor(row(int64(1L << 40), str("a"), str("{}")));
+        cursor.next();
+
+        assertThatThrownBy(() -> cursor.getInt(0)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void otherTypesAreDecoded() {
+        ResultCursor cursor = cursor(row(
+                Lgraph.ProtoFieldData.newBuilder().setBoolean(true).build(),
+                Lgraph.ProtoFieldData.newBuilder().setBlob(ByteString.copyFrom(new byte[] {1, 2})).build(),
+                Lgraph.ProtoFieldData.newBuilder().setDatetime(1000L).build()));
+        cursor.next();
+
+        assertThat(cursor.getBoolean(0)).isTrue();
+        assertThat(cursor.getObject(0)).isEqualTo(true);
+        assertThat(cursor.getBytes(1)).containsExactly(1, 2);
+        assertThat(cursor.getLong(2)).isEqualTo(1000L);
+        assertThat(cursor.getObject(2)).isEqualTo(1000L);
+    }
+}
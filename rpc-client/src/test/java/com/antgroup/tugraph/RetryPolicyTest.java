@@ -0,0 +1,87 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import lgraph.Lgraph;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+public class RetryPolicyTest {
+
+    private static final TuGraphDbRpcException REDIRECT =
+            new TuGraphDbRpcException(Lgraph.LGraphResponse.ErrorCode.REDIRECT, "redirect", "test");
+    private static final TuGraphDbRpcException BAD_INPUT =
+            new TuGraphDbRpcException(Lgraph.LGraphResponse.ErrorCode.BAD_REQUEST, "bad", "test");
+
+    @Test
+    public void readsAreRetriedOnTransientFailures() {
+        RetryPolicy policy = RetryPolicy.defaultPolicy();
+        assertThat(policy.isRetryable(REDIRECT, true, false)).isTrue();
+        assertThat(policy.isRetryable(new IOException("reset"), true, false)).isTrue();
+        assertThat(policy.isRetryable(BAD_INPUT, true, false)).isFalse();
+        assertThat(policy.isRetryable(new InputException("bad"), true, false)).isFalse();
+        assertThat(policy.isRetryable(new DeadlineExceededException("late"), true, false)).isFalse();
+    }
+
+    @Test
+    public void writesAreOnlyRetriedWhenNotRun() {
+        RetryPolicy policy = RetryPolicy.defaultPolicy();
+        assertThat(policy.isRetryable(new IOException("reset"), false, false)).isFalse();
+        assertThat(policy.isRetryable(REDIRECT, false, false)).isFalse();
+        assertThat(policy.isRetryable(new IOException("reset"), false, true)).isTrue();
+
+        RetryPolicy idempotent = RetryPolicy.builder().retryWrites(true).build();
+        assertThat(idempotent.isRetryable(new IOException("reset"), false, false)).isTrue();
+    }
+
+    @Test
+    public void retryableErrorCodesCanBeChosen() {
+        RetryPolicy policy = RetryPolicy.builder()
+                .retryableErrorCodes(Collections.singleton(Lgraph.LGraphResponse.ErrorCode.BAD_REQUEST))
+                .build();
+        assertThat(policy.isRetryable(BAD_INPUT, true, false)).isTrue();
+        assertThat(policy.isRetryable(REDIRECT, true, false)).isFalse();
+    }
+
+    @Test
+    public void backoffIsJitteredBelowADoublingCeiling() {
+        RetryPolicy policy = RetryPolicy.builder().maxAttempts(10).backoff(10, 40).retryBudget(1000, 0).build();
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.nextBackoff(1)).isBetween(0L, 10L);
+            assertThat(policy.nextBackoff(2)).isBetween(0L, 20L);
+            assertThat(policy.nextBackoff(5)).isBetween(0L, 40L);
+        }
+        assertThat(RetryPolicy.builder().maxAttempts(3).backoff(0, 0).build().nextBackoff(1)).isZero();
+    }
+
+    @Test
+    public void attemptsAreLimited() {
+        RetryPolicy policy = RetryPolicy.builder().maxAttempts(3).build();
+        assertThat(policy.nextBackoff(2)).isNotNegative();
+        assertThat(policy.nextBackoff(3)).isEqualTo(-1);
+        assertThat(RetryPolicy.noRetry().nextBackoff(1)).isEqualTo(-1);
+    }
+
+    @Test
+    public void retriesSpendTheBudgetAndSuccessesRefillIt() {
+        RetryPolicy policy = RetryPolicy.builder().maxAttempts(5).retryBudget(2, 0.5).build();
+        assertThat(policy.nextBackoff(1)).isNotNegative();
+        assertThat(policy.nextBackoff(1)).isNotNegative();
+        assertThat(policy.nextBackoff(1)).isEqualTo(-1);
+
+        policy.onSuccess();
+        assertThat(policy.nextBackoff(1)).isEqualTo(-1);
+        policy.onSuccess();
+        assertThat(policy.nextBackoff(1)).isNotNegative();
+    }
+
+    @Test
+    public void illegalSettingsAreRejected() {
+        assertThatThrownBy(() -> RetryPolicy.builder().maxAttempts(0)).isInstanceOf(InputException.class);
+        assertThatThrownBy(() -> RetryPolicy.builder().backoff(10, 5)).isInstanceOf(InputException.class);
+        assertThatThrownBy(() -> RetryPolicy.builder().retryBudget(-1, 0.1)).isInstanceOf(InputException.class);
+    }
+}
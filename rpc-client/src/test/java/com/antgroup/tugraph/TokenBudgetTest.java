@@ -0,0 +1,45 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class TokenBudgetTest {
+
+    @Test
+    public void startsFullAndRunsDry() {
+        TokenBudget budget = new TokenBudget(2, 0.5);
+        assertThat(budget.trySpend()).isTrue();
+        assertThat(budget.trySpend()).isTrue();
+        assertThat(budget.trySpend()).isFalse();
+    }
+
+    @Test
+    public void aTokenIsEarnedBackAFractionAtATime() {
+        TokenBudget budget = new TokenBudget(1, 0.25);
+        budget.trySpend();
+        for (int i = 0; i < 3; i++) {
+            budget.earn();
+            assertThat(budget.trySpend()).isFalse();
+        }
+        budget.earn();
+        assertThat(budget.trySpend()).isTrue();
+    }
+
+    @Test
+    public void neverHoldsMoreThanItsCapacity() {
+        TokenBudget budget = new TokenBudget(1, 0.5);
+        for (int i = 0; i < 10; i++) {
+            budget.earn();
+        }
+        assertThat(budget.trySpend()).isTrue();
+        assertThat(budget.trySpend()).isFalse();
+    }
+
+    @Test
+    public void emptyBudget() {
+        TokenBudget budget = new TokenBudget(0, 1);
+        budget.earn();
+        assertThat(budget.trySpend()).isFalse();
+    }
+}
@@ -0,0 +1,61 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.baidu.brpc.client.RpcClientOptions;
+import com.baidu.brpc.client.channel.ChannelType;
+import org.junit.Test;
+
+public class TuGraphClientOptionsTest {
+
+    @Test
+    public void settingsAreCarriedToTheRpcClient() {
+        RpcClientOptions options = TuGraphClientOptions.builder()
+                .connectTimeoutMillis(200)
+                .readTimeoutMillis(3000)
+                .connectionsPerNode(2, 4)
+                .maxPendingRequests(100)
+                .threads(3, 5)
+                .shareThreadPools(true)
+                .build()
+                .toRpcClientOptions();
+
+        assertThat(options.getConnectTimeoutMillis()).isEqualTo(200);
+        assertThat(options.getReadTimeoutMillis()).isEqualTo(3000);
+        assertThat(options.getMinIdleConnections()).isEqualTo(2);
+        assertThat(options.getMaxTotalConnections()).isEqualTo(4);
+        assertThat(options.getChannelType()).isEqualTo(ChannelType.POOLED_CONNECTION);
+        assertThat(options.getFutureBufferSize()).isEqualTo(100);
+        assertThat(options.getIoThreadNum()).isEqualTo(3);
+        assertThat(options.getWorkThreadNum()).isEqualTo(5);
+        assertThat(options.isGlobalThreadPoolSharing()).isTrue();
+    }
+
+    @Test
+    public void multiplexedUsesOneConnection() {
+        RpcClientOptions options = TuGraphClientOptions.builder().multiplexed(true).build().toRpcClientOptions();
+        assertThat(options.getChannelType()).isEqualTo(ChannelType.SINGLE_CONNECTION);
+    }
+
+    @Test
+    public void defaults() {
+        TuGraphClientOptions options = TuGraphClientOptions.defaults();
+        assertThat(options.isMultiplexed()).isFalse();
+        assertThat(options.isShareThreadPools()).isFalse();
+        assertThat(options.getMinIdleConnectionsPerNode()).isLessThanOrEqualTo(options.getMaxConnectionsPerNode());
+        assertThat(options.getTopologyRefreshIntervalMillis()).isPositive();
+        assertThat(options.getHealthCheckIntervalMillis()).isPositive();
+    }
+
+    @Test
+    public void illegalSettingsAreRejected() {
+        TuGraphClientOptions.Builder builder = TuGraphClientOptions.builder();
+        assertThatThrownBy(() -> builder.connectTimeoutMillis(0)).isInstanceOf(InputException.class)
+                .hasMessage("connectTimeoutMillis must be positive: 0");
+        assertThatThrownBy(() -> builder.connectionsPerNode(3, 2)).isInstanceOf(InputException.class);
+        assertThatThrownBy(() -> builder.connectionsPerNode(0, 0)).isInstanceOf(InputException.class);
+        assertThatThrownBy(() -> builder.threads(1, 0)).isInstanceOf(InputException.class);
+        assertThatThrownBy(() -> builder.healthCheckIntervalMillis(-1)).isInstanceOf(InputException.class);
+    }
+}
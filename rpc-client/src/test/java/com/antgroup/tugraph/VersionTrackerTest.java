@@ -0,0 +1,69 @@
+package com.antgroup.tugraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class VersionTrackerTest {
+
+    private final VersionTracker tracker = new VersionTracker();
+
+    @Test
+    public void highWaterMarkOnlyGrows() {
+        tracker.observe(5, null);
+        tracker.observe(3, null);
+        assertThat(tracker.getHighWaterMark()).isEqualTo(5);
+        assertThat(tracker.required()).isEqualTo(5);
+    }
+
+    @Test
+    public void bookmarkInUseReplacesTheHighWaterMark() {
+        tracker.observe(10, null);
+        Bookmark bookmark = new Bookmark(2);
+        try (Bookmark.Scope ignored = tracker.use(bookmark)) {
+            assertThat(tracker.current()).isSameAs(bookmark);
+            assertThat(tracker.required()).isEqualTo(2);
+
+            tracker.observe(7, tracker.current());
+            assertThat(bookmark.getVersion()).isEqualTo(7);
+            assertThat(tracker.required()).isEqualTo(7);
+        }
+        assertThat(tracker.current()).isNull();
+        assertThat(tracker.required()).isEqualTo(10);
+    }
+
+    @Test
+    public void scopesNest() {
+        Bookmark outer = new Bookmark(1);
+        Bookmark inner = new Bookmark(2);
+        try (Bookmark.Scope ignored = tracker.use(outer)) {
+            try (Bookmark.Scope ignored2 = tracker.use(inner)) {
+                assertThat(tracker.current()).isSameAs(inner);
+            }
+            assertThat(tracker.current()).isSameAs(outer);
+        }
+        assertThat(tracker.current()).isNull();
+    }
+
+    @Test
+    public void bookmarkIsOnlyInUseOnItsThread() throws InterruptedException {
+        AtomicLong requiredElsewhere = new AtomicLong(-1);
+        tracker.observe(4, null);
+        try (Bookmark.Scope ignored = tracker.use(new Bookmark(9))) {
+            Thread other = new Thread(() -> requiredElsewhere.set(tracker.required()));
+            other.start();
+            other.join();
+        }
+        assertThat(requiredElsewhere.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void bookmarkOnlyAdvances() {
+        Bookmark bookmark = new Bookmark();
+        bookmark.advance(3);
+        bookmark.advance(1);
+        assertThat(bookmark.getVersion()).isEqualTo(3);
+    }
+}